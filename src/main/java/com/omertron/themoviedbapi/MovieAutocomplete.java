@@ -0,0 +1,360 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi;
+
+import com.omertron.themoviedbapi.model.MovieDb;
+import com.omertron.themoviedbapi.results.TmdbResultsList;
+import com.omertron.themoviedbapi.tools.MemoryCache;
+import com.omertron.themoviedbapi.tools.TitleNormaliser;
+import com.omertron.themoviedbapi.tools.TitleNormaliser.Option;
+import com.omertron.themoviedbapi.tools.TmdbThreadFactory;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Movie searches for an autocomplete box, where each key press searches for a longer query.
+ *
+ * The results are cached by the query, lower case with the accents and punctuation removed. When the results of a shorter
+ * query that starts the same were all on its page, the results of the longer query are found by filtering them, without a
+ * request. A movie is kept if each word of the query starts one of the words of its title or original title, which is close
+ * to, but not exactly, how TheMovieDb matches titles.
+ *
+ * Queries passed to type wait a short time before they are searched for, and are cancelled if another query is typed in
+ * that time, so only the query the typing paused on is searched for. Queries that can be answered from the cache are
+ * answered straight away.
+ *
+ * @author Stuart
+ */
+public class MovieAutocomplete implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MovieAutocomplete.class);
+    private static final TitleNormaliser NORMALISER = new TitleNormaliser(Option.FOLD_ACCENTS, Option.COLLAPSE_PUNCTUATION);
+    private final TheMovieDbApi api;
+    private final String language;
+    private final boolean includeAdult;
+    private final MemoryCache<String, TmdbResultsList<MovieDb>> cache;
+    private final long debounce;
+    private final TimeUnit debounceUnit;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong queryCount = new AtomicLong(0);
+    private final AtomicLong searchCount = new AtomicLong(0);
+    private final AtomicLong cacheHitCount = new AtomicLong(0);
+    private final AtomicLong prefixHitCount = new AtomicLong(0);
+    private final AtomicLong collapsedCount = new AtomicLong(0);
+    private FutureTask<TmdbResultsList<MovieDb>> pending = null;
+    private boolean closed = false;
+
+    /**
+     * Create the autocomplete search
+     *
+     * @param api Used to make the requests, on its executor
+     * @param language The language to search with, optional
+     * @param includeAdult
+     * @param maxSize The most queries to cache
+     * @param timeToLive How long the results of a query are cached
+     * @param timeToLiveUnit
+     * @param debounce How long to wait for another query before searching
+     * @param debounceUnit
+     */
+    public MovieAutocomplete(TheMovieDbApi api, String language, boolean includeAdult, int maxSize, long timeToLive,
+            TimeUnit timeToLiveUnit, long debounce, TimeUnit debounceUnit) {
+        this.api = api;
+        this.language = language;
+        this.includeAdult = includeAdult;
+        this.cache = new MemoryCache<String, TmdbResultsList<MovieDb>>(maxSize, timeToLive, timeToLiveUnit);
+        this.debounce = debounce;
+        this.debounceUnit = debounceUnit;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new TmdbThreadFactory());
+    }
+
+    /**
+     * Search for the query straight away, using the cache if possible
+     *
+     * @param query
+     * @return
+     * @throws MovieDbException
+     */
+    public TmdbResultsList<MovieDb> search(String query) throws MovieDbException {
+        queryCount.incrementAndGet();
+        String key = NORMALISER.normalise(StringUtils.trimToEmpty(query));
+        TmdbResultsList<MovieDb> results = readCache(key);
+        if (results == null) {
+            results = searchMovie(query, key);
+        }
+        return copy(results);
+    }
+
+    /**
+     * Search for the query once the typing has paused.
+     *
+     * If the query can be answered from the cache the future is already complete. Otherwise the search starts after the
+     * debounce time, unless another query is typed first, which cancels this one.
+     *
+     * @param query
+     * @return
+     */
+    public Future<TmdbResultsList<MovieDb>> type(final String query) {
+        queryCount.incrementAndGet();
+        final String key = NORMALISER.normalise(StringUtils.trimToEmpty(query));
+
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("The autocomplete has been closed");
+            }
+
+            if (pending != null && pending.cancel(false)) {
+                collapsedCount.incrementAndGet();
+            }
+            pending = null;
+
+            final TmdbResultsList<MovieDb> cached = readCache(key);
+            if (cached != null) {
+                FutureTask<TmdbResultsList<MovieDb>> answered;
+                answered = new FutureTask<TmdbResultsList<MovieDb>>(new Callable<TmdbResultsList<MovieDb>>() {
+                    @Override
+                    public TmdbResultsList<MovieDb> call() {
+                        return copy(cached);
+                    }
+                });
+                answered.run();
+                return answered;
+            }
+
+            final FutureTask<TmdbResultsList<MovieDb>> task;
+            task = new FutureTask<TmdbResultsList<MovieDb>>(new Callable<TmdbResultsList<MovieDb>>() {
+                @Override
+                public TmdbResultsList<MovieDb> call() throws MovieDbException {
+                    // An earlier query may have been cached while this one waited
+                    TmdbResultsList<MovieDb> results = readCache(key);
+                    if (results == null) {
+                        results = searchMovie(query, key);
+                    }
+                    return copy(results);
+                }
+            });
+
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (task.isCancelled()) {
+                        return;
+                    }
+
+                    try {
+                        api.getExecutor().execute(task);
+                    } catch (RejectedExecutionException ex) {
+                        LOG.warn("Unable to search for '{}': {}", query, ex.getMessage());
+                        task.cancel(false);
+                    }
+                }
+            }, debounce, debounceUnit);
+            pending = task;
+            return task;
+        }
+    }
+
+    /**
+     * Find the results for the query in the cache, or by filtering the cached results of a shorter query
+     *
+     * @param key The normalised query
+     * @return The results, or null if they need to be searched for
+     */
+    private TmdbResultsList<MovieDb> readCache(String key) {
+        if (StringUtils.isBlank(key)) {
+            return new TmdbResultsList<MovieDb>(null);
+        }
+
+        TmdbResultsList<MovieDb> results = cache.get(key);
+        if (results != null) {
+            cacheHitCount.incrementAndGet();
+            return results;
+        }
+
+        for (int length = key.length() - 1; length > 0; length--) {
+            if (key.charAt(length - 1) == ' ') {
+                // Queries are cached without trailing spaces
+                continue;
+            }
+
+            TmdbResultsList<MovieDb> shorter = cache.get(key.substring(0, length));
+            if (shorter == null) {
+                continue;
+            }
+
+            if (!isComplete(shorter)) {
+                // The results of even shorter queries will not be complete either
+                return null;
+            }
+
+            results = filter(shorter, key);
+            cache.put(key, results);
+            prefixHitCount.incrementAndGet();
+            return results;
+        }
+        return null;
+    }
+
+    private TmdbResultsList<MovieDb> searchMovie(String query, String key) throws MovieDbException {
+        searchCount.incrementAndGet();
+        TmdbResultsList<MovieDb> results = api.searchMovie(query, 0, language, includeAdult, 0);
+        if (StringUtils.isNotBlank(key)) {
+            cache.put(key, results);
+        }
+        return results;
+    }
+
+    /**
+     * Check if all of the results are on the page
+     */
+    private static boolean isComplete(TmdbResultsList<MovieDb> results) {
+        return results.getPage() <= 1 && results.getTotalResults() <= results.getResults().size();
+    }
+
+    /**
+     * Keep the movies where each word of the query starts a word of the title or original title
+     */
+    private static TmdbResultsList<MovieDb> filter(TmdbResultsList<MovieDb> shorter, String key) {
+        String[] words = StringUtils.split(key, ' ');
+        List<MovieDb> movies = new ArrayList<MovieDb>();
+        for (MovieDb movie : shorter.getResults()) {
+            if (matches(movie.getTitleKey(NORMALISER), words) || matches(movie.getOriginalTitleKey(NORMALISER), words)) {
+                movies.add(movie);
+            }
+        }
+
+        TmdbResultsList<MovieDb> results = new TmdbResultsList<MovieDb>(movies);
+        results.setPage(1);
+        results.setTotalPages(1);
+        results.setTotalResults(movies.size());
+        return results;
+    }
+
+    private static boolean matches(String title, String[] words) {
+        if (title == null) {
+            return false;
+        }
+
+        String[] titleWords = StringUtils.split(title, ' ');
+        for (String word : words) {
+            boolean found = false;
+            for (String titleWord : titleWords) {
+                if (titleWord.startsWith(word)) {
+                    found = true;
+                    break;
+                }
+            }
+
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copy the results, so that the cached list is not changed by the caller
+     */
+    private static TmdbResultsList<MovieDb> copy(TmdbResultsList<MovieDb> results) {
+        TmdbResultsList<MovieDb> copy = new TmdbResultsList<MovieDb>(results.getResults());
+        copy.setPage(results.getPage());
+        copy.setTotalPages(results.getTotalPages());
+        copy.setTotalResults(results.getTotalResults());
+        return copy;
+    }
+
+    /**
+     * The number of queries passed to search and type
+     *
+     * @return
+     */
+    public long getQueryCount() {
+        return queryCount.get();
+    }
+
+    /**
+     * The number of searches made to TheMovieDb
+     *
+     * @return
+     */
+    public long getSearchCount() {
+        return searchCount.get();
+    }
+
+    /**
+     * The number of queries answered with the cached results for the same query
+     *
+     * @return
+     */
+    public long getCacheHitCount() {
+        return cacheHitCount.get();
+    }
+
+    /**
+     * The number of queries answered by filtering the cached results of a shorter query
+     *
+     * @return
+     */
+    public long getPrefixHitCount() {
+        return prefixHitCount.get();
+    }
+
+    /**
+     * The number of typed queries cancelled by a later query before they were searched for
+     *
+     * @return
+     */
+    public long getCollapsedCount() {
+        return collapsedCount.get();
+    }
+
+    /**
+     * Remove all of the cached results
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Cancel the waiting query and stop accepting new ones
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+        }
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi;
+
+import com.omertron.themoviedbapi.MovieDbException.MovieDbExceptionType;
+import com.omertron.themoviedbapi.model.MovieDb;
+import com.omertron.themoviedbapi.model.MovieSection;
+import com.omertron.themoviedbapi.tools.TmdbThreadFactory;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges the requests for the sections of a movie into a single getMovieInfo call.
+ *
+ * The first request for a movie starts a short window. Any other requests for the same movie and language made during the
+ * window are added to it, and when the window ends a single request is made with all of the sections appended. Every caller
+ * then gets the same MovieDb, which holds the sections they asked for.
+ *
+ * The MovieDb is shared between the callers, so should not be modified. Each caller has its own future, so cancelling one does
+ * not affect the others, and the request is not made if they have all been cancelled when the window ends.
+ *
+ * @author Stuart
+ */
+public class MovieBatcher implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MovieBatcher.class);
+    private final TheMovieDbApi api;
+    private final long window;
+    private final TimeUnit windowUnit;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, Batch> pending = new HashMap<String, Batch>();
+    private final AtomicLong requestCount = new AtomicLong(0);
+    private final AtomicLong batchCount = new AtomicLong(0);
+    private boolean closed = false;
+
+    /**
+     * Create the batcher
+     *
+     * @param api Used to make the requests, on its executor
+     * @param window How long to wait for other requests for the same movie
+     * @param windowUnit
+     */
+    public MovieBatcher(TheMovieDbApi api, long window, TimeUnit windowUnit) {
+        this.api = api;
+        this.window = window;
+        this.windowUnit = windowUnit;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new TmdbThreadFactory());
+    }
+
+    /**
+     * Request the movie with the sections, the request is made when the window ends.
+     *
+     * Cancelling the future only cancels this request, the movie is still read for the other requests in the window.
+     *
+     * @param movieId
+     * @param language
+     * @param sections
+     * @return
+     */
+    public Future<MovieDb> requestMovie(int movieId, String language, MovieSection... sections) {
+        return addRequest(getKey(movieId, language), movieId, language, sections);
+    }
+
+    /**
+     * Add the request to the pending batch for the movie, starting a new batch if there is none
+     */
+    private Request addRequest(String key, int movieId, String language, MovieSection... sections) {
+        synchronized (pending) {
+            if (closed) {
+                throw new IllegalStateException("The batcher has been closed");
+            }
+
+            Batch batch = pending.get(key);
+            if (batch == null) {
+                batch = new Batch(movieId, language);
+                pending.put(key, batch);
+                batchCount.incrementAndGet();
+                scheduler.schedule(new Dispatcher(key, batch), window, windowUnit);
+            }
+
+            if (sections != null) {
+                batch.sections.addAll(Arrays.asList(sections));
+            }
+            requestCount.incrementAndGet();
+            Request request = new Request(batch);
+            batch.requests.add(request);
+            return request;
+        }
+    }
+
+    /**
+     * Get the movie with the sections, waiting for the window to end and the request to complete.
+     *
+     * Called from one of the API request threads the window is ended early and the request made on that thread, as waiting for
+     * the executor from its own thread could deadlock it.
+     *
+     * @param movieId
+     * @param language
+     * @param sections
+     * @return
+     * @throws MovieDbException
+     */
+    public MovieDb getMovie(int movieId, String language, MovieSection... sections) throws MovieDbException {
+        String key = getKey(movieId, language);
+        Request request = addRequest(key, movieId, language, sections);
+        if (TmdbThreadFactory.isRequestThread()) {
+            // If the batch has already been sent this does nothing unless it is still waiting on the executor
+            seal(key, request.batch);
+            request.batch.run();
+        }
+
+        try {
+            return request.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Interrupted waiting for movie " + movieId, ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof MovieDbException) {
+                throw (MovieDbException) ex.getCause();
+            }
+            throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Failed to get movie " + movieId, ex.getCause());
+        }
+    }
+
+    /**
+     * The number of movie requests made to the batcher
+     *
+     * @return
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * The number of getMovieInfo requests the movie requests were merged into
+     *
+     * @return
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    private static String getKey(int movieId, String language) {
+        return movieId + "|" + StringUtils.trimToEmpty(language);
+    }
+
+    /**
+     * Stop adding requests to the batch, so that it can be sent
+     *
+     * @return False if the batch had already been sealed
+     */
+    private boolean seal(String key, Batch batch) {
+        synchronized (pending) {
+            if (batch.appendToResponse != null) {
+                return false;
+            }
+            if (pending.get(key) == batch) {
+                pending.remove(key);
+            }
+            batch.appendToResponse = MovieSection.toAppendToResponse(batch.sections);
+            return true;
+        }
+    }
+
+    /**
+     * Send the request for the batch, no more sections can be added to it after this
+     *
+     * @param key
+     * @param batch
+     */
+    private void dispatch(String key, Batch batch) {
+        if (!seal(key, batch)) {
+            // Already sent when the batcher was closed or by a request thread
+            return;
+        }
+
+        if (batch.isCancelled()) {
+            LOG.trace("All the requests for movie {} were cancelled", batch.movieId);
+            return;
+        }
+
+        LOG.trace("Requesting movie {} with {}", batch.movieId, batch.sections);
+        try {
+            api.getExecutor().execute(batch);
+        } catch (RejectedExecutionException ex) {
+            batch.fail(new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Unable to request movie " + batch.movieId, ex));
+        }
+    }
+
+    /**
+     * Send the waiting requests and stop accepting new ones
+     */
+    @Override
+    public void close() {
+        List<Map.Entry<String, Batch>> waiting;
+        synchronized (pending) {
+            closed = true;
+            waiting = new ArrayList<Map.Entry<String, Batch>>(pending.entrySet());
+        }
+
+        for (Map.Entry<String, Batch> entry : waiting) {
+            dispatch(entry.getKey(), entry.getValue());
+        }
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * The requests for a movie that are waiting to be sent.
+     *
+     * The requests and sections are only changed while the batch is pending, so are not changed once it has been sent.
+     */
+    private final class Batch implements Runnable {
+
+        private final int movieId;
+        private final String language;
+        private final Set<MovieSection> sections = EnumSet.noneOf(MovieSection.class);
+        private final List<Request> requests = new ArrayList<Request>();
+        private final AtomicBoolean started = new AtomicBoolean(false);
+        private String[] appendToResponse;
+
+        Batch(int movieId, String language) {
+            this.movieId = movieId;
+            this.language = language;
+        }
+
+        boolean isCancelled() {
+            for (Request request : requests) {
+                if (!request.isCancelled()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void fail(Throwable cause) {
+            for (Request request : requests) {
+                request.fail(cause);
+            }
+        }
+
+        /**
+         * Request the movie, only the first call does anything
+         */
+        @Override
+        public void run() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+
+            MovieDb movie;
+            try {
+                movie = api.getMovieInfo(movieId, language, appendToResponse);
+            } catch (MovieDbException ex) {
+                fail(ex);
+                return;
+            } catch (RuntimeException ex) {
+                fail(ex);
+                return;
+            }
+
+            for (Request request : requests) {
+                request.complete(movie);
+            }
+        }
+    }
+
+    /**
+     * The future of a single caller, it is completed by its batch
+     */
+    private static final class Request implements Future<MovieDb> {
+
+        private final Batch batch;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private MovieDb movie;
+        private Throwable cause;
+        private boolean cancelled;
+
+        Request(Batch batch) {
+            this.batch = batch;
+        }
+
+        void complete(MovieDb movie) {
+            finish(movie, null, false);
+        }
+
+        void fail(Throwable cause) {
+            finish(null, cause, false);
+        }
+
+        /**
+         * Set the outcome, if it has not already been set
+         */
+        private synchronized boolean finish(MovieDb movie, Throwable cause, boolean cancelled) {
+            if (isDone()) {
+                return false;
+            }
+            this.movie = movie;
+            this.cause = cause;
+            this.cancelled = cancelled;
+            latch.countDown();
+            return true;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return finish(null, null, true);
+        }
+
+        @Override
+        public synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return latch.getCount() == 0;
+        }
+
+        @Override
+        public MovieDb get() throws InterruptedException, ExecutionException {
+            latch.await();
+            return getOutcome();
+        }
+
+        @Override
+        public MovieDb get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            if (!latch.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            return getOutcome();
+        }
+
+        private synchronized MovieDb getOutcome() throws ExecutionException {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            if (cause != null) {
+                throw new ExecutionException(cause);
+            }
+            return movie;
+        }
+    }
+
+    private final class Dispatcher implements Runnable {
+
+        private final String key;
+        private final Batch batch;
+
+        Dispatcher(String key, Batch batch) {
+            this.key = key;
+            this.batch = batch;
+        }
+
+        @Override
+        public void run() {
+            dispatch(key, batch);
+        }
+    }
+}
@@ -37,7 +37,7 @@ public class MovieDbException extends Exception {
          */
         HTTP_404_ERROR,
         /*
-         * The movie id was not found
+         * The movie id, or the id of another item such as a person, was not found
          */
         MOVIE_ID_NOT_FOUND,
         /*
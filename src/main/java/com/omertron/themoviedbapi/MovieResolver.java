@@ -0,0 +1,421 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi;
+
+import com.omertron.themoviedbapi.MovieDbException.MovieDbExceptionType;
+import com.omertron.themoviedbapi.model.MovieDb;
+import com.omertron.themoviedbapi.results.TmdbRankedResult;
+import com.omertron.themoviedbapi.results.TmdbResultsList;
+import com.omertron.themoviedbapi.tools.MovieRanker;
+import com.omertron.themoviedbapi.tools.ReleaseDates;
+import com.omertron.themoviedbapi.tools.TitleNormaliser;
+import com.omertron.themoviedbapi.tools.TmdbThreadFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves titles and years, such as those parsed from file names, to movies.
+ *
+ * Each title is searched for, the results ranked with MovieRanker and the best match read with getMovieInfo if its score is
+ * at least the minimum. The searches are made on the API executor, and so within any rate limit that has been set.
+ *
+ * Titles that are the same after normalising with TitleNormaliser.DEFAULT and have the same year are only resolved once, the
+ * later requests share the result of the first. Titles that could not be resolved are remembered in the same way, so are not
+ * searched for again. Failed requests are not remembered.
+ *
+ * The time spent and the number of titles passing through each stage are recorded, see Stage.
+ *
+ * @author Stuart
+ */
+public class MovieResolver {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MovieResolver.class);
+    private final TheMovieDbApi api;
+    private final String language;
+    private final String[] appendToResponse;
+    private final float minScore;
+    private final Semaphore inFlight;
+    private final Map<String, FutureTask<TmdbRankedResult<MovieDb>>> resolved;
+    private final AtomicLong requestCount = new AtomicLong(0);
+    private final AtomicLong resolvedCount = new AtomicLong(0);
+    private final AtomicLong unresolvedCount = new AtomicLong(0);
+    private final AtomicLong failedCount = new AtomicLong(0);
+    private final AtomicLong[] stageCount = new AtomicLong[Stage.values().length];
+    private final AtomicLong[] stageNanos = new AtomicLong[Stage.values().length];
+
+    /**
+     * The stages each title passes through
+     */
+    public enum Stage {
+
+        /**
+         * The searchMovie request
+         */
+        SEARCH,
+        /**
+         * Ranking the search results
+         */
+        RANK,
+        /**
+         * The getMovieInfo request for the best match
+         */
+        FETCH;
+    }
+
+    /**
+     * Create the resolver
+     *
+     * @param api Used to make the requests, on its executor
+     * @param language The language to search and read the movies in, optional
+     * @param minScore The lowest score of the best match, from 0 to 1, for the title to be resolved
+     * @param maxInFlight The number of titles that can be waiting to be resolved, before resolve waits for one to complete
+     * @param maxRemembered The number of resolved and unresolved titles remembered
+     * @param appendToResponse Appended to the getMovieInfo requests
+     */
+    public MovieResolver(TheMovieDbApi api, String language, float minScore, int maxInFlight, final int maxRemembered,
+            String... appendToResponse) {
+        this.api = api;
+        this.language = language;
+        this.minScore = minScore;
+        this.inFlight = new Semaphore(Math.max(maxInFlight, 1));
+        this.appendToResponse = appendToResponse;
+        this.resolved = new LinkedHashMap<String, FutureTask<TmdbRankedResult<MovieDb>>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FutureTask<TmdbRankedResult<MovieDb>>> eldest) {
+                return size() > maxRemembered;
+            }
+        };
+
+        for (int stage = 0; stage < stageCount.length; stage++) {
+            stageCount[stage] = new AtomicLong(0);
+            stageNanos[stage] = new AtomicLong(0);
+        }
+    }
+
+    /**
+     * Start resolving the title and year.
+     *
+     * If there are already the maximum titles in flight this waits for one to complete, so titles can be passed in as fast as
+     * they are read. Called from one of the API request threads the title is resolved on that thread instead, as waiting for
+     * the executor from its own thread could deadlock it.
+     *
+     * @param title
+     * @param year The year of the movie, optional
+     * @return The best match with the movie read by getMovieInfo, or null if there is no match
+     * @throws MovieDbException If interrupted while waiting
+     */
+    public Future<TmdbRankedResult<MovieDb>> resolve(String title, String year) throws MovieDbException {
+        requestCount.incrementAndGet();
+        String key = TitleNormaliser.DEFAULT.normalise(StringUtils.trimToEmpty(title)) + "|" + ReleaseDates.parseYear(year);
+        boolean onCallingThread = TmdbThreadFactory.isRequestThread();
+
+        final FutureTask<TmdbRankedResult<MovieDb>> existing;
+        final ResolveTask task;
+        synchronized (resolved) {
+            existing = resolved.get(key);
+            if (existing == null) {
+                task = new ResolveTask(key, title, year);
+                resolved.put(key, task);
+            } else {
+                task = null;
+            }
+        }
+
+        if (existing != null) {
+            if (onCallingThread) {
+                // Run it here if it is still queued, otherwise this does nothing as it has run or is running elsewhere
+                existing.run();
+            }
+            return existing;
+        }
+
+        if (onCallingThread) {
+            task.run();
+            return task;
+        }
+
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw task.fail(new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Interrupted waiting to resolve " + title, ex));
+        }
+
+        // A request thread sharing the task may have run it while this one waited, done has then already run and not released it
+        task.permitHeld.set(true);
+        if (task.isDone()) {
+            task.releasePermit();
+            return task;
+        }
+
+        try {
+            api.getExecutor().execute(task);
+        } catch (RejectedExecutionException ex) {
+            throw task.fail(new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Unable to resolve " + title, ex));
+        }
+        return task;
+    }
+
+    /**
+     * Resolve the title and year, waiting for the requests to complete
+     *
+     * @param title
+     * @param year The year of the movie, optional
+     * @return The best match with the movie read by getMovieInfo, or null if there is no match
+     * @throws MovieDbException
+     */
+    public TmdbRankedResult<MovieDb> resolveNow(String title, String year) throws MovieDbException {
+        Future<TmdbRankedResult<MovieDb>> future = resolve(title, year);
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Interrupted resolving " + title, ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof MovieDbException) {
+                throw (MovieDbException) ex.getCause();
+            }
+            throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Failed to resolve " + title, ex.getCause());
+        }
+    }
+
+    /**
+     * Search for the title, rank the results and read the best match
+     */
+    private TmdbRankedResult<MovieDb> resolveTitle(String title, String year) throws MovieDbException {
+        if (StringUtils.isBlank(title)) {
+            unresolvedCount.incrementAndGet();
+            return null;
+        }
+
+        long start = System.nanoTime();
+        TmdbResultsList<MovieDb> results = api.searchMovie(title, ReleaseDates.parseYear(year), language, false, 0);
+        start = record(Stage.SEARCH, start);
+
+        List<TmdbRankedResult<MovieDb>> ranked = MovieRanker.rank(results.getResults(), title, year, 1);
+        start = record(Stage.RANK, start);
+
+        if (ranked.isEmpty() || ranked.get(0).getScore() < minScore) {
+            LOG.debug("No match for '{}' ({})", title, year);
+            unresolvedCount.incrementAndGet();
+            return null;
+        }
+
+        TmdbRankedResult<MovieDb> best = ranked.get(0);
+        MovieDb movie;
+        try {
+            movie = api.getMovieInfo(best.getResult().getId(), language, appendToResponse);
+        } catch (MovieDbException ex) {
+            if (ex.getExceptionType() != MovieDbExceptionType.MOVIE_ID_NOT_FOUND) {
+                throw ex;
+            }
+            LOG.debug("Best match for '{}' ({}) not found: {}", title, year, best.getResult().getId());
+            unresolvedCount.incrementAndGet();
+            return null;
+        } finally {
+            record(Stage.FETCH, start);
+        }
+
+        resolvedCount.incrementAndGet();
+        return new TmdbRankedResult<MovieDb>(movie, best.getScore(), best.getTitleScore(), best.getYearScore(),
+                best.getPopularityScore());
+    }
+
+    /**
+     * Add the time since the start to the stage
+     *
+     * @return The time now, to start the next stage
+     */
+    private long record(Stage stage, long start) {
+        long now = System.nanoTime();
+        stageCount[stage.ordinal()].incrementAndGet();
+        stageNanos[stage.ordinal()].addAndGet(now - start);
+        return now;
+    }
+
+    /**
+     * Remove the task, so that the title is resolved again the next time it is requested
+     */
+    private void forget(String key, FutureTask<TmdbRankedResult<MovieDb>> task) {
+        synchronized (resolved) {
+            if (resolved.get(key) == task) {
+                resolved.remove(key);
+            }
+        }
+    }
+
+    /**
+     * The number of titles passed to resolve, including those that were the same as an earlier title
+     *
+     * @return
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * The number of titles resolved to a movie
+     *
+     * @return
+     */
+    public long getResolvedCount() {
+        return resolvedCount.get();
+    }
+
+    /**
+     * The number of titles with no match
+     *
+     * @return
+     */
+    public long getUnresolvedCount() {
+        return unresolvedCount.get();
+    }
+
+    /**
+     * The number of titles that failed with an error
+     *
+     * @return
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * The number of titles that have completed the stage
+     *
+     * @param stage
+     * @return
+     */
+    public long getStageCount(Stage stage) {
+        return stageCount[stage.ordinal()].get();
+    }
+
+    /**
+     * The total time spent in the stage, across all threads
+     *
+     * @param stage
+     * @param unit
+     * @return
+     */
+    public long getStageTime(Stage stage, TimeUnit unit) {
+        return unit.convert(stageNanos[stage.ordinal()].get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The number of titles a single thread completes in the stage each second.
+     *
+     * Multiply by the number of executor threads for the throughput of the resolver.
+     *
+     * @param stage
+     * @return The titles per second, or 0 if none have completed the stage
+     */
+    public double getStageThroughput(Stage stage) {
+        long nanos = stageNanos[stage.ordinal()].get();
+        if (nanos <= 0) {
+            return 0;
+        }
+        return stageCount[stage.ordinal()].get() * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+    /**
+     * Forget the resolved and unresolved titles, so that they are resolved again
+     */
+    public void clear() {
+        synchronized (resolved) {
+            resolved.clear();
+        }
+    }
+
+    /**
+     * Resolves a title, releasing its place in flight when complete and forgetting the title if it failed
+     */
+    private final class ResolveTask extends FutureTask<TmdbRankedResult<MovieDb>> {
+
+        private final String key;
+        private final AtomicBoolean permitHeld = new AtomicBoolean(false);
+
+        ResolveTask(String key, final String title, final String year) {
+            super(new Callable<TmdbRankedResult<MovieDb>>() {
+                @Override
+                public TmdbRankedResult<MovieDb> call() throws MovieDbException {
+                    try {
+                        return resolveTitle(title, year);
+                    } catch (MovieDbException ex) {
+                        failedCount.incrementAndGet();
+                        throw ex;
+                    }
+                }
+            });
+            this.key = key;
+        }
+
+        /**
+         * Release the place in flight, if the task holds it and it has not already been released
+         */
+        void releasePermit() {
+            if (permitHeld.compareAndSet(true, false)) {
+                inFlight.release();
+            }
+        }
+
+        /**
+         * Fail the task with the exception, so that callers sharing it see the failure and the title is forgotten
+         *
+         * @return The exception, to be thrown
+         */
+        MovieDbException fail(MovieDbException ex) {
+            setException(ex);
+            return ex;
+        }
+
+        @Override
+        protected void done() {
+            releasePermit();
+
+            if (isCancelled()) {
+                forget(key, this);
+                return;
+            }
+
+            try {
+                get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ex) {
+                forget(key, this);
+            }
+        }
+    }
+}
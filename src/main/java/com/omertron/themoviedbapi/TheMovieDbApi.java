@@ -29,6 +29,7 @@ import com.omertron.themoviedbapi.model.ArtworkType;
 import com.omertron.themoviedbapi.model.ChangeKeyItem;
 import com.omertron.themoviedbapi.model.ChangedItem;
 import com.omertron.themoviedbapi.model.ChangedMovie;
+import com.omertron.themoviedbapi.model.ChangedPerson;
 import com.omertron.themoviedbapi.model.Collection;
 import com.omertron.themoviedbapi.model.CollectionInfo;
 import com.omertron.themoviedbapi.model.Company;
@@ -42,19 +43,45 @@ import com.omertron.themoviedbapi.model.MovieDb;
 import com.omertron.themoviedbapi.model.MovieDbList;
 import com.omertron.themoviedbapi.model.MovieDbListStatus;
 import com.omertron.themoviedbapi.model.MovieList;
+import com.omertron.themoviedbapi.model.MovieSection;
 import com.omertron.themoviedbapi.model.Person;
 import com.omertron.themoviedbapi.model.PersonCredit;
 import com.omertron.themoviedbapi.model.ReleaseInfo;
 import com.omertron.themoviedbapi.model.Reviews;
+import com.omertron.themoviedbapi.model.SearchType;
 import com.omertron.themoviedbapi.model.StatusCode;
 import com.omertron.themoviedbapi.model.TmdbConfiguration;
 import com.omertron.themoviedbapi.model.TokenAuthorisation;
 import com.omertron.themoviedbapi.model.TokenSession;
 import com.omertron.themoviedbapi.model.Trailer;
 import com.omertron.themoviedbapi.model.Translation;
+import com.omertron.themoviedbapi.model.comparator.MovieDbDateComparator;
+import com.omertron.themoviedbapi.results.TmdbBulkIterator;
+import com.omertron.themoviedbapi.results.TmdbBulkResult;
+import com.omertron.themoviedbapi.results.TmdbFederatedResults;
+import com.omertron.themoviedbapi.results.TmdbItemFetcher;
+import com.omertron.themoviedbapi.results.TmdbPageFetcher;
+import com.omertron.themoviedbapi.results.TmdbPagedIterator;
+import com.omertron.themoviedbapi.results.TmdbPagedResults;
+import com.omertron.themoviedbapi.results.TmdbRankedResult;
+import com.omertron.themoviedbapi.results.TmdbResultKey;
+import com.omertron.themoviedbapi.results.TmdbResultsIterator;
 import com.omertron.themoviedbapi.results.TmdbResultsList;
 import com.omertron.themoviedbapi.results.TmdbResultsMap;
+import com.omertron.themoviedbapi.results.TmdbSearchResult;
+import com.omertron.themoviedbapi.sync.ChangeSource;
+import com.omertron.themoviedbapi.sync.ChangesSync;
+import com.omertron.themoviedbapi.sync.SyncListener;
+import com.omertron.themoviedbapi.sync.SyncStateStore;
 import com.omertron.themoviedbapi.tools.ApiUrl;
+import com.omertron.themoviedbapi.tools.ImdbIdIndex;
+import com.omertron.themoviedbapi.tools.Levenshtein;
+import com.omertron.themoviedbapi.tools.MovieRanker;
+import com.omertron.themoviedbapi.tools.PageFanOut;
+import com.omertron.themoviedbapi.tools.RateLimiter;
+import com.omertron.themoviedbapi.tools.ReleaseDates;
+import com.omertron.themoviedbapi.tools.ReplicaStore;
+import com.omertron.themoviedbapi.tools.ResponseBuffer;
 import static com.omertron.themoviedbapi.tools.ApiUrl.PARAM_ADULT;
 import static com.omertron.themoviedbapi.tools.ApiUrl.PARAM_COUNTRY;
 import static com.omertron.themoviedbapi.tools.ApiUrl.PARAM_END_DATE;
@@ -67,6 +94,10 @@ import static com.omertron.themoviedbapi.tools.ApiUrl.PARAM_SESSION;
 import static com.omertron.themoviedbapi.tools.ApiUrl.PARAM_START_DATE;
 import static com.omertron.themoviedbapi.tools.ApiUrl.PARAM_TOKEN;
 import static com.omertron.themoviedbapi.tools.ApiUrl.PARAM_YEAR;
+import com.omertron.themoviedbapi.tools.TitleIndex;
+import com.omertron.themoviedbapi.tools.TitleNormaliser;
+import com.omertron.themoviedbapi.tools.TmdbCache;
+import com.omertron.themoviedbapi.tools.TmdbThreadFactory;
 import com.omertron.themoviedbapi.tools.WebBrowser;
 import com.omertron.themoviedbapi.wrapper.WrapperAlternativeTitles;
 import com.omertron.themoviedbapi.wrapper.WrapperChanges;
@@ -86,22 +117,47 @@ import com.omertron.themoviedbapi.wrapper.WrapperMovieDbList;
 import com.omertron.themoviedbapi.wrapper.WrapperMovieKeywords;
 import com.omertron.themoviedbapi.wrapper.WrapperMovieList;
 import com.omertron.themoviedbapi.wrapper.WrapperPerson;
+import com.omertron.themoviedbapi.wrapper.WrapperPersonChanges;
 import com.omertron.themoviedbapi.wrapper.WrapperPersonCredits;
 import com.omertron.themoviedbapi.wrapper.WrapperPersonList;
 import com.omertron.themoviedbapi.wrapper.WrapperReleaseInfo;
 import com.omertron.themoviedbapi.wrapper.WrapperReviews;
 import com.omertron.themoviedbapi.wrapper.WrapperTrailers;
 import com.omertron.themoviedbapi.wrapper.WrapperTranslations;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.entity.ContentType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yamj.api.common.http.CommonHttpClient;
@@ -134,6 +190,45 @@ public class TheMovieDbApi {
     private static final String BASE_DISCOVER = "discover/";
     // Jackson JSON configuration
     private static ObjectMapper mapper = new ObjectMapper();
+    // Background requests
+    private static final int DEFAULT_REQUEST_THREADS = 4;
+    private static final int BULK_REQUESTS_IN_FLIGHT = DEFAULT_REQUEST_THREADS * 2;
+    // Runs the tasks of a caller that is already on a request thread
+    private static final Executor CALLING_THREAD = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+    // The number of queries and how long they are cached by createMovieAutocomplete
+    private static final int AUTOCOMPLETE_CACHE_SIZE = 1000;
+    private static final long AUTOCOMPLETE_CACHE_MINUTES = 10;
+    // The weight of the title in the score of the searchAll results, the rest is their position in the results of their type
+    private static final float SEARCH_TITLE_WEIGHT = 0.8f;
+    // Best score first, equal scores in the order of the types
+    private static final Comparator<TmdbSearchResult> SEARCH_RESULT_ORDER = new Comparator<TmdbSearchResult>() {
+        @Override
+        public int compare(TmdbSearchResult first, TmdbSearchResult second) {
+            int result = Float.compare(second.getScore(), first.getScore());
+            if (result == 0) {
+                result = first.getType().compareTo(second.getType());
+            }
+            if (result == 0) {
+                result = first.getPosition() < second.getPosition() ? -1 : (first.getPosition() == second.getPosition() ? 0 : 1);
+            }
+            return result;
+        }
+    };
+    private ExecutorService executor = null;
+    private volatile RateLimiter rateLimiter = null;
+    // Caches
+    private volatile TmdbCache<String, MovieDb> movieCache = null;
+    private volatile TmdbCache<String, Person> personCache = null;
+    private volatile ReplicaStore<MovieDb> movieReplica = null;
+    private volatile ReplicaStore<Person> personReplica = null;
+    private volatile TitleIndex titleIndex = null;
+    private volatile ImdbIdIndex imdbIndex = null;
+    private volatile TmdbCache<String, Boolean> notFoundCache = null;
 
     /**
      * API for The Movie Db.
@@ -158,10 +253,10 @@ public class TheMovieDbApi {
 
         ApiUrl apiUrl = new ApiUrl(apiKey, "configuration");
         URL configUrl = apiUrl.buildUrl();
-        String webpage = requestWebPage(configUrl);
+        ResponseBuffer webpage = requestWebPage(configUrl);
 
         try {
-            WrapperConfig wc = mapper.readValue(webpage, WrapperConfig.class);
+            WrapperConfig wc = readValue(webpage, WrapperConfig.class);
             tmdbConfig = wc.getTmdbConfiguration();
         } catch (IOException ex) {
             throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, "Failed to read configuration", ex);
@@ -177,47 +272,538 @@ public class TheMovieDbApi {
         return apiKey;
     }
 
-    private String requestWebPage(URL url) throws MovieDbException {
+    /**
+     * Get the executor used to make background and concurrent requests.
+     *
+     * If one has not been set, a pool of daemon threads is created.
+     *
+     * @return
+     */
+    public synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(DEFAULT_REQUEST_THREADS, new TmdbThreadFactory());
+        }
+        return executor;
+    }
+
+    /**
+     * Set the executor used to make background and concurrent requests.
+     *
+     * The size of the pool limits the number of requests made at the same time. The executor is not shut down by the API.
+     *
+     * Methods that wait for other tasks, such as searchMovieRanked, searchAll and rankMovies, run those tasks on the calling
+     * thread when they are called from a thread created by a TmdbThreadFactory. If the executor has a fixed number of threads
+     * and these methods are called from its tasks, create its threads with a TmdbThreadFactory so that it can not deadlock.
+     *
+     * @param executor
+     */
+    public synchronized void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Set the limit on the number of requests that can be made to TheMovieDb, requests will wait until they are within the
+     * limit.
+     *
+     * @param rateLimiter The limiter, or null for no limit
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public TmdbCache<String, MovieDb> getMovieCache() {
+        return movieCache;
+    }
+
+    /**
+     * Set the cache used for the movie information.
+     *
+     * Cached movies are shared between callers so should not be modified.
+     *
+     * @param movieCache The cache, or null to not cache movies
+     */
+    public void setMovieCache(TmdbCache<String, MovieDb> movieCache) {
+        this.movieCache = movieCache;
+    }
+
+    public TmdbCache<String, Person> getPersonCache() {
+        return personCache;
+    }
+
+    /**
+     * Set the cache used for the person information.
+     *
+     * Cached people are shared between callers so should not be modified.
+     *
+     * @param personCache The cache, or null to not cache people
+     */
+    public void setPersonCache(TmdbCache<String, Person> personCache) {
+        this.personCache = personCache;
+    }
+
+    public ReplicaStore<MovieDb> getMovieReplica() {
+        return movieReplica;
+    }
+
+    /**
+     * Set the local copy of the movies.
+     *
+     * Movies are read from the replica when it has a current copy for the same language and appended responses, otherwise they
+     * are requested and written to the replica. The replica is not closed by the API.
+     *
+     * @param movieReplica The replica, or null to not keep a local copy
+     */
+    public void setMovieReplica(ReplicaStore<MovieDb> movieReplica) {
+        this.movieReplica = movieReplica;
+    }
+
+    public ReplicaStore<Person> getPersonReplica() {
+        return personReplica;
+    }
+
+    /**
+     * Set the local copy of the people.
+     *
+     * People are read from the replica when it has a current copy with the same appended responses, otherwise they are
+     * requested and written to the replica. The replica is not closed by the API.
+     *
+     * @param personReplica The replica, or null to not keep a local copy
+     */
+    public void setPersonReplica(ReplicaStore<Person> personReplica) {
+        this.personReplica = personReplica;
+    }
+
+    public TitleIndex getTitleIndex() {
+        return titleIndex;
+    }
+
+    /**
+     * Set the local index of movie titles used by findMovies.
+     *
+     * The movies read by getMovieInfo and findMovies are added to the index.
+     *
+     * @param titleIndex The index, or null to always search TheMovieDb
+     */
+    public void setTitleIndex(TitleIndex titleIndex) {
+        this.titleIndex = titleIndex;
+    }
+
+    public ImdbIdIndex getImdbIndex() {
+        return imdbIndex;
+    }
+
+    /**
+     * Set the index of IMDb ids used by getMovieInfoImdb.
+     *
+     * The IMDb ids of the movies read by getMovieInfo and getMovieInfoImdb are added to the index. An IMDb id in the index is
+     * read with getMovieInfo, so from the movie cache or replica if they hold it.
+     *
+     * @param imdbIndex The index, or null to always request the movie by IMDb id
+     */
+    public void setImdbIndex(ImdbIdIndex imdbIndex) {
+        this.imdbIndex = imdbIndex;
+    }
+
+    /**
+     * Look up the IMDb id in the index, any error is logged and treated as the id not being there
+     *
+     * @param imdbId
+     * @return TheMovieDb id, or 0 if it is not known
+     */
+    private int readImdbIndex(String imdbId) {
+        ImdbIdIndex index = imdbIndex;
+        if (index == null) {
+            return 0;
+        }
+
+        try {
+            return index.get(imdbId);
+        } catch (IOException ex) {
+            LOG.warn("Failed to read IMDB ID '{}' from the index: {}", imdbId, ex.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Add the IMDb id of the movie to the index, any error is logged as the movie has still been read
+     *
+     * @param movie
+     */
+    private void indexImdbId(MovieDb movie) {
+        ImdbIdIndex index = imdbIndex;
+        if (index == null) {
+            return;
+        }
+
+        try {
+            index.add(movie);
+        } catch (IOException ex) {
+            LOG.warn("Failed to add IMDB ID '{}' to the index: {}", movie.getImdbID(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Remove the IMDb id from the index, any error is logged as the movie is requested by IMDb id instead
+     *
+     * @param imdbId
+     */
+    private void removeImdbIndex(String imdbId) {
+        ImdbIdIndex index = imdbIndex;
+        if (index == null) {
+            return;
+        }
+
+        try {
+            index.remove(imdbId);
+        } catch (IOException ex) {
+            LOG.warn("Failed to remove IMDB ID '{}' from the index: {}", imdbId, ex.getMessage());
+        }
+    }
+
+    public TmdbCache<String, Boolean> getNotFoundCache() {
+        return notFoundCache;
+    }
+
+    /**
+     * Set the cache of the movies and people that were not found and the searches that found nothing, so that asking for
+     * them again does not make a request.
+     *
+     * Only the answers of TheMovieDb are held: the ids that it did not find, which throw MOVIE_ID_NOT_FOUND while they are in
+     * the cache, and the searches that it answered with no results, which return no results. Failed requests, e.g. a bad API
+     * key or a rate limit, are never held. This should normally have a short time to live, so that new movies are found, and be
+     * separate from the movie cache so that its hits are counted separately.
+     *
+     * @param notFoundCache The cache, or null to always make the request
+     */
+    public void setNotFoundCache(TmdbCache<String, Boolean> notFoundCache) {
+        this.notFoundCache = notFoundCache;
+    }
+
+    /**
+     * Check if the key is in the not found cache
+     *
+     * @param key
+     * @return True if TheMovieDb found nothing for the key the last time it was requested
+     */
+    private boolean readNotFound(String key) {
+        TmdbCache<String, Boolean> cache = notFoundCache;
+        return cache != null && cache.get(key) != null;
+    }
+
+    /**
+     * Add the key to the not found cache
+     *
+     * @param key
+     */
+    private void writeNotFound(String key) {
+        TmdbCache<String, Boolean> cache = notFoundCache;
+        if (cache != null) {
+            cache.put(key, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Remove the key from the not found cache
+     *
+     * @param key
+     */
+    private void removeNotFound(String key) {
+        TmdbCache<String, Boolean> cache = notFoundCache;
+        if (cache != null) {
+            cache.remove(key);
+        }
+    }
+
+    /**
+     * Request the page, adding the key to the not found cache if TheMovieDb does not have it.
+     *
+     * Any other error response is thrown without being cached.
+     *
+     * @param url
+     * @param notFoundKey
+     * @return
+     * @throws MovieDbException
+     */
+    private ResponseBuffer requestItemPage(URL url, String notFoundKey) throws MovieDbException {
+        ResponseBuffer webpage = requestWebPage(url);
+        try {
+            WebBrowser.checkStatus(webpage, MovieDbExceptionType.MOVIE_ID_NOT_FOUND);
+        } catch (MovieDbException ex) {
+            if (ex.getExceptionType() == MovieDbExceptionType.MOVIE_ID_NOT_FOUND) {
+                writeNotFound(notFoundKey);
+            }
+            throw ex;
+        }
+        return webpage;
+    }
+
+    /**
+     * Request the search page, throwing any error response so that it is not read as a search with no results
+     *
+     * @param url
+     * @return
+     * @throws MovieDbException
+     */
+    private ResponseBuffer requestSearchPage(URL url) throws MovieDbException {
+        ResponseBuffer webpage = requestWebPage(url);
+        WebBrowser.checkStatus(webpage, MovieDbExceptionType.HTTP_404_ERROR);
+        return webpage;
+    }
+
+    /**
+     * Check if the search is in the not found cache
+     *
+     * @param url
+     * @return True if the search found nothing the last time it was made
+     */
+    private boolean isEmptySearch(URL url) {
+        return readNotFound(url.toString());
+    }
+
+    /**
+     * Add the search to the not found cache if there are no results
+     *
+     * @param url
+     * @param results
+     */
+    private void writeEmptySearch(URL url, TmdbResultsList<?> results) {
+        if (results.getResults().isEmpty()) {
+            writeNotFound(url.toString());
+        }
+    }
+
+    /**
+     * Read an item from a replica, any error is logged and treated as the item not being there
+     *
+     * @param <T>
+     * @param replica
+     * @param id
+     * @param variant
+     * @return
+     */
+    private static <T> T readReplica(ReplicaStore<T> replica, int id, String variant) {
+        try {
+            return replica.get(id, variant);
+        } catch (IOException ex) {
+            LOG.warn("Failed to read ID '{}' from the replica: {}", id, ex.getMessage());
+            return null;
+        } catch (RuntimeException ex) {
+            // A damaged record can fail to decode in unexpected ways, the item is requested instead
+            LOG.warn("Failed to decode ID '{}' from the replica: {}", id, ex.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Write an item to a replica, any error is logged as the item has still been read
+     *
+     * @param <T>
+     * @param replica
+     * @param id
+     * @param variant
+     * @param item
+     */
+    private static <T> void writeReplica(ReplicaStore<T> replica, int id, String variant, T item) {
+        try {
+            replica.put(id, variant, item);
+        } catch (IOException ex) {
+            LOG.warn("Failed to write ID '{}' to the replica: {}", id, ex.getMessage());
+        }
+    }
+
+    /**
+     * Remove an item from a replica
+     *
+     * @param <T>
+     * @param replica
+     * @param id
+     */
+    private static <T> void removeReplica(ReplicaStore<T> replica, int id) {
+        try {
+            replica.remove(id);
+        } catch (IOException ex) {
+            LOG.warn("Failed to remove ID '{}' from the replica: {}", id, ex.getMessage());
+        }
+    }
+
+    /**
+     * Wait until the request can be made within the rate limit
+     *
+     * @throws MovieDbException
+     */
+    private void waitForRateLimit() throws MovieDbException {
+        RateLimiter limiter = rateLimiter;
+        if (limiter == null) {
+            return;
+        }
+
+        try {
+            limiter.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MovieDbException(MovieDbExceptionType.CONNECTION_ERROR, "Interrupted waiting for the rate limit", ex);
+        }
+    }
+
+    private ResponseBuffer requestWebPage(URL url) throws MovieDbException {
         return requestWebPage(url, null, Boolean.FALSE);
     }
 
-    private String requestWebPage(URL url, String jsonBody) throws MovieDbException {
+    private ResponseBuffer requestWebPage(URL url, String jsonBody) throws MovieDbException {
         return requestWebPage(url, jsonBody, Boolean.FALSE);
     }
 
-    private String requestWebPage(URL url, String jsonBody, boolean isDeleteRequest) throws MovieDbException {
-        String webpage;
+    /**
+     * Request the URL and return the response in the buffer for the current thread.
+     *
+     * The buffer is reused by the next request on the same thread, so it should be mapped before making another request.
+     *
+     * @param url
+     * @param jsonBody
+     * @param isDeleteRequest
+     * @return
+     * @throws MovieDbException
+     */
+    private ResponseBuffer requestWebPage(URL url, String jsonBody, boolean isDeleteRequest) throws MovieDbException {
+        waitForRateLimit();
+
         // use HTTP client implementation
         if (httpClient == null) {
             // use web browser
-            webpage = WebBrowser.request(url, jsonBody, isDeleteRequest);
-        } else {
-            try {
-                HttpGet httpGet = new HttpGet(url.toURI());
-                httpGet.addHeader("accept", "application/json");
+            return WebBrowser.requestBuffer(url, jsonBody, isDeleteRequest);
+        }
 
-                if (StringUtils.isNotBlank(jsonBody)) {
-                    // TODO: Add the json body to the request
-                    throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Unable to proces JSON request");
-                }
+        try {
+            HttpGet httpGet = new HttpGet(url.toURI());
+            httpGet.addHeader("accept", "application/json");
 
-                if (isDeleteRequest) {
-                    //TODO: Handle delete request
-                    throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Unable to proces delete request");
-                }
+            if (StringUtils.isNotBlank(jsonBody)) {
+                // TODO: Add the json body to the request
+                throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Unable to proces JSON request");
+            }
+
+            if (isDeleteRequest) {
+                //TODO: Handle delete request
+                throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Unable to proces delete request");
+            }
+
+            return readResponse(httpClient.execute(httpGet));
+        } catch (URISyntaxException ex) {
+            throw new MovieDbException(MovieDbException.MovieDbExceptionType.CONNECTION_ERROR, null, ex);
+        } catch (IOException ex) {
+            throw new MovieDbException(MovieDbException.MovieDbExceptionType.CONNECTION_ERROR, null, ex);
+        } catch (RuntimeException ex) {
+            throw new MovieDbException(MovieDbException.MovieDbExceptionType.HTTP_503_ERROR, "Service Unavailable", ex);
+        }
+    }
+
+    /**
+     * Map the UTF-8 bytes of the response directly to the required class
+     *
+     * @param <T>
+     * @param webpage
+     * @param valueType
+     * @return
+     * @throws IOException
+     */
+    private static <T> T readValue(ResponseBuffer webpage, Class<T> valueType) throws IOException {
+        return mapper.readValue(webpage.getBuffer(), 0, webpage.getLength(), valueType);
+    }
+
+    /**
+     * Open the URL and return the response as a stream.
+     *
+     * The caller is responsible for closing the stream. An error response is not streamed, the error from TheMovieDb is thrown
+     * instead.
+     *
+     * @param url
+     * @return
+     * @throws MovieDbException
+     */
+    private InputStream requestWebStream(URL url) throws MovieDbException {
+        waitForRateLimit();
 
-                webpage = httpClient.requestContent(httpGet);
-            } catch (URISyntaxException ex) {
-                throw new MovieDbException(MovieDbException.MovieDbExceptionType.CONNECTION_ERROR, null, ex);
-            } catch (IOException ex) {
-                throw new MovieDbException(MovieDbException.MovieDbExceptionType.CONNECTION_ERROR, null, ex);
-            } catch (RuntimeException ex) {
-                throw new MovieDbException(MovieDbException.MovieDbExceptionType.HTTP_503_ERROR, "Service Unavailable", ex);
+        if (httpClient == null) {
+            return WebBrowser.requestStream(url);
+        }
+
+        try {
+            HttpGet httpGet = new HttpGet(url.toURI());
+            httpGet.addHeader("accept", "application/json");
+            HttpResponse response = httpClient.execute(httpGet);
+            if (response.getStatusLine().getStatusCode() >= HttpStatus.SC_BAD_REQUEST) {
+                WebBrowser.checkStatus(readResponse(response), MovieDbExceptionType.HTTP_404_ERROR);
+            }
+
+            HttpEntity entity = response.getEntity();
+            if (entity == null) {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+            return entity.getContent();
+        } catch (URISyntaxException ex) {
+            throw new MovieDbException(MovieDbException.MovieDbExceptionType.CONNECTION_ERROR, null, ex);
+        } catch (IOException ex) {
+            throw new MovieDbException(MovieDbException.MovieDbExceptionType.CONNECTION_ERROR, null, ex);
+        } catch (RuntimeException ex) {
+            throw new MovieDbException(MovieDbException.MovieDbExceptionType.HTTP_503_ERROR, "Service Unavailable", ex);
+        }
+    }
+
+    /**
+     * Read the status and body of the HTTP client response into the response buffer for the current thread
+     *
+     * @param response
+     * @return
+     * @throws IOException
+     */
+    private static ResponseBuffer readResponse(HttpResponse response) throws IOException {
+        ResponseBuffer webpage = ResponseBuffer.acquire();
+        webpage.setStatusCode(response.getStatusLine().getStatusCode());
+
+        HttpEntity entity = response.getEntity();
+        if (entity != null) {
+            InputStream in = entity.getContent();
+            try {
+                webpage.readFrom(in);
+            } finally {
+                in.close();
             }
+            // The buffer is always UTF-8, which is also the default for JSON
+            webpage.transcode(ContentType.getOrDefault(entity).getCharset());
         }
         return webpage;
     }
 
+    /**
+     * Request the URL and iterate over the elements of the named array in the response.
+     *
+     * @param <T>
+     * @param url
+     * @param arrayName
+     * @param resultClass
+     * @return
+     * @throws MovieDbException
+     */
+    private <T> TmdbResultsIterator<T> requestResultsIterator(URL url, String arrayName, Class<T> resultClass) throws MovieDbException {
+        InputStream stream = requestWebStream(url);
+
+        try {
+            return new TmdbResultsIterator<T>(mapper.getFactory().createParser(stream), arrayName, resultClass);
+        } catch (IOException ex) {
+            try {
+                stream.close();
+            } catch (IOException ioe) {
+                LOG.debug("Failed to close stream: {}", ioe.getMessage());
+            }
+            LOG.warn("Failed to read {}: {}", arrayName, ex.getMessage(), ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, "Failed to read " + arrayName, ex);
+        }
+    }
+
     /**
      * Set the proxy information
      *
@@ -288,30 +874,46 @@ public class TheMovieDbApi {
             cmpOriginalTitle = moviedb.getTitle();
         } else {
             cmpTitle = title.toLowerCase();
-            cmpOtherTitle = moviedb.getTitle().toLowerCase();
-            cmpOriginalTitle = moviedb.getOriginalTitle().toLowerCase();
+            cmpOtherTitle = moviedb.getLowerCaseTitle();
+            cmpOriginalTitle = moviedb.getLowerCaseOriginalTitle();
         }
 
-        if (isValidYear(year) && isValidYear(moviedb.getReleaseDate())) {
-            // Compare with year
-            String movieYear = moviedb.getReleaseDate().substring(0, 4);
-            if (movieYear.equals(year)) {
-                if (compareDistance(cmpOriginalTitle, cmpTitle, maxDistance)) {
-                    return Boolean.TRUE;
-                }
+        // A matching year does not change the result, as the titles are also compared without the year, so each title is
+        // only compared once
+        if (compareDistance(cmpOriginalTitle, cmpTitle, maxDistance)) {
+            return Boolean.TRUE;
+        }
 
-                if (compareDistance(cmpOtherTitle, cmpTitle, maxDistance)) {
-                    return Boolean.TRUE;
-                }
-            }
+        if (compareDistance(cmpOtherTitle, cmpTitle, maxDistance)) {
+            return Boolean.TRUE;
         }
 
-        // Compare without year
-        if (compareDistance(cmpOriginalTitle, cmpTitle, maxDistance)) {
+        return Boolean.FALSE;
+    }
+
+    /**
+     * Compare the MovieDB object with a title & year, after normalising the titles.
+     *
+     * The normalised titles of the movie are kept, so comparing the same movie again only normalises the title to compare.
+     *
+     * @param moviedb The moviedb object to compare too
+     * @param title The title of the movie to compare
+     * @param year The year of the movie to compare
+     * @param maxDistance The Levenshtein Distance between the two normalised titles. 0 = exact match
+     * @param normaliser The normalisation to apply to the titles, e.g. TitleNormaliser.DEFAULT
+     * @return True if there is a match, False otherwise.
+     */
+    public static boolean compareMovies(MovieDb moviedb, String title, String year, int maxDistance, TitleNormaliser normaliser) {
+        if ((moviedb == null) || (StringUtils.isBlank(title))) {
+            return Boolean.FALSE;
+        }
+
+        String cmpTitle = normaliser.normalise(title);
+        if (compareDistance(moviedb.getOriginalTitleKey(normaliser), cmpTitle, maxDistance)) {
             return Boolean.TRUE;
         }
 
-        if (compareDistance(cmpOtherTitle, cmpTitle, maxDistance)) {
+        if (compareDistance(moviedb.getTitleKey(normaliser), cmpTitle, maxDistance)) {
             return Boolean.TRUE;
         }
 
@@ -331,6 +933,23 @@ public class TheMovieDbApi {
         return compareMovies(moviedb, title, year, maxDistance, true);
     }
 
+    /**
+     * Rank the movies by how well they match the title and year, such as the results of searchMovie.
+     *
+     * The score combines the closest of the title and original title, normalised with TitleNormaliser.DEFAULT, the closeness
+     * of the release year and the popularity. See MovieRanker for the weights. Large sets of movies are scored on the API
+     * executor.
+     *
+     * @param movies The movies to rank
+     * @param title The title of the movie to match
+     * @param year The year of the movie to match, optional
+     * @param limit The number of results to return
+     * @return The best matches with their scores, best first
+     */
+    public List<TmdbRankedResult<MovieDb>> rankMovies(TmdbResultsList<MovieDb> movies, String title, String year, int limit) {
+        return MovieRanker.rank(movies.getResults(), title, year, limit, getExecutor(), DEFAULT_REQUEST_THREADS);
+    }
+
     /**
      * Compare the Levenshtein Distance between the two strings
      *
@@ -339,16 +958,14 @@ public class TheMovieDbApi {
      * @param distance
      */
     private static boolean compareDistance(String title1, String title2, int distance) {
-        return (StringUtils.getLevenshteinDistance(title1, title2) <= distance);
-    }
+        if (title1 == null) {
+            return Boolean.FALSE;
+        }
 
-    /**
-     * Check the year is not blank or UNKNOWN
-     *
-     * @param year
-     */
-    private static boolean isValidYear(String year) {
-        return (StringUtils.isNotBlank(year) && !year.equals("UNKNOWN"));
+        if (distance == 0) {
+            return title1.equals(title2);
+        }
+        return Levenshtein.isWithin(title1, title2, distance);
     }
 
     //<editor-fold defaultstate="collapsed" desc="Configuration Functions">
@@ -403,13 +1020,13 @@ public class TheMovieDbApi {
         ApiUrl apiUrl = new ApiUrl(apiKey, BASE_AUTH, "token/new");
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            return mapper.readValue(webpage, TokenAuthorisation.class);
+            return readValue(webpage, TokenAuthorisation.class);
         } catch (IOException ex) {
             LOG.warn("Failed to get Authorisation Token: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.AUTHORISATION_FAILURE, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.AUTHORISATION_FAILURE, webpage.toString(), ex);
         }
     }
 
@@ -432,13 +1049,13 @@ public class TheMovieDbApi {
 
         apiUrl.addArgument(PARAM_TOKEN, token.getRequestToken());
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            return mapper.readValue(webpage, TokenSession.class);
+            return readValue(webpage, TokenSession.class);
         } catch (IOException ex) {
             LOG.warn("Failed to get Session Token: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -461,13 +1078,13 @@ public class TheMovieDbApi {
         ApiUrl apiUrl = new ApiUrl(apiKey, BASE_AUTH, "guest_session/new");
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            return mapper.readValue(webpage, TokenSession.class);
+            return readValue(webpage, TokenSession.class);
         } catch (IOException ex) {
             LOG.warn("Failed to get Guest Session Token: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -484,13 +1101,13 @@ public class TheMovieDbApi {
         apiUrl.addArgument(PARAM_SESSION, sessionId);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            return mapper.readValue(webpage, Account.class);
+            return readValue(webpage, Account.class);
         } catch (IOException ex) {
             LOG.warn("Failed to get Account: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -499,13 +1116,13 @@ public class TheMovieDbApi {
         apiUrl.addArgument(PARAM_SESSION, sessionId);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            return mapper.readValue(webpage, WrapperMovie.class).getMovies();
+            return readValue(webpage, WrapperMovie.class).getMovies();
         } catch (IOException ex) {
             LOG.warn("Failed to get favorite movies: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -520,13 +1137,13 @@ public class TheMovieDbApi {
         String jsonBody = convertToJson(body);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url, jsonBody);
+        ResponseBuffer webpage = requestWebPage(url, jsonBody);
 
         try {
-            return mapper.readValue(webpage, StatusCode.class);
+            return readValue(webpage, StatusCode.class);
         } catch (IOException ex) {
             LOG.warn("Failed to get favorite status: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -567,13 +1184,13 @@ public class TheMovieDbApi {
         String jsonBody = convertToJson(body);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url, jsonBody);
+        ResponseBuffer webpage = requestWebPage(url, jsonBody);
 
         try {
-            return mapper.readValue(webpage, StatusCode.class);
+            return readValue(webpage, StatusCode.class);
         } catch (IOException ex) {
             LOG.warn("Failed to modify watch list: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
     //</editor-fold>
@@ -593,6 +1210,34 @@ public class TheMovieDbApi {
      * @throws MovieDbException
      */
     public MovieDb getMovieInfo(int movieId, String language, String... appendToResponse) throws MovieDbException {
+        TmdbCache<String, MovieDb> cache = movieCache;
+        String cacheKey = null;
+        if (cache != null) {
+            cacheKey = movieCacheKey(movieId, language, appendToResponse);
+            MovieDb cached = cache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        ReplicaStore<MovieDb> replica = movieReplica;
+        String variant = movieVariant(language, appendToResponse);
+        if (replica != null) {
+            MovieDb stored = readReplica(replica, movieId, variant);
+            if (stored != null) {
+                if (cache != null) {
+                    cache.put(cacheKey, stored);
+                }
+                indexImdbId(stored);
+                return stored;
+            }
+        }
+
+        String notFoundKey = BASE_MOVIE + movieId;
+        if (readNotFound(notFoundKey)) {
+            throw new MovieDbException(MovieDbExceptionType.MOVIE_ID_NOT_FOUND, "No movie found for ID: " + movieId);
+        }
+
         ApiUrl apiUrl = new ApiUrl(apiKey, BASE_MOVIE);
 
         apiUrl.addArgument(PARAM_ID, movieId);
@@ -604,18 +1249,134 @@ public class TheMovieDbApi {
         apiUrl.appendToResponse(appendToResponse);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestItemPage(url, notFoundKey);
         try {
-            MovieDb movie = mapper.readValue(webpage, MovieDb.class);
+            MovieDb movie = readValue(webpage, MovieDb.class);
             if (movie == null || movie.getId() == 0) {
                 LOG.warn("No movie found for ID '{}'", movieId);
                 throw new MovieDbException(MovieDbExceptionType.MOVIE_ID_NOT_FOUND, "No movie found for ID: " + movieId);
             }
+
+            if (cache != null) {
+                cache.put(cacheKey, movie);
+            }
+            if (replica != null) {
+                writeReplica(replica, movieId, variant, movie);
+            }
+
+            TitleIndex index = titleIndex;
+            if (index != null) {
+                index.add(movie);
+            }
+            indexImdbId(movie);
             return movie;
         } catch (IOException ex) {
             LOG.warn("Failed to get movie info: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
+        }
+    }
+
+    /**
+     * Create the key for the movie cache, the language and appended responses are included as they change the movie returned
+     *
+     * @param movieId
+     * @param language
+     * @param appendToResponse
+     * @return
+     */
+    private static String movieCacheKey(int movieId, String language, String... appendToResponse) {
+        return movieId + "|" + movieVariant(language, appendToResponse);
+    }
+
+    /**
+     * Create the variant of the movie for the replica from the language and appended responses
+     *
+     * @param language
+     * @param appendToResponse
+     * @return
+     */
+    private static String movieVariant(String language, String... appendToResponse) {
+        StringBuilder variant = new StringBuilder();
+        variant.append(StringUtils.trimToEmpty(language)).append('|');
+        if (appendToResponse != null) {
+            variant.append(StringUtils.join(appendToResponse, ','));
+        }
+        return variant.toString();
+    }
+
+    /**
+     * Remove the movie from the movie cache, so that the next request for it is read from TheMovieDb.
+     *
+     * Only the cache entry for the language and appended responses given is removed, the movie is removed from the replica and
+     * the not found cache.
+     *
+     * @param movieId
+     * @param language
+     * @param appendToResponse
+     */
+    public void invalidateMovieInfo(int movieId, String language, String... appendToResponse) {
+        TmdbCache<String, MovieDb> cache = movieCache;
+        if (cache != null) {
+            cache.remove(movieCacheKey(movieId, language, appendToResponse));
+        }
+
+        ReplicaStore<MovieDb> replica = movieReplica;
+        if (replica != null) {
+            removeReplica(replica, movieId);
         }
+        removeNotFound(BASE_MOVIE + movieId);
+    }
+
+    /**
+     * Get the movie information along with the chosen sections in a single request.
+     *
+     * This replaces separate calls to getMovieCasts, getMovieImages, getMovieKeywords, etc. for the same movie, the sections are
+     * available from the MovieDb getters.
+     *
+     * @param movieId
+     * @param language
+     * @param sections
+     * @return
+     * @throws MovieDbException
+     */
+    public MovieDb getMovieBundle(int movieId, String language, MovieSection... sections) throws MovieDbException {
+        return getMovieInfo(movieId, language, MovieSection.toAppendToResponse(sections));
+    }
+
+    /**
+     * Create a batcher that merges the requests for sections of the same movie made within the window into one request.
+     *
+     * The batcher should be closed when it is no longer needed.
+     *
+     * @param window
+     * @param unit
+     * @return
+     */
+    public MovieBatcher createMovieBatcher(long window, TimeUnit unit) {
+        return new MovieBatcher(this, window, unit);
+    }
+
+    /**
+     * Get the basic movie information for a set of movies at the same time.
+     *
+     * Duplicate ids are only requested once and cached movies are returned without a request. The results are returned as
+     * they complete, with an error for each movie that could not be read, such as MovieDbExceptionType.MOVIE_ID_NOT_FOUND.
+     *
+     * Requests are made on the API executor and within any rate limit that has been set. The iterator should be closed if it
+     * is not read to the end.
+     *
+     * @param movieIds
+     * @param language
+     * @param appendToResponse
+     * @return
+     */
+    public TmdbBulkIterator<MovieDb> getMovieInfo(int[] movieIds, final String language, final String... appendToResponse) {
+        return new TmdbBulkIterator<MovieDb>(new TmdbItemFetcher<MovieDb>() {
+            @Override
+            public MovieDb fetchItem(int movieId) throws MovieDbException {
+                return getMovieInfo(movieId, language, appendToResponse);
+            }
+        }, movieIds, getExecutor(), BULK_REQUESTS_IN_FLIGHT);
     }
 
     /**
@@ -625,6 +1386,9 @@ public class TheMovieDbApi {
      *
      * MovieDbExceptionType.MOVIE_ID_NOT_FOUND will be thrown if there are no movies found.
      *
+     * If an IMDb index has been set and holds the IMDb id, the movie is read with getMovieInfo using TheMovieDb id instead. If
+     * that movie is not found, e.g. it has been deleted or merged, the IMDb id is removed from the index and requested.
+     *
      * @param imdbId
      * @param language
      * @param appendToResponse
@@ -632,6 +1396,25 @@ public class TheMovieDbApi {
      * @throws MovieDbException
      */
     public MovieDb getMovieInfoImdb(String imdbId, String language, String... appendToResponse) throws MovieDbException {
+        int movieId = readImdbIndex(imdbId);
+        if (movieId > 0) {
+            try {
+                return getMovieInfo(movieId, language, appendToResponse);
+            } catch (MovieDbException ex) {
+                if (ex.getExceptionType() != MovieDbExceptionType.MOVIE_ID_NOT_FOUND
+                        && ex.getExceptionType() != MovieDbExceptionType.HTTP_404_ERROR) {
+                    throw ex;
+                }
+                LOG.debug("Movie ID {} for IMDB ID '{}' was not found, removing it from the index", movieId, imdbId);
+                removeImdbIndex(imdbId);
+            }
+        }
+
+        String notFoundKey = BASE_MOVIE + imdbId;
+        if (readNotFound(notFoundKey)) {
+            throw new MovieDbException(MovieDbExceptionType.MOVIE_ID_NOT_FOUND, "No movie found for IMDB ID: " + imdbId);
+        }
+
         ApiUrl apiUrl = new ApiUrl(apiKey, BASE_MOVIE);
 
         apiUrl.addArgument(PARAM_ID, imdbId);
@@ -643,13 +1426,14 @@ public class TheMovieDbApi {
         apiUrl.appendToResponse(appendToResponse);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestItemPage(url, notFoundKey);
         try {
-            MovieDb movie = mapper.readValue(webpage, MovieDb.class);
+            MovieDb movie = readValue(webpage, MovieDb.class);
             if (movie == null || movie.getId() == 0) {
                 LOG.warn("No movie found for IMDB ID: '{}'", imdbId);
                 throw new MovieDbException(MovieDbExceptionType.MOVIE_ID_NOT_FOUND, "No movie found for IMDB ID: " + imdbId);
             }
+            indexImdbId(movie);
             return movie;
         } catch (IOException ex) {
             LOG.warn("Failed to get movie info: {}", ex.getMessage(), ex);
@@ -677,22 +1461,22 @@ public class TheMovieDbApi {
         apiUrl.appendToResponse(appendToResponse);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
         try {
-            WrapperAlternativeTitles wrapper = mapper.readValue(webpage, WrapperAlternativeTitles.class);
+            WrapperAlternativeTitles wrapper = readValue(webpage, WrapperAlternativeTitles.class);
             TmdbResultsList<AlternativeTitle> results = new TmdbResultsList<AlternativeTitle>(wrapper.getTitles());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get movie alternative titles: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
     /**
      * Get the cast information for a specific movie id.
      *
-     * TODO: Add a function to enrich the data with the people methods
+     * Use enrichPeople to add the full person information to the cast and crew.
      *
      * @param movieId
      * @param appendToResponse
@@ -706,16 +1490,16 @@ public class TheMovieDbApi {
         apiUrl.appendToResponse(appendToResponse);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperMovieCasts wrapper = mapper.readValue(webpage, WrapperMovieCasts.class);
+            WrapperMovieCasts wrapper = readValue(webpage, WrapperMovieCasts.class);
             TmdbResultsList<Person> results = new TmdbResultsList<Person>(wrapper.getAll());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get movie casts: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -739,16 +1523,16 @@ public class TheMovieDbApi {
         apiUrl.appendToResponse(appendToResponse);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperImages wrapper = mapper.readValue(webpage, WrapperImages.class);
+            WrapperImages wrapper = readValue(webpage, WrapperImages.class);
             TmdbResultsList<Artwork> results = new TmdbResultsList<Artwork>(wrapper.getAll());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get movie images: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -769,16 +1553,16 @@ public class TheMovieDbApi {
         apiUrl.appendToResponse(appendToResponse);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperMovieKeywords wrapper = mapper.readValue(webpage, WrapperMovieKeywords.class);
+            WrapperMovieKeywords wrapper = readValue(webpage, WrapperMovieKeywords.class);
             TmdbResultsList<Keyword> results = new TmdbResultsList<Keyword>(wrapper.getKeywords());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get movie keywords: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -799,16 +1583,16 @@ public class TheMovieDbApi {
         apiUrl.appendToResponse(appendToResponse);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperReleaseInfo wrapper = mapper.readValue(webpage, WrapperReleaseInfo.class);
+            WrapperReleaseInfo wrapper = readValue(webpage, WrapperReleaseInfo.class);
             TmdbResultsList<ReleaseInfo> results = new TmdbResultsList<ReleaseInfo>(wrapper.getCountries());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get movie release information: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -834,16 +1618,16 @@ public class TheMovieDbApi {
         apiUrl.appendToResponse(appendToResponse);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperTrailers wrapper = mapper.readValue(webpage, WrapperTrailers.class);
+            WrapperTrailers wrapper = readValue(webpage, WrapperTrailers.class);
             TmdbResultsList<Trailer> results = new TmdbResultsList<Trailer>(wrapper.getAll());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get movie trailers: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -862,19 +1646,39 @@ public class TheMovieDbApi {
         apiUrl.appendToResponse(appendToResponse);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperTranslations wrapper = mapper.readValue(webpage, WrapperTranslations.class);
+            WrapperTranslations wrapper = readValue(webpage, WrapperTranslations.class);
             TmdbResultsList<Translation> results = new TmdbResultsList<Translation>(wrapper.getTranslations());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get movie tranlations: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
+    /**
+     * This method is used to iterate over the available translations for a specific movie.
+     *
+     * The translations are read from the response one at a time, the iterator should be closed if it is not read to the end.
+     *
+     * @param movieId
+     * @param appendToResponse
+     * @return
+     * @throws MovieDbException
+     */
+    public TmdbResultsIterator<Translation> iterateMovieTranslations(int movieId, String... appendToResponse) throws MovieDbException {
+        ApiUrl apiUrl = new ApiUrl(apiKey, BASE_MOVIE, "/translations");
+        apiUrl.addArgument(PARAM_ID, movieId);
+
+        apiUrl.appendToResponse(appendToResponse);
+
+        URL url = apiUrl.buildUrl();
+        return requestResultsIterator(url, "translations", Translation.class);
+    }
+
     /**
      * The similar movies method will let you retrieve the similar movies for a particular movie.
      *
@@ -904,16 +1708,16 @@ public class TheMovieDbApi {
         apiUrl.appendToResponse(appendToResponse);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperMovie wrapper = mapper.readValue(webpage, WrapperMovie.class);
+            WrapperMovie wrapper = readValue(webpage, WrapperMovie.class);
             TmdbResultsList<MovieDb> results = new TmdbResultsList<MovieDb>(wrapper.getMovies());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get similar movies: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -932,16 +1736,16 @@ public class TheMovieDbApi {
         apiUrl.appendToResponse(appendToResponse);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperReviews wrapper = mapper.readValue(webpage, WrapperReviews.class);
+            WrapperReviews wrapper = readValue(webpage, WrapperReviews.class);
             TmdbResultsList<Reviews> results = new TmdbResultsList<Reviews>(wrapper.getReviews());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get reviews: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -970,16 +1774,16 @@ public class TheMovieDbApi {
         apiUrl.appendToResponse(appendToResponse);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperMovieList wrapper = mapper.readValue(webpage, WrapperMovieList.class);
+            WrapperMovieList wrapper = readValue(webpage, WrapperMovieList.class);
             TmdbResultsList<MovieList> results = new TmdbResultsList<MovieList>(wrapper.getMovieList());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get movie lists: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -994,15 +1798,18 @@ public class TheMovieDbApi {
      *
      * The language is present on fields that are translatable.
      *
-     * TODO: DOES NOT WORK AT THE MOMENT. This is due to the "value" item changing type in the ChangeItem
+     * Only the changes for the keys asked for are returned, e.g. "title" or "images", the others are dropped once the response has been
+     * read. Each value is kept as its raw JSON and is only decoded into its type when it is read from the ChangedItem. See
+     * ChangeKey for the known keys.
      *
      * @param movieId
      * @param startDate the start date of the changes, optional
      * @param endDate the end date of the changes, optional
+     * @param keys the keys of the changes to return, optional, all changes are returned if there are none
      * @return
      * @throws MovieDbException
      */
-    public TmdbResultsMap<String, List<ChangedItem>> getMovieChanges(int movieId, String startDate, String endDate) throws MovieDbException {
+    public TmdbResultsMap<String, List<ChangedItem>> getMovieChanges(int movieId, String startDate, String endDate, String... keys) throws MovieDbException {
         ApiUrl apiUrl = new ApiUrl(apiKey, BASE_MOVIE, "/changes");
         apiUrl.addArgument(PARAM_ID, movieId);
 
@@ -1015,21 +1822,41 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
         try {
-            WrapperChanges wrapper = mapper.readValue(webpage, WrapperChanges.class);
-
-            Map<String, List<ChangedItem>> results = new HashMap<String, List<ChangedItem>>();
-            for (ChangeKeyItem changeItem : wrapper.getChangedItems()) {
-                results.put(changeItem.getKey(), changeItem.getChangedItems());
-            }
-
-            return new TmdbResultsMap<String, List<ChangedItem>>(results);
+            WrapperChanges wrapper = readValue(webpage, WrapperChanges.class);
+            return new TmdbResultsMap<String, List<ChangedItem>>(groupChanges(wrapper, keys));
         } catch (IOException ex) {
             LOG.warn("Failed to get movie changes: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
+        }
+    }
+
+    /**
+     * Group the changes by key, keeping only the keys asked for
+     *
+     * @param wrapper
+     * @param keys The keys to keep, or none to keep them all
+     * @return
+     */
+    private static Map<String, List<ChangedItem>> groupChanges(WrapperChanges wrapper, String... keys) {
+        Set<String> wanted = null;
+        if (keys != null && keys.length > 0) {
+            wanted = new HashSet<String>(Arrays.asList(keys));
         }
 
+        Map<String, List<ChangedItem>> results = new HashMap<String, List<ChangedItem>>();
+        for (ChangeKeyItem changeItem : wrapper.getChangedItems()) {
+            if (wanted != null && !wanted.contains(changeItem.getKey())) {
+                continue;
+            }
+
+            for (ChangedItem item : changeItem.getChangedItems()) {
+                item.setKey(changeItem.getKey());
+            }
+            results.put(changeItem.getKey(), changeItem.getChangedItems());
+        }
+        return results;
     }
 
     /**
@@ -1041,13 +1868,13 @@ public class TheMovieDbApi {
     public MovieDb getLatestMovie() throws MovieDbException {
         ApiUrl apiUrl = new ApiUrl(apiKey, BASE_MOVIE, "/latest");
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            return mapper.readValue(webpage, MovieDb.class);
+            return readValue(webpage, MovieDb.class);
         } catch (IOException ex) {
             LOG.warn("Failed to get latest movie: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1075,16 +1902,16 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperMovie wrapper = mapper.readValue(webpage, WrapperMovie.class);
+            WrapperMovie wrapper = readValue(webpage, WrapperMovie.class);
             TmdbResultsList<MovieDb> results = new TmdbResultsList<MovieDb>(wrapper.getMovies());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get upcoming movies: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
 
     }
@@ -1113,16 +1940,16 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperMovie wrapper = mapper.readValue(webpage, WrapperMovie.class);
+            WrapperMovie wrapper = readValue(webpage, WrapperMovie.class);
             TmdbResultsList<MovieDb> results = new TmdbResultsList<MovieDb>(wrapper.getMovies());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get now playing movies: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1150,16 +1977,16 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperMovie wrapper = mapper.readValue(webpage, WrapperMovie.class);
+            WrapperMovie wrapper = readValue(webpage, WrapperMovie.class);
             TmdbResultsList<MovieDb> results = new TmdbResultsList<MovieDb>(wrapper.getMovies());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get popular movie list: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1187,16 +2014,16 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperMovie wrapper = mapper.readValue(webpage, WrapperMovie.class);
+            WrapperMovie wrapper = readValue(webpage, WrapperMovie.class);
             TmdbResultsList<MovieDb> results = new TmdbResultsList<MovieDb>(wrapper.getMovies());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get top rated movies: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1213,13 +2040,13 @@ public class TheMovieDbApi {
         apiUrl.addArgument(PARAM_SESSION, sessionId);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            return mapper.readValue(webpage, WrapperMovie.class).getMovies();
+            return readValue(webpage, WrapperMovie.class).getMovies();
         } catch (IOException ex) {
             LOG.warn("Failed to get rated movies: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1246,16 +2073,16 @@ public class TheMovieDbApi {
         String jsonBody = convertToJson(Collections.singletonMap("value", rating));
         LOG.info("Body: {}", jsonBody);
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url, jsonBody);
+        ResponseBuffer webpage = requestWebPage(url, jsonBody);
 
         try {
-            StatusCode status = mapper.readValue(webpage, StatusCode.class);
+            StatusCode status = readValue(webpage, StatusCode.class);
             LOG.info("Status: {}", status);
             int code = status.getStatusCode();
             return code == 12;
         } catch (IOException ex) {
             LOG.warn("Failed to post movie rating: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
     //</editor-fold>
@@ -1280,16 +2107,61 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            return mapper.readValue(webpage, CollectionInfo.class);
+            return readValue(webpage, CollectionInfo.class);
         } catch (IOException ex) {
             LOG.warn("Failed to get collection information: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
+    /**
+     * Get the full movie information for every part of a collection.
+     *
+     * The movies are requested at the same time, using any movie cache that has been set. They are returned in release date
+     * order, with the movies that have no release date last. Parts that are no longer on TheMovieDb are left out.
+     *
+     * @param collectionId
+     * @param language
+     * @param includeImages Add the images for each movie
+     * @return
+     * @throws MovieDbException If the collection or any of the movies can not be read
+     */
+    public TmdbResultsList<MovieDb> getCollectionMovies(int collectionId, String language, boolean includeImages) throws MovieDbException {
+        CollectionInfo collection = getCollectionInfo(collectionId, language);
+
+        List<Collection> parts = collection.getParts();
+        int[] movieIds = new int[parts == null ? 0 : parts.size()];
+        for (int i = 0; i < movieIds.length; i++) {
+            movieIds[i] = parts.get(i).getId();
+        }
+
+        String[] appendToResponse = includeImages ? MovieSection.toAppendToResponse(MovieSection.IMAGES) : new String[0];
+        List<MovieDb> movies = new ArrayList<MovieDb>(movieIds.length);
+        TmdbBulkIterator<MovieDb> bulkResults = getMovieInfo(movieIds, language, appendToResponse);
+        try {
+            while (bulkResults.hasNext()) {
+                TmdbBulkResult<MovieDb> result = bulkResults.next();
+                if (result.isSuccess()) {
+                    movies.add(result.getResult());
+                } else if (result.getError().getExceptionType() == MovieDbExceptionType.MOVIE_ID_NOT_FOUND) {
+                    LOG.debug("Collection {} part {} not found", collectionId, result.getId());
+                } else {
+                    throw result.getError();
+                }
+            }
+        } finally {
+            bulkResults.close();
+        }
+
+        Collections.sort(movies, new MovieDbDateComparator());
+        TmdbResultsList<MovieDb> results = new TmdbResultsList<MovieDb>(movies);
+        results.setId(collectionId);
+        return results;
+    }
+
     /**
      * Get all of the images for a particular collection by collection id.
      *
@@ -1307,16 +2179,16 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperImages wrapper = mapper.readValue(webpage, WrapperImages.class);
+            WrapperImages wrapper = readValue(webpage, WrapperImages.class);
             TmdbResultsList<Artwork> results = new TmdbResultsList<Artwork>(wrapper.getAll(ArtworkType.POSTER, ArtworkType.BACKDROP));
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get collection images: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
     //</editor-fold>
@@ -1327,26 +2199,161 @@ public class TheMovieDbApi {
      *
      * It will return the single highest rated profile image.
      *
+     * MovieDbExceptionType.MOVIE_ID_NOT_FOUND will be thrown if the person is not found.
+     *
      * @param personId
      * @param appendToResponse
      * @return
      * @throws MovieDbException
      */
     public Person getPersonInfo(int personId, String... appendToResponse) throws MovieDbException {
+        TmdbCache<String, Person> cache = personCache;
+        String cacheKey = null;
+        if (cache != null) {
+            cacheKey = personCacheKey(personId, appendToResponse);
+            Person cached = cache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        ReplicaStore<Person> replica = personReplica;
+        String variant = personVariant(appendToResponse);
+        if (replica != null) {
+            Person stored = readReplica(replica, personId, variant);
+            if (stored != null) {
+                if (cache != null) {
+                    cache.put(cacheKey, stored);
+                }
+                return stored;
+            }
+        }
+
+        String notFoundKey = BASE_PERSON + personId;
+        if (readNotFound(notFoundKey)) {
+            throw new MovieDbException(MovieDbExceptionType.MOVIE_ID_NOT_FOUND, "No person found for ID: " + personId);
+        }
+
         ApiUrl apiUrl = new ApiUrl(apiKey, BASE_PERSON);
 
         apiUrl.addArgument(PARAM_ID, personId);
         apiUrl.appendToResponse(appendToResponse);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestItemPage(url, notFoundKey);
 
         try {
-            return mapper.readValue(webpage, Person.class);
+            Person person = readValue(webpage, Person.class);
+            if (person == null || person.getId() <= 0) {
+                LOG.warn("No person found for ID '{}'", personId);
+                throw new MovieDbException(MovieDbExceptionType.MOVIE_ID_NOT_FOUND, "No person found for ID: " + personId);
+            }
+
+            if (cache != null) {
+                cache.put(cacheKey, person);
+            }
+            if (replica != null) {
+                writeReplica(replica, personId, variant, person);
+            }
+            return person;
         } catch (IOException ex) {
             LOG.warn("Failed to get person info: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
+        }
+    }
+
+    /**
+     * Create the key for the person cache, the appended responses are included as they change the person returned
+     *
+     * @param personId
+     * @param appendToResponse
+     * @return
+     */
+    private static String personCacheKey(int personId, String... appendToResponse) {
+        return personId + "|" + personVariant(appendToResponse);
+    }
+
+    /**
+     * Create the variant of the person for the replica from the appended responses
+     *
+     * @param appendToResponse
+     * @return
+     */
+    private static String personVariant(String... appendToResponse) {
+        return StringUtils.trimToEmpty(StringUtils.join(appendToResponse, ','));
+    }
+
+    /**
+     * Remove the person from the person cache, so that the next request for them is read from TheMovieDb.
+     *
+     * Only the cache entry for the appended responses given is removed, the person is removed from the replica and the not
+     * found cache.
+     *
+     * @param personId
+     * @param appendToResponse
+     */
+    public void invalidatePersonInfo(int personId, String... appendToResponse) {
+        TmdbCache<String, Person> cache = personCache;
+        if (cache != null) {
+            cache.remove(personCacheKey(personId, appendToResponse));
         }
+
+        ReplicaStore<Person> replica = personReplica;
+        if (replica != null) {
+            removeReplica(replica, personId);
+        }
+        removeNotFound(BASE_PERSON + personId);
+    }
+
+    /**
+     * Add the full person information to a list of people, such as the cast and crew from getMovieCasts.
+     *
+     * The person information is requested at the same time for each different person, so people that appear more than once,
+     * for example in the casts of several movies, are only requested once. Any person cache that has been set is used.
+     *
+     * @param people The people to add the information to
+     * @return The errors for the people that could not be read, by person id
+     */
+    public Map<Integer, MovieDbException> enrichPeople(List<? extends Person> people) {
+        Map<Integer, List<Person>> peopleById = new LinkedHashMap<Integer, List<Person>>();
+        for (Person person : people) {
+            List<Person> matching = peopleById.get(person.getId());
+            if (matching == null) {
+                matching = new ArrayList<Person>();
+                peopleById.put(person.getId(), matching);
+            }
+            matching.add(person);
+        }
+
+        int[] personIds = new int[peopleById.size()];
+        int index = 0;
+        for (Integer personId : peopleById.keySet()) {
+            personIds[index++] = personId;
+        }
+
+        Map<Integer, MovieDbException> errors = new HashMap<Integer, MovieDbException>();
+        TmdbBulkIterator<Person> results = new TmdbBulkIterator<Person>(new TmdbItemFetcher<Person>() {
+            @Override
+            public Person fetchItem(int personId) throws MovieDbException {
+                return getPersonInfo(personId);
+            }
+        }, personIds, getExecutor(), BULK_REQUESTS_IN_FLIGHT);
+
+        try {
+            while (results.hasNext()) {
+                TmdbBulkResult<Person> result = results.next();
+                if (result.isSuccess()) {
+                    for (Person person : peopleById.get(result.getId())) {
+                        person.addPersonInfo(result.getResult());
+                    }
+                } else {
+                    errors.put(result.getId(), result.getError());
+                }
+            }
+        } finally {
+            results.close();
+        }
+        return errors;
     }
 
     /**
@@ -1366,16 +2373,16 @@ public class TheMovieDbApi {
         apiUrl.appendToResponse(appendToResponse);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperPersonCredits wrapper = mapper.readValue(webpage, WrapperPersonCredits.class);
+            WrapperPersonCredits wrapper = readValue(webpage, WrapperPersonCredits.class);
             TmdbResultsList<PersonCredit> results = new TmdbResultsList<PersonCredit>(wrapper.getAll());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get person credits: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1392,16 +2399,16 @@ public class TheMovieDbApi {
         apiUrl.addArgument(PARAM_ID, personId);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperImages wrapper = mapper.readValue(webpage, WrapperImages.class);
+            WrapperImages wrapper = readValue(webpage, WrapperImages.class);
             TmdbResultsList<Artwork> results = new TmdbResultsList<Artwork>(wrapper.getAll(ArtworkType.PROFILE));
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get person images: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1416,13 +2423,38 @@ public class TheMovieDbApi {
      *
      * The language is present on fields that are translatable.
      *
+     * Only the changes for the keys asked for are returned, e.g. "biography", the others are dropped once the response has been
+     * read. Each value is kept as its raw JSON and is only decoded into its type when it is read from the ChangedItem. See
+     * ChangeKey for the known keys.
+     *
      * @param personId
      * @param startDate
      * @param endDate
+     * @param keys the keys of the changes to return, optional, all changes are returned if there are none
+     * @return
      * @throws MovieDbException
      */
-    public void getPersonChanges(int personId, String startDate, String endDate) throws MovieDbException {
-        throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Not implemented yet");
+    public TmdbResultsMap<String, List<ChangedItem>> getPersonChanges(int personId, String startDate, String endDate, String... keys) throws MovieDbException {
+        ApiUrl apiUrl = new ApiUrl(apiKey, BASE_PERSON, "/changes");
+        apiUrl.addArgument(PARAM_ID, personId);
+
+        if (StringUtils.isNotBlank(startDate)) {
+            apiUrl.addArgument(PARAM_START_DATE, startDate);
+        }
+
+        if (StringUtils.isNotBlank(endDate)) {
+            apiUrl.addArgument(PARAM_END_DATE, endDate);
+        }
+
+        URL url = apiUrl.buildUrl();
+        ResponseBuffer webpage = requestWebPage(url);
+        try {
+            WrapperChanges wrapper = readValue(webpage, WrapperChanges.class);
+            return new TmdbResultsMap<String, List<ChangedItem>>(groupChanges(wrapper, keys));
+        } catch (IOException ex) {
+            LOG.warn("Failed to get person changes: {}", ex.getMessage(), ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
+        }
     }
 
     /**
@@ -1454,16 +2486,16 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperPersonList wrapper = mapper.readValue(webpage, WrapperPersonList.class);
+            WrapperPersonList wrapper = readValue(webpage, WrapperPersonList.class);
             TmdbResultsList<Person> results = new TmdbResultsList<Person>(wrapper.getPersonList());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get popular person: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1476,13 +2508,13 @@ public class TheMovieDbApi {
     public Person getPersonLatest() throws MovieDbException {
         ApiUrl apiUrl = new ApiUrl(apiKey, BASE_PERSON, "/latest");
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            return mapper.readValue(webpage, Person.class);
+            return readValue(webpage, Person.class);
         } catch (IOException ex) {
             LOG.warn("Failed to get latest person: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
     //</editor-fold>
@@ -1501,13 +2533,13 @@ public class TheMovieDbApi {
         apiUrl.addArgument(PARAM_ID, companyId);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            return mapper.readValue(webpage, Company.class);
+            return readValue(webpage, Company.class);
         } catch (IOException ex) {
             LOG.warn("Failed to get company information: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1538,16 +2570,16 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperCompanyMovies wrapper = mapper.readValue(webpage, WrapperCompanyMovies.class);
+            WrapperCompanyMovies wrapper = readValue(webpage, WrapperCompanyMovies.class);
             TmdbResultsList<MovieDb> results = new TmdbResultsList<MovieDb>(wrapper.getResults());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get company movies: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
     //</editor-fold>
@@ -1567,16 +2599,16 @@ public class TheMovieDbApi {
         apiUrl.addArgument(PARAM_LANGUAGE, language);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperGenres wrapper = mapper.readValue(webpage, WrapperGenres.class);
+            WrapperGenres wrapper = readValue(webpage, WrapperGenres.class);
             TmdbResultsList<Genre> results = new TmdbResultsList<Genre>(wrapper.getGenres());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get genre list: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1609,21 +2641,383 @@ public class TheMovieDbApi {
         apiUrl.addArgument(PARAM_INCLUDE_ALL_MOVIES, includeAllMovies);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperMovie wrapper = mapper.readValue(webpage, WrapperMovie.class);
+            WrapperMovie wrapper = readValue(webpage, WrapperMovie.class);
             TmdbResultsList<MovieDb> results = new TmdbResultsList<MovieDb>(wrapper.getMovies());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get genre movie list: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="Search Functions">
+    /**
+     * Find the movies with a title within the distance of the title, in the same way as compareMovies with the titles
+     * normalised by the index normaliser, or TitleNormaliser.DEFAULT if there is no index.
+     *
+     * The title index is searched first, if one has been set. TheMovieDb is only searched if no movies are found, or if a year is
+     * given and none of the movies found were released in it. The movies found by the search that are not already in the index
+     * are added to it.
+     *
+     * @param title
+     * @param year The year of the movie, optional
+     * @param maxDistance The Levenshtein Distance between the two titles. 0 = exact match
+     * @param language The language to search with, optional
+     * @return The movies found, the closest first
+     * @throws MovieDbException
+     */
+    public List<MovieDb> findMovies(String title, String year, int maxDistance, String language) throws MovieDbException {
+        int searchYear = ReleaseDates.parseYear(year);
+        TitleIndex index = titleIndex;
+        if (index != null) {
+            List<MovieDb> found = index.find(title, year, maxDistance);
+            if (!found.isEmpty() && (searchYear <= 0 || isReleasedIn(found, searchYear))) {
+                return found;
+            }
+        }
+
+        TmdbResultsList<MovieDb> results = searchMovie(title, searchYear, language, false, 0);
+        if (index != null) {
+            index.addMissing(results.getResults());
+            return index.find(title, year, maxDistance);
+        }
+
+        List<MovieDb> found = new ArrayList<MovieDb>();
+        for (MovieDb movie : results.getResults()) {
+            if (compareMovies(movie, title, year, maxDistance, TitleNormaliser.DEFAULT)) {
+                found.add(movie);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Check if any of the movies was released in the year
+     *
+     * @param movies
+     * @param year
+     * @return
+     */
+    private static boolean isReleasedIn(List<MovieDb> movies, int year) {
+        for (MovieDb movie : movies) {
+            if (movie.getReleaseYear() == year) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Create a resolver for titles and years, such as those parsed from file names.
+     *
+     * The titles are searched for on the API executor, the results ranked with rankMovies and the best match read with
+     * getMovieInfo. Repeated titles are only resolved once.
+     *
+     * @param language The language to search and read the movies in, optional
+     * @param minScore The lowest score of the best match, from 0 to 1, for the title to be resolved
+     * @param maxRemembered The number of resolved and unresolved titles to remember
+     * @param appendToResponse Appended to the getMovieInfo requests
+     * @return
+     */
+    public MovieResolver createMovieResolver(String language, float minScore, int maxRemembered, String... appendToResponse) {
+        return new MovieResolver(this, language, minScore, BULK_REQUESTS_IN_FLIGHT, maxRemembered, appendToResponse);
+    }
+
+    /**
+     * Search for the movie with the year, the years either side and no year at the same time, and rank the results together.
+     *
+     * This replaces searching with the year, then the years either side and then without the year, one after the other, when
+     * nothing is found. The searches are made on the API executor, or one at a time on the calling thread if it is a request
+     * thread, see TmdbThreadFactory. As each search completes its results are ranked with
+     * rankMovies, and if the best has at least the confident score the other searches are cancelled. Only an exact title in
+     * the same year normally scores above 0.9. Otherwise the results of all of the searches are ranked together.
+     *
+     * Searches that fail are ignored, unless they all fail.
+     *
+     * @param title
+     * @param year The year of the movie, optional. If not given there is a single search
+     * @param language The language to search with, optional
+     * @param includeAdult
+     * @param confidentScore The score, from 0 to 1, of a match that stops the other searches
+     * @param limit The number of results to return
+     * @return The best matches with their scores, best first
+     * @throws MovieDbException If all of the searches failed
+     */
+    public List<TmdbRankedResult<MovieDb>> searchMovieRanked(final String title, String year, final String language,
+            final boolean includeAdult, float confidentScore, int limit) throws MovieDbException {
+        int searchYear = ReleaseDates.parseYear(year);
+        List<Integer> years = new ArrayList<Integer>();
+        if (searchYear > 0) {
+            years.add(searchYear);
+            years.add(searchYear - 1);
+            years.add(searchYear + 1);
+        }
+        years.add(0);
+
+        List<Callable<TmdbResultsList<MovieDb>>> tasks = new ArrayList<Callable<TmdbResultsList<MovieDb>>>(years.size());
+        for (final Integer variantYear : years) {
+            tasks.add(new Callable<TmdbResultsList<MovieDb>>() {
+                @Override
+                public TmdbResultsList<MovieDb> call() throws MovieDbException {
+                    return searchMovie(title, variantYear, language, includeAdult, 0);
+                }
+            });
+        }
+
+        // Waiting on the pool from one of its own threads could deadlock it, so a request thread makes the searches itself,
+        // each one only if the ones before did not find a confident match
+        boolean onCallingThread = TmdbThreadFactory.isRequestThread();
+        CompletionService<TmdbResultsList<MovieDb>> searches = new ExecutorCompletionService<TmdbResultsList<MovieDb>>(
+                onCallingThread ? CALLING_THREAD : getExecutor());
+        List<Future<TmdbResultsList<MovieDb>>> futures = new ArrayList<Future<TmdbResultsList<MovieDb>>>(tasks.size());
+        if (!onCallingThread) {
+            for (Callable<TmdbResultsList<MovieDb>> task : tasks) {
+                futures.add(searches.submit(task));
+            }
+        }
+
+        Map<Integer, MovieDb> found = new LinkedHashMap<Integer, MovieDb>();
+        MovieDbException error = null;
+        try {
+            for (int completed = 0; completed < tasks.size(); completed++) {
+                if (futures.size() == completed) {
+                    futures.add(searches.submit(tasks.get(completed)));
+                }
+
+                TmdbResultsList<MovieDb> results;
+                try {
+                    results = searches.take().get();
+                } catch (ExecutionException ex) {
+                    LOG.debug("Failed to search for '{}': {}", title, ex.getCause().getMessage());
+                    if (error == null) {
+                        error = ex.getCause() instanceof MovieDbException ? (MovieDbException) ex.getCause()
+                                : new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Failed to search for " + title, ex.getCause());
+                    }
+                    continue;
+                }
+
+                // Results found by more than one search are only ranked once
+                for (MovieDb movie : results.getResults()) {
+                    if (!found.containsKey(movie.getId())) {
+                        found.put(movie.getId(), movie);
+                    }
+                }
+
+                List<TmdbRankedResult<MovieDb>> best = MovieRanker.rank(results.getResults(), title, year, 1);
+                if (!best.isEmpty() && best.get(0).getScore() >= confidentScore) {
+                    LOG.trace("Confident match for '{}' after {} searches", title, completed + 1);
+                    break;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Interrupted searching for " + title, ex);
+        } finally {
+            for (Future<TmdbResultsList<MovieDb>> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        if (found.isEmpty() && error != null) {
+            throw error;
+        }
+        return MovieRanker.rank(new ArrayList<MovieDb>(found.values()), title, year, limit);
+    }
+
+    /**
+     * Search for movies, collections, people, companies and keywords at the same time and merge the results.
+     *
+     * The searches are made on the API executor, or one after the other on the calling thread if it is a request thread, see
+     * TmdbThreadFactory. The results of each type are scored by how close their title or name is to
+     * the query, normalised with TitleNormaliser.DEFAULT, and by their position in the results from TheMovieDb. The best of
+     * each type, up to its limit, are merged into a single list, best first.
+     *
+     * Searches that have not completed by the deadline are cancelled and the results that have arrived are returned, the
+     * results list the types that are incomplete and any errors. On the calling thread a search that has started is not
+     * stopped at the deadline, but no more are started.
+     *
+     * @param query
+     * @param language The language to search with, optional
+     * @param includeAdult
+     * @param limits The number of results for each type, types that are not included are not searched for
+     * @param timeout How long to wait for the searches
+     * @param unit
+     * @return
+     * @throws MovieDbException If interrupted while waiting
+     */
+    public TmdbFederatedResults searchAll(String query, String language, boolean includeAdult, Map<SearchType, Integer> limits,
+            long timeout, TimeUnit unit) throws MovieDbException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        List<SearchTask> tasks = new ArrayList<SearchTask>(limits.size());
+        for (Map.Entry<SearchType, Integer> limit : limits.entrySet()) {
+            if (limit.getValue() != null && limit.getValue() > 0) {
+                tasks.add(new SearchTask(limit.getKey(), query, language, includeAdult, limit.getValue()));
+            }
+        }
+
+        // Waiting on the pool from one of its own threads could deadlock it, so a request thread makes the searches itself
+        boolean onCallingThread = TmdbThreadFactory.isRequestThread();
+        CompletionService<List<TmdbSearchResult>> searches = new ExecutorCompletionService<List<TmdbSearchResult>>(
+                onCallingThread ? CALLING_THREAD : getExecutor());
+        Map<Future<List<TmdbSearchResult>>, SearchType> futures = new HashMap<Future<List<TmdbSearchResult>>, SearchType>();
+        if (!onCallingThread) {
+            for (SearchTask task : tasks) {
+                futures.put(searches.submit(task), task.type);
+            }
+        }
+
+        List<TmdbSearchResult> results = new ArrayList<TmdbSearchResult>();
+        Set<SearchType> completed = EnumSet.noneOf(SearchType.class);
+        Map<SearchType, MovieDbException> errors = new EnumMap<SearchType, MovieDbException>(SearchType.class);
+        try {
+            for (int received = 0; received < tasks.size(); received++) {
+                if (futures.size() == received) {
+                    if (System.nanoTime() >= deadline) {
+                        LOG.debug("Search for '{}' timed out", query);
+                        break;
+                    }
+                    SearchTask task = tasks.get(received);
+                    futures.put(searches.submit(task), task.type);
+                }
+
+                Future<List<TmdbSearchResult>> future = searches.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (future == null) {
+                    LOG.debug("Search for '{}' timed out", query);
+                    break;
+                }
+
+                SearchType type = futures.get(future);
+                try {
+                    results.addAll(future.get());
+                    completed.add(type);
+                } catch (ExecutionException ex) {
+                    LOG.debug("Failed to search for {} '{}': {}", type, query, ex.getCause().getMessage());
+                    errors.put(type, ex.getCause() instanceof MovieDbException ? (MovieDbException) ex.getCause()
+                            : new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Failed to search for " + query, ex.getCause()));
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Interrupted searching for " + query, ex);
+        } finally {
+            for (Future<List<TmdbSearchResult>> future : futures.keySet()) {
+                future.cancel(true);
+            }
+        }
+
+        Set<SearchType> incomplete = EnumSet.noneOf(SearchType.class);
+        for (SearchTask task : tasks) {
+            incomplete.add(task.type);
+        }
+        incomplete.removeAll(completed);
+        incomplete.removeAll(errors.keySet());
+
+        Collections.sort(results, SEARCH_RESULT_ORDER);
+        return new TmdbFederatedResults(results, completed, incomplete, errors);
+    }
+
+    /**
+     * Searches for one type of item for searchAll, returning the best results up to the limit
+     */
+    private final class SearchTask implements Callable<List<TmdbSearchResult>> {
+
+        private final SearchType type;
+        private final String query;
+        private final String language;
+        private final boolean includeAdult;
+        private final int limit;
+        private final List<TmdbSearchResult> found = new ArrayList<TmdbSearchResult>();
+        private int count;
+
+        SearchTask(SearchType type, String query, String language, boolean includeAdult, int limit) {
+            this.type = type;
+            this.query = query;
+            this.language = language;
+            this.includeAdult = includeAdult;
+            this.limit = limit;
+        }
+
+        @Override
+        public List<TmdbSearchResult> call() throws MovieDbException {
+            switch (type) {
+                case MOVIE:
+                    List<MovieDb> movies = searchMovie(query, 0, language, includeAdult, 0).getResults();
+                    count = movies.size();
+                    for (MovieDb movie : movies) {
+                        add(movie.getId(), movie.getTitle(), movie, Math.max(MovieRanker.scoreTitle(query, movie.getTitle()),
+                                MovieRanker.scoreTitle(query, movie.getOriginalTitle())));
+                    }
+                    break;
+                case COLLECTION:
+                    List<Collection> collections = searchCollection(query, language, 0).getResults();
+                    count = collections.size();
+                    for (Collection collection : collections) {
+                        add(collection.getId(), collection.getName(), collection, MovieRanker.scoreTitle(query, collection.getName()));
+                    }
+                    break;
+                case PERSON:
+                    List<Person> people = searchPeople(query, includeAdult, 0).getResults();
+                    count = people.size();
+                    for (Person person : people) {
+                        add(person.getId(), person.getName(), person, MovieRanker.scoreTitle(query, person.getName()));
+                    }
+                    break;
+                case COMPANY:
+                    List<Company> companies = searchCompanies(query, 0).getResults();
+                    count = companies.size();
+                    for (Company company : companies) {
+                        add(company.getCompanyId(), company.getName(), company, MovieRanker.scoreTitle(query, company.getName()));
+                    }
+                    break;
+                case KEYWORD:
+                    List<Keyword> keywords = searchKeyword(query, 0).getResults();
+                    count = keywords.size();
+                    for (Keyword keyword : keywords) {
+                        add(keyword.getId(), keyword.getName(), keyword, MovieRanker.scoreTitle(query, keyword.getName()));
+                    }
+                    break;
+                default:
+                    throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Unable to search for " + type);
+            }
+
+            Collections.sort(found, SEARCH_RESULT_ORDER);
+            return found.size() > limit ? new ArrayList<TmdbSearchResult>(found.subList(0, limit)) : found;
+        }
+
+        /**
+         * Score the result by its title and its position in the results
+         */
+        private void add(int id, String name, Object result, float titleScore) {
+            int position = found.size();
+            float positionScore = 1f - (float) position / count;
+            float score = SEARCH_TITLE_WEIGHT * titleScore + (1f - SEARCH_TITLE_WEIGHT) * positionScore;
+            found.add(new TmdbSearchResult(type, id, name, result, score, titleScore, position));
+        }
+    }
+
+    /**
+     * Create a movie search for an autocomplete box, which caches the results of the queries and answers longer queries from
+     * the results of shorter ones where possible.
+     *
+     * The autocomplete should be closed when it is no longer needed.
+     *
+     * @param language The language to search with, optional
+     * @param includeAdult
+     * @param debounce How long to wait for another query before searching
+     * @param unit
+     * @return
+     */
+    public MovieAutocomplete createMovieAutocomplete(String language, boolean includeAdult, long debounce, TimeUnit unit) {
+        return new MovieAutocomplete(this, language, includeAdult, AUTOCOMPLETE_CACHE_SIZE, AUTOCOMPLETE_CACHE_MINUTES,
+                TimeUnit.MINUTES, debounce, unit);
+    }
+
     /**
      * Search Movies This is a good starting point to start finding movies on TMDb.
      *
@@ -1656,16 +3050,20 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
+        if (isEmptySearch(url)) {
+            return new TmdbResultsList<MovieDb>(null);
+        }
 
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestSearchPage(url);
         try {
-            WrapperMovie wrapper = mapper.readValue(webpage, WrapperMovie.class);
+            WrapperMovie wrapper = readValue(webpage, WrapperMovie.class);
             TmdbResultsList<MovieDb> results = new TmdbResultsList<MovieDb>(wrapper.getMovies());
             results.copyWrapper(wrapper);
+            writeEmptySearch(url, results);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to find movie: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
 
     }
@@ -1695,16 +3093,20 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
+        if (isEmptySearch(url)) {
+            return new TmdbResultsList<Collection>(null);
+        }
 
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestSearchPage(url);
         try {
-            WrapperCollection wrapper = mapper.readValue(webpage, WrapperCollection.class);
+            WrapperCollection wrapper = readValue(webpage, WrapperCollection.class);
             TmdbResultsList<Collection> results = new TmdbResultsList<Collection>(wrapper.getResults());
             results.copyWrapper(wrapper);
+            writeEmptySearch(url, results);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to find collection: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1729,16 +3131,20 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        if (isEmptySearch(url)) {
+            return new TmdbResultsList<Person>(null);
+        }
+        ResponseBuffer webpage = requestSearchPage(url);
 
         try {
-            WrapperPerson wrapper = mapper.readValue(webpage, WrapperPerson.class);
+            WrapperPerson wrapper = readValue(webpage, WrapperPerson.class);
             TmdbResultsList<Person> results = new TmdbResultsList<Person>(wrapper.getResults());
             results.copyWrapper(wrapper);
+            writeEmptySearch(url, results);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to find person: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1768,15 +3174,15 @@ public class TheMovieDbApi {
 
         URL url = apiUrl.buildUrl();
 
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
         try {
-            WrapperMovieList wrapper = mapper.readValue(webpage, WrapperMovieList.class);
+            WrapperMovieList wrapper = readValue(webpage, WrapperMovieList.class);
             TmdbResultsList<MovieList> results = new TmdbResultsList<MovieList>(wrapper.getMovieList());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to find list: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1802,15 +3208,19 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        if (isEmptySearch(url)) {
+            return new TmdbResultsList<Company>(null);
+        }
+        ResponseBuffer webpage = requestSearchPage(url);
         try {
-            WrapperCompany wrapper = mapper.readValue(webpage, WrapperCompany.class);
+            WrapperCompany wrapper = readValue(webpage, WrapperCompany.class);
             TmdbResultsList<Company> results = new TmdbResultsList<Company>(wrapper.getResults());
             results.copyWrapper(wrapper);
+            writeEmptySearch(url, results);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to find company: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1834,16 +3244,20 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
+        if (isEmptySearch(url)) {
+            return new TmdbResultsList<Keyword>(null);
+        }
 
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestSearchPage(url);
         try {
-            WrapperKeywords wrapper = mapper.readValue(webpage, WrapperKeywords.class);
+            WrapperKeywords wrapper = readValue(webpage, WrapperKeywords.class);
             TmdbResultsList<Keyword> results = new TmdbResultsList<Keyword>(wrapper.getResults());
             results.copyWrapper(wrapper);
+            writeEmptySearch(url, results);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to find keyword: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
     //</editor-fold>
@@ -1861,13 +3275,13 @@ public class TheMovieDbApi {
         apiUrl.addArgument(PARAM_ID, listId);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            return mapper.readValue(webpage, MovieDbList.class);
+            return readValue(webpage, MovieDbList.class);
         } catch (IOException ex) {
             LOG.warn("Failed to get list: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1884,13 +3298,13 @@ public class TheMovieDbApi {
         apiUrl.addArgument(PARAM_SESSION, sessionId);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            return mapper.readValue(webpage, WrapperMovieDbList.class).getLists();
+            return readValue(webpage, WrapperMovieDbList.class).getLists();
         } catch (IOException ex) {
             LOG.warn("Failed to get user list: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1914,13 +3328,13 @@ public class TheMovieDbApi {
         String jsonBody = convertToJson(body);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url, jsonBody);
+        ResponseBuffer webpage = requestWebPage(url, jsonBody);
 
         try {
-            return mapper.readValue(webpage, MovieDbListStatus.class).getListId();
+            return readValue(webpage, MovieDbListStatus.class).getListId();
         } catch (IOException ex) {
             LOG.warn("Failed to create list: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1937,13 +3351,13 @@ public class TheMovieDbApi {
         apiUrl.addArgument("movie_id", movieId);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            return mapper.readValue(webpage, ListItemStatus.class).isItemPresent();
+            return readValue(webpage, ListItemStatus.class).isItemPresent();
         } catch (IOException ex) {
             LOG.warn("Failed to get item status: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -1981,13 +3395,13 @@ public class TheMovieDbApi {
         String jsonBody = convertToJson(Collections.singletonMap("media_id", movieId + ""));
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url, jsonBody);
+        ResponseBuffer webpage = requestWebPage(url, jsonBody);
 
         try {
-            return mapper.readValue(webpage, StatusCode.class);
+            return readValue(webpage, StatusCode.class);
         } catch (IOException ex) {
             LOG.warn("Failed to remove movie from list: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -2004,13 +3418,13 @@ public class TheMovieDbApi {
         apiUrl.addArgument(PARAM_SESSION, sessionId);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            return mapper.readValue(webpage, WrapperMovie.class).getMovies();
+            return readValue(webpage, WrapperMovie.class).getMovies();
         } catch (IOException ex) {
             LOG.warn("Failed to get watch list: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
@@ -2028,13 +3442,13 @@ public class TheMovieDbApi {
         apiUrl.addArgument(PARAM_SESSION, sessionId);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url, null, true);
+        ResponseBuffer webpage = requestWebPage(url, null, true);
 
         try {
-            return mapper.readValue(webpage, StatusCode.class);
+            return readValue(webpage, StatusCode.class);
         } catch (IOException ex) {
             LOG.warn("Failed to delete movie list: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
     //</editor-fold>
@@ -2052,13 +3466,13 @@ public class TheMovieDbApi {
         apiUrl.addArgument(PARAM_ID, keywordId);
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            return mapper.readValue(webpage, Keyword.class);
+            return readValue(webpage, Keyword.class);
         } catch (IOException ex) {
             LOG.warn("Failed to get keyword: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
 
     }
@@ -2085,18 +3499,45 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperKeywordMovies wrapper = mapper.readValue(webpage, WrapperKeywordMovies.class);
+            WrapperKeywordMovies wrapper = readValue(webpage, WrapperKeywordMovies.class);
             TmdbResultsList<KeywordMovie> results = new TmdbResultsList<KeywordMovie>(wrapper.getResults());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get keyword movies: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
+        }
+
+    }
+
+    /**
+     * Iterate over the movies for a particular keyword by id.
+     *
+     * The movies are read from the response one at a time, the iterator should be closed if it is not read to the end.
+     *
+     * @param keywordId
+     * @param language
+     * @param page
+     * @return Iterator of movies with the keyword
+     * @throws MovieDbException
+     */
+    public TmdbResultsIterator<KeywordMovie> iterateKeywordMovies(String keywordId, String language, int page) throws MovieDbException {
+        ApiUrl apiUrl = new ApiUrl(apiKey, BASE_KEYWORD, "/movies");
+        apiUrl.addArgument(PARAM_ID, keywordId);
+
+        if (StringUtils.isNotBlank(language)) {
+            apiUrl.addArgument(PARAM_LANGUAGE, language);
+        }
+
+        if (page > 0) {
+            apiUrl.addArgument(PARAM_PAGE, page);
         }
 
+        URL url = apiUrl.buildUrl();
+        return requestResultsIterator(url, "results", KeywordMovie.class);
     }
     //</editor-fold>
 
@@ -2129,21 +3570,194 @@ public class TheMovieDbApi {
         }
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
         try {
-            WrapperMovieChanges wrapper = mapper.readValue(webpage, WrapperMovieChanges.class);
+            WrapperMovieChanges wrapper = readValue(webpage, WrapperMovieChanges.class);
 
             TmdbResultsList<ChangedMovie> results = new TmdbResultsList<ChangedMovie>(wrapper.getResults());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get movie changes: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
+        }
+    }
+
+    /**
+     * Iterate over the movie ids that have been edited.
+     *
+     * The changed movies are read from the response one at a time, the iterator should be closed if it is not read to the end.
+     *
+     * @param page
+     * @param startDate the start date of the changes, optional
+     * @param endDate the end date of the changes, optional
+     * @return Iterator of changed movies
+     * @throws MovieDbException
+     */
+    public TmdbResultsIterator<ChangedMovie> iterateMovieChangesList(int page, String startDate, String endDate) throws MovieDbException {
+        ApiUrl apiUrl = new ApiUrl(apiKey, BASE_MOVIE, "/changes");
+
+        if (page > 0) {
+            apiUrl.addArgument(PARAM_PAGE, page);
+        }
+
+        if (StringUtils.isNotBlank(startDate)) {
+            apiUrl.addArgument(PARAM_START_DATE, startDate);
+        }
+
+        if (StringUtils.isNotBlank(endDate)) {
+            apiUrl.addArgument(PARAM_END_DATE, endDate);
+        }
+
+        URL url = apiUrl.buildUrl();
+        return requestResultsIterator(url, "results", ChangedMovie.class);
+    }
+
+    /**
+     * Create a sync that keeps a copy of the movies up to date from the movie changes list.
+     *
+     * Each changed movie is refetched with the language and appended responses given, replacing the cached copy, and passed to
+     * the listener. Removed movies are passed to the listener as failures. The progress is saved to the state store, if there
+     * is one, so that a stopped sync can be resumed.
+     *
+     * @param language
+     * @param stateStore
+     * @param listener
+     * @param appendToResponse
+     * @return
+     */
+    public ChangesSync<MovieDb> createMovieSync(final String language, SyncStateStore stateStore, SyncListener<MovieDb> listener, final String... appendToResponse) {
+        return new ChangesSync<MovieDb>(new ChangeSource<MovieDb>() {
+            @Override
+            public TmdbResultsList<Integer> getChangedIds(int page, String startDate, String endDate) throws MovieDbException {
+                TmdbResultsList<ChangedMovie> changes = getMovieChangesList(page, startDate, endDate);
+
+                List<Integer> ids = new ArrayList<Integer>(changes.getResults().size());
+                for (ChangedMovie changed : changes.getResults()) {
+                    if (NumberUtils.isDigits(changed.getId())) {
+                        ids.add(Integer.valueOf(changed.getId()));
+                    } else {
+                        LOG.warn("Invalid changed movie ID '{}'", changed.getId());
+                    }
+                }
+
+                TmdbResultsList<Integer> results = new TmdbResultsList<Integer>(ids);
+                results.setPage(changes.getPage());
+                results.setTotalPages(changes.getTotalPages());
+                results.setTotalResults(changes.getTotalResults());
+                return results;
+            }
+
+            @Override
+            public MovieDb getItem(int id) throws MovieDbException {
+                return getMovieInfo(id, language, appendToResponse);
+            }
+
+            @Override
+            public void invalidate(int id) {
+                invalidateMovieInfo(id, language, appendToResponse);
+            }
+        }, getExecutor(), BULK_REQUESTS_IN_FLIGHT, stateStore, listener);
+    }
+
+    /**
+     * Get a list of people ids that have been edited. By default we show the last 24 hours and only 100 items per page. The
+     * maximum number of days that can be returned in a single request is 14. You can then use the person changes API to get the
+     * actual data that has been changed.
+     *
+     * @param page
+     * @param startDate the start date of the changes, optional
+     * @param endDate the end date of the changes, optional
+     * @return List of changed people
+     * @throws MovieDbException
+     */
+    public TmdbResultsList<ChangedPerson> getPersonChangesList(int page, String startDate, String endDate) throws MovieDbException {
+        ApiUrl apiUrl = new ApiUrl(apiKey, BASE_PERSON, "/changes");
+
+        if (page > 0) {
+            apiUrl.addArgument(PARAM_PAGE, page);
+        }
+
+        if (StringUtils.isNotBlank(startDate)) {
+            apiUrl.addArgument(PARAM_START_DATE, startDate);
+        }
+
+        if (StringUtils.isNotBlank(endDate)) {
+            apiUrl.addArgument(PARAM_END_DATE, endDate);
+        }
+
+        URL url = apiUrl.buildUrl();
+        ResponseBuffer webpage = requestWebPage(url);
+        try {
+            WrapperPersonChanges wrapper = readValue(webpage, WrapperPersonChanges.class);
+
+            TmdbResultsList<ChangedPerson> results = new TmdbResultsList<ChangedPerson>(wrapper.getResults());
+            results.copyWrapper(wrapper);
+            return results;
+        } catch (IOException ex) {
+            LOG.warn("Failed to get person changes: {}", ex.getMessage(), ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
 
-    public void getPersonChangesList(int page, String startDate, String endDate) throws MovieDbException {
-        throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Not implemented yet");
+    /**
+     * Iterate over the people ids that have been edited, across all the pages of the changes list.
+     *
+     * The pages are requested as they are needed, with the next pages requested in the background. The iterator should be closed
+     * if it is not read to the end.
+     *
+     * @param startDate the start date of the changes, optional
+     * @param endDate the end date of the changes, optional
+     * @return Iterator of changed people
+     */
+    public TmdbPagedIterator<ChangedPerson> iteratePersonChangesList(final String startDate, final String endDate) {
+        return iteratePages(new TmdbPageFetcher<ChangedPerson>() {
+            @Override
+            public TmdbResultsList<ChangedPerson> fetchPage(int page) throws MovieDbException {
+                return getPersonChangesList(page, startDate, endDate);
+            }
+        }, 2);
+    }
+
+    /**
+     * Create a sync that keeps a copy of the people up to date from the person changes list.
+     *
+     * Only the people that have changed are refetched, with the appended responses given, replacing the cached copy, and passed
+     * to the listener. The progress is saved to the state store, if there is one, so that a stopped sync can be resumed.
+     *
+     * @param stateStore
+     * @param listener
+     * @param appendToResponse
+     * @return
+     */
+    public ChangesSync<Person> createPersonSync(SyncStateStore stateStore, SyncListener<Person> listener, final String... appendToResponse) {
+        return new ChangesSync<Person>(new ChangeSource<Person>() {
+            @Override
+            public TmdbResultsList<Integer> getChangedIds(int page, String startDate, String endDate) throws MovieDbException {
+                TmdbResultsList<ChangedPerson> changes = getPersonChangesList(page, startDate, endDate);
+
+                List<Integer> ids = new ArrayList<Integer>(changes.getResults().size());
+                for (ChangedPerson changed : changes.getResults()) {
+                    ids.add(changed.getId());
+                }
+
+                TmdbResultsList<Integer> results = new TmdbResultsList<Integer>(ids);
+                results.setPage(changes.getPage());
+                results.setTotalPages(changes.getTotalPages());
+                results.setTotalResults(changes.getTotalResults());
+                return results;
+            }
+
+            @Override
+            public Person getItem(int id) throws MovieDbException {
+                return getPersonInfo(id, appendToResponse);
+            }
+
+            @Override
+            public void invalidate(int id) {
+                invalidatePersonInfo(id, appendToResponse);
+            }
+        }, getExecutor(), BULK_REQUESTS_IN_FLIGHT, stateStore, listener);
     }
     //</editor-fold>
 
@@ -2152,18 +3766,33 @@ public class TheMovieDbApi {
         ApiUrl apiUrl = new ApiUrl(apiKey, BASE_JOB, "/list");
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperJobList wrapper = mapper.readValue(webpage, WrapperJobList.class);
+            WrapperJobList wrapper = readValue(webpage, WrapperJobList.class);
             TmdbResultsList<JobDepartment> results = new TmdbResultsList<JobDepartment>(wrapper.getJobs());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get job list: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
+
+    /**
+     * Iterate over the jobs and departments.
+     *
+     * The departments are read from the response one at a time, the iterator should be closed if it is not read to the end.
+     *
+     * @return
+     * @throws MovieDbException
+     */
+    public TmdbResultsIterator<JobDepartment> iterateJobs() throws MovieDbException {
+        ApiUrl apiUrl = new ApiUrl(apiKey, BASE_JOB, "/list");
+
+        URL url = apiUrl.buildUrl();
+        return requestResultsIterator(url, "jobs", JobDepartment.class);
+    }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="Discover">
@@ -2231,20 +3860,77 @@ public class TheMovieDbApi {
         apiUrl.setArguments(discover.getParams());
 
         URL url = apiUrl.buildUrl();
-        String webpage = requestWebPage(url);
+        ResponseBuffer webpage = requestWebPage(url);
 
         try {
-            WrapperMovie wrapper = mapper.readValue(webpage, WrapperMovie.class);
+            WrapperMovie wrapper = readValue(webpage, WrapperMovie.class);
             TmdbResultsList<MovieDb> results = new TmdbResultsList<MovieDb>(wrapper.getMovies());
             results.copyWrapper(wrapper);
             return results;
         } catch (IOException ex) {
             LOG.warn("Failed to get discover list: {}", ex.getMessage(), ex);
-            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage, ex);
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, webpage.toString(), ex);
         }
     }
     //</editor-fold>
 
+    //<editor-fold defaultstate="collapsed" desc="Paging">
+    /**
+     * Iterate over the results of all the pages of a paged method.
+     *
+     * The pages after the first are requested in the background, keeping the given number of pages ahead of the one being read.
+     * Errors getting a page are thrown from the iterator as an IllegalStateException with the MovieDbException as the cause.
+     *
+     * The iterator should be closed if it is not read to the end, to cancel the pages that are still being requested.
+     *
+     * @param <T>
+     * @param fetcher Gets a single page from the paged method
+     * @param prefetch The number of pages to request ahead
+     * @return
+     */
+    public <T> TmdbPagedIterator<T> iteratePages(TmdbPageFetcher<T> fetcher, int prefetch) {
+        return new TmdbPagedIterator<T>(fetcher, getExecutor(), prefetch);
+    }
+
+    /**
+     * Read all the pages of a paged method and merge the results.
+     *
+     * The first page is read to find the number of pages, then the rest are requested at the same time. The results are returned
+     * in page order, with any result that is equal to one on an earlier page removed. See
+     * {@link #getAllPages(TmdbPageFetcher, TmdbResultKey, int, int)} to find the duplicates by id instead.
+     *
+     * @param <T>
+     * @param fetcher Gets a single page from the paged method
+     * @param maxPages The most pages to read, 0 for all of them
+     * @param maxConcurrent The most pages to request at the same time
+     * @return
+     * @throws MovieDbException If the first page can not be read
+     */
+    public <T> TmdbPagedResults<T> getAllPages(TmdbPageFetcher<T> fetcher, int maxPages, int maxConcurrent) throws MovieDbException {
+        return getAllPages(fetcher, null, maxPages, maxConcurrent);
+    }
+
+    /**
+     * Read all the pages of a paged method and merge the results.
+     *
+     * The first page is read to find the number of pages, then the rest are requested at the same time. The results are returned
+     * in page order, with any result that has the same key as one on an earlier page removed. If a page after the first fails,
+     * the results from the other pages are returned and the error is available from the page errors. The total pages are those
+     * of the paged method, see getPagesRead for the number of pages that were read.
+     *
+     * @param <T>
+     * @param fetcher Gets a single page from the paged method
+     * @param key Gets the key of a result, e.g. its id, or null to compare the results with equals
+     * @param maxPages The most pages to read, 0 for all of them
+     * @param maxConcurrent The most pages to request at the same time
+     * @return
+     * @throws MovieDbException If the first page can not be read
+     */
+    public <T> TmdbPagedResults<T> getAllPages(TmdbPageFetcher<T> fetcher, TmdbResultKey<T> key, int maxPages, int maxConcurrent) throws MovieDbException {
+        return PageFanOut.fetchAll(fetcher, key, getExecutor(), maxConcurrent, maxPages);
+    }
+    //</editor-fold>
+
     /**
      * Use Jackson to convert Map to JSON string.
      *
@@ -34,7 +34,7 @@ import java.io.Serializable;
  */
 public abstract class AbstractJsonMapping implements Serializable {
 
-    private Logger log = null;
+    private transient Logger log = null;
 
     /**
      * Return the current logger.
@@ -20,6 +20,7 @@
 package com.omertron.themoviedbapi.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.omertron.themoviedbapi.tools.ModelInterner;
 
 /**
  * The artwork type information
@@ -101,7 +102,7 @@ public class Artwork extends AbstractJsonMapping {
     }
 
     public void setLanguage(String language) {
-        this.language = language;
+        this.language = ModelInterner.intern(language);
     }
 
     public void setWidth(int width) {
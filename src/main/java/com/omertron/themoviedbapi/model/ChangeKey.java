@@ -0,0 +1,102 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.model;
+
+/**
+ * The keys of the changes returned by getMovieChanges and getPersonChanges, with the type their values are decoded into.
+ *
+ * Image changes are decoded into an Artwork with the artwork type set, all other values are decoded directly.
+ *
+ * @author Stuart
+ */
+public enum ChangeKey {
+
+    // Movie changes
+    ADULT("adult", Boolean.class),
+    ALTERNATIVE_TITLES("alternative_titles", AlternativeTitle.class),
+    BUDGET("budget", Long.class),
+    CAST("cast", PersonCast.class),
+    CREW("crew", PersonCrew.class),
+    GENRES("genres", Genre.class),
+    HOMEPAGE("homepage", String.class),
+    IMAGES("images", Artwork.class),
+    IMDB_ID("imdb_id", String.class),
+    ORIGINAL_TITLE("original_title", String.class),
+    OVERVIEW("overview", String.class),
+    PLOT_KEYWORDS("plot_keywords", Keyword.class),
+    PRODUCTION_COMPANIES("production_companies", ProductionCompany.class),
+    PRODUCTION_COUNTRIES("production_countries", ProductionCountry.class),
+    RELEASES("releases", ReleaseInfo.class),
+    REVENUE("revenue", Long.class),
+    RUNTIME("runtime", Integer.class),
+    SPOKEN_LANGUAGES("spoken_languages", Language.class),
+    STATUS("status", String.class),
+    TAGLINE("tagline", String.class),
+    TITLE("title", String.class),
+    TRANSLATIONS("translations", Translation.class),
+    // Person changes
+    ALSO_KNOWN_AS("also_known_as", String.class),
+    BIOGRAPHY("biography", String.class),
+    BIRTHDAY("birthday", String.class),
+    DEATHDAY("deathday", String.class),
+    NAME("name", String.class),
+    PLACE_OF_BIRTH("place_of_birth", String.class);
+
+    private final String key;
+    private final Class<?> valueType;
+
+    private ChangeKey(String key, Class<?> valueType) {
+        this.key = key;
+        this.valueType = valueType;
+    }
+
+    /**
+     * The key as used by TheMovieDb
+     *
+     * @return
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * The type the change values are decoded into
+     *
+     * @return
+     */
+    public Class<?> getValueType() {
+        return valueType;
+    }
+
+    /**
+     * Find the change key for a key from TheMovieDb
+     *
+     * @param key
+     * @return The change key, or null if the key is not known
+     */
+    public static ChangeKey fromKey(String key) {
+        for (ChangeKey changeKey : values()) {
+            if (changeKey.key.equals(key)) {
+                return changeKey;
+            }
+        }
+        return null;
+    }
+}
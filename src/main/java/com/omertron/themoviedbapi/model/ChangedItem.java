@@ -1,15 +1,41 @@
 package com.omertron.themoviedbapi.model;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
-import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.MovieDbException.MovieDbExceptionType;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * A single change to a movie or person.
+ *
+ * The type of the value depends on the key of the change, so the value is kept as the raw JSON and only decoded when it is
+ * asked for. The raw JSON is copied from the response as it is read, without building a tree of the value.
+ */
 public class ChangedItem extends AbstractJsonMapping {
 
     private static final long serialVersionUID = 1L;
+    private static final Logger LOG = LoggerFactory.getLogger(ChangedItem.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
     @JsonProperty("id")
     private String id;
     @JsonProperty("action")
@@ -18,8 +44,11 @@ public class ChangedItem extends AbstractJsonMapping {
     private String time;
     @JsonProperty("iso_639_1")
     private String language;
-    @JsonProperty("value")
-    private Object value;
+    private String key;
+    private String rawValue;
+    private String rawOriginalValue;
+    private transient Object typedValue;
+    private transient boolean valueDecoded = false;
     private final Map<String, Object> newItems = new HashMap<String, Object>();
 
     public String getId() {
@@ -54,12 +83,161 @@ public class ChangedItem extends AbstractJsonMapping {
         this.language = language;
     }
 
+    /**
+     * The key of the change, e.g. "title" or "images"
+     *
+     * @return
+     */
+    @JsonIgnore
+    public String getKey() {
+        return key;
+    }
+
+    @JsonIgnore
+    public void setKey(String key) {
+        this.key = key;
+        clearTypedValue();
+    }
+
+    /**
+     * The change key, or null if the key is not known
+     *
+     * @return
+     */
+    @JsonIgnore
+    public ChangeKey getChangeKey() {
+        return ChangeKey.fromKey(key);
+    }
+
+    /**
+     * The raw JSON of the new value, null if there is no new value, e.g. for a deleted item
+     *
+     * @return
+     */
+    @JsonIgnore
+    public String getRawValue() {
+        return rawValue;
+    }
+
+    @JsonIgnore
+    public void setRawValue(String rawValue) {
+        this.rawValue = rawValue;
+        clearTypedValue();
+    }
+
+    /**
+     * The raw JSON of the previous value, only present for some updates
+     *
+     * @return
+     */
+    @JsonIgnore
+    public String getRawOriginalValue() {
+        return rawOriginalValue;
+    }
+
+    @JsonIgnore
+    public void setRawOriginalValue(String rawOriginalValue) {
+        this.rawOriginalValue = rawOriginalValue;
+    }
+
+    @JsonProperty("value")
+    @JsonDeserialize(using = RawJsonDeserializer.class)
+    private void readValue(String json) {
+        setRawValue(json);
+    }
+
+    @JsonProperty("original_value")
+    @JsonDeserialize(using = RawJsonDeserializer.class)
+    private void readOriginalValue(String json) {
+        setRawOriginalValue(json);
+    }
+
+    /**
+     * Get the new value decoded into the type for the key of the change, see getTypedValue.
+     *
+     * If the value cannot be decoded into the type it is decoded into the standard JSON types instead.
+     *
+     * @return The decoded value, or null if there is no value
+     */
+    @JsonIgnore
     public Object getValue() {
-        return value;
+        try {
+            return getTypedValue();
+        } catch (MovieDbException ex) {
+            LOG.debug("Unable to decode the value of '{}': {}", key, ex.getMessage());
+        }
+
+        try {
+            return decode(rawValue, null);
+        } catch (MovieDbException ex) {
+            LOG.debug("Unable to decode the value of '{}': {}", key, ex.getMessage());
+            return null;
+        }
     }
 
+    /**
+     * Set the new value, the raw JSON is written from it
+     *
+     * @param value
+     */
+    @JsonIgnore
     public void setValue(Object value) {
-        this.value = value;
+        try {
+            this.rawValue = value == null ? null : MAPPER.writeValueAsString(value);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Unable to write the value of '" + key + "' as JSON", ex);
+        }
+        this.typedValue = value;
+        this.valueDecoded = true;
+    }
+
+    /**
+     * Get the new value decoded into the type for the key of the change, see ChangeKey.
+     *
+     * Values of unknown keys are decoded into the standard JSON types, maps, lists, strings and numbers. A list of values is
+     * decoded into a list of the type. The value is only decoded once.
+     *
+     * @return The decoded value, or null if there is no value
+     * @throws MovieDbException
+     */
+    @JsonIgnore
+    public Object getTypedValue() throws MovieDbException {
+        if (!valueDecoded) {
+            typedValue = decode(rawValue, getChangeKey());
+            valueDecoded = true;
+        }
+        return typedValue;
+    }
+
+    /**
+     * Get the previous value decoded into the type for the key of the change, see getTypedValue
+     *
+     * @return The decoded value, or null if there is no previous value
+     * @throws MovieDbException
+     */
+    @JsonIgnore
+    public Object getTypedOriginalValue() throws MovieDbException {
+        return decode(rawOriginalValue, getChangeKey());
+    }
+
+    /**
+     * Get the new value decoded into a specific type
+     *
+     * @param <T>
+     * @param valueType
+     * @return The decoded value, or null if there is no value
+     * @throws MovieDbException
+     */
+    public <T> T getValue(Class<T> valueType) throws MovieDbException {
+        if (rawValue == null) {
+            return null;
+        }
+
+        try {
+            return MAPPER.readValue(rawValue, valueType);
+        } catch (IOException ex) {
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, rawValue, ex);
+        }
     }
 
     @JsonAnyGetter
@@ -67,8 +245,108 @@ public class ChangedItem extends AbstractJsonMapping {
         return this.newItems;
     }
 
-    @JsonAnySetter
     public void setNewItems(String name, Object value) {
         this.newItems.put(name, value);
     }
+
+    /**
+     * Keep the unknown properties, rather than just logging them
+     *
+     * @param key
+     * @param value
+     */
+    @Override
+    protected void handleUnknown(String key, Object value) {
+        setNewItems(key, value);
+    }
+
+    private void clearTypedValue() {
+        typedValue = null;
+        valueDecoded = false;
+    }
+
+    /**
+     * Decode the raw JSON into the type for the change key
+     */
+    private static Object decode(String json, ChangeKey changeKey) throws MovieDbException {
+        if (json == null) {
+            return null;
+        }
+
+        try {
+            JsonNode node = MAPPER.readTree(json);
+            if (changeKey == null) {
+                return MAPPER.treeToValue(node, Object.class);
+            }
+
+            if (node.isArray()) {
+                List<Object> values = new ArrayList<Object>(node.size());
+                for (JsonNode element : node) {
+                    values.add(decodeNode(element, changeKey));
+                }
+                return values;
+            }
+            return decodeNode(node, changeKey);
+        } catch (IOException ex) {
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, json, ex);
+        }
+    }
+
+    private static Object decodeNode(JsonNode node, ChangeKey changeKey) throws IOException {
+        if (changeKey == ChangeKey.IMAGES) {
+            return decodeArtwork(node);
+        }
+        return MAPPER.treeToValue(node, changeKey.getValueType());
+    }
+
+    /**
+     * Image changes are wrapped with the type of image, e.g. {"poster":{"file_path":...}}
+     */
+    private static Artwork decodeArtwork(JsonNode node) throws IOException {
+        if (node.isObject() && node.size() == 1) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            Map.Entry<String, JsonNode> field = fields.next();
+            ArtworkType artworkType = toArtworkType(field.getKey());
+            if (artworkType != null && field.getValue().isObject()) {
+                Artwork artwork = MAPPER.treeToValue(field.getValue(), Artwork.class);
+                artwork.setArtworkType(artworkType);
+                return artwork;
+            }
+        }
+        return MAPPER.treeToValue(node, Artwork.class);
+    }
+
+    private static ArtworkType toArtworkType(String name) {
+        String type = name.toUpperCase(Locale.ENGLISH);
+        if (type.endsWith("S")) {
+            type = type.substring(0, type.length() - 1);
+        }
+
+        for (ArtworkType artworkType : ArtworkType.values()) {
+            if (artworkType.name().equals(type)) {
+                return artworkType;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Copies the tokens of a value straight to JSON text. A null value is not passed to the deserializer, so stays null.
+     */
+    private static final class RawJsonDeserializer extends JsonDeserializer<String> {
+
+        private static final JsonFactory FACTORY = new JsonFactory();
+
+        @Override
+        public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            StringWriter writer = new StringWriter();
+            JsonGenerator generator = FACTORY.createGenerator(writer);
+            try {
+                generator.copyCurrentStructure(parser);
+            } finally {
+                generator.close();
+            }
+            return writer.toString();
+        }
+    }
 }
@@ -19,8 +19,10 @@
  */
 package com.omertron.themoviedbapi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
+import com.omertron.themoviedbapi.tools.ReleaseDates;
 import org.apache.commons.lang3.StringUtils;
 
 /**
@@ -46,6 +48,7 @@ public class Collection extends AbstractJsonMapping {
     private String backdropPath;
     @JsonProperty("release_date")
     private String releaseDate;
+    private int releaseDateValue = ReleaseDates.UNKNOWN;
 
     public String getBackdropPath() {
         return backdropPath;
@@ -63,6 +66,26 @@ public class Collection extends AbstractJsonMapping {
         return releaseDate;
     }
 
+    /**
+     * The release date as a number in the form yyyymmdd
+     *
+     * @return The date, or ReleaseDates.UNKNOWN if there is no release date
+     */
+    @JsonIgnore
+    public int getReleaseDateValue() {
+        return releaseDateValue;
+    }
+
+    /**
+     * The year of the release date
+     *
+     * @return The year, or 0 if there is no release date
+     */
+    @JsonIgnore
+    public int getReleaseYear() {
+        return ReleaseDates.getYear(releaseDateValue);
+    }
+
     public String getTitle() {
         if (StringUtils.isBlank(title)) {
             return name;
@@ -91,6 +114,7 @@ public class Collection extends AbstractJsonMapping {
 
     public void setReleaseDate(String releaseDate) {
         this.releaseDate = releaseDate;
+        this.releaseDateValue = ReleaseDates.parse(this.releaseDate);
     }
 
     public void setTitle(String title) {
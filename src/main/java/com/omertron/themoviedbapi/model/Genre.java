@@ -20,6 +20,7 @@
 package com.omertron.themoviedbapi.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.omertron.themoviedbapi.tools.ModelInterner;
 import com.fasterxml.jackson.annotation.JsonRootName;
 
 /**
@@ -50,7 +51,7 @@ public class Genre extends AbstractJsonMapping {
     }
 
     public void setName(String name) {
-        this.name = name;
+        this.name = ModelInterner.intern(name);
     }
 
     @Override
@@ -20,6 +20,7 @@
 package com.omertron.themoviedbapi.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.omertron.themoviedbapi.tools.ModelInterner;
 import com.fasterxml.jackson.annotation.JsonRootName;
 
 /**
@@ -46,11 +47,11 @@ public class Language extends AbstractJsonMapping {
     }
 
     public void setIsoCode(String isoCode) {
-        this.isoCode = isoCode;
+        this.isoCode = ModelInterner.intern(isoCode);
     }
 
     public void setName(String name) {
-        this.name = name;
+        this.name = ModelInterner.intern(name);
     }
 
     @Override
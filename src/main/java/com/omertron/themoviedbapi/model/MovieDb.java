@@ -19,7 +19,10 @@
  */
 package com.omertron.themoviedbapi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.omertron.themoviedbapi.tools.ReleaseDates;
+import com.omertron.themoviedbapi.tools.TitleNormaliser;
 import com.omertron.themoviedbapi.wrapper.*;
 
 import java.util.List;
@@ -44,8 +47,14 @@ public class MovieDb extends AbstractJsonMapping {
     private String posterPath;
     @JsonProperty("release_date")
     private String releaseDate;
+    private int releaseDateValue = ReleaseDates.UNKNOWN;
     @JsonProperty("title")
     private String title;
+    // Lower case titles for comparisons, created when first needed
+    private transient String lowerCaseTitle = null;
+    private transient String lowerCaseOriginalTitle = null;
+    private transient TitleKey titleKey = null;
+    private transient TitleKey originalTitleKey = null;
     @JsonProperty("adult")
     private boolean adult;
     @JsonProperty("belongs_to_collection")
@@ -115,6 +124,35 @@ public class MovieDb extends AbstractJsonMapping {
         return originalTitle;
     }
 
+    /**
+     * The original title in lower case, this is only converted once
+     *
+     * @return
+     */
+    @JsonIgnore
+    public String getLowerCaseOriginalTitle() {
+        if (lowerCaseOriginalTitle == null && originalTitle != null) {
+            lowerCaseOriginalTitle = originalTitle.toLowerCase();
+        }
+        return lowerCaseOriginalTitle;
+    }
+
+    /**
+     * The original title normalised for comparisons, the key is kept until the title changes or a different normaliser is used
+     *
+     * @param normaliser
+     * @return
+     */
+    @JsonIgnore
+    public String getOriginalTitleKey(TitleNormaliser normaliser) {
+        TitleKey key = originalTitleKey;
+        if (key == null || key.normaliser != normaliser) {
+            key = new TitleKey(normaliser, normaliser.normalise(originalTitle));
+            originalTitleKey = key;
+        }
+        return key.key;
+    }
+
     public float getPopularity() {
         return popularity;
     }
@@ -127,10 +165,59 @@ public class MovieDb extends AbstractJsonMapping {
         return releaseDate;
     }
 
+    /**
+     * The release date as a number in the form yyyymmdd
+     *
+     * @return The date, or ReleaseDates.UNKNOWN if there is no release date
+     */
+    @JsonIgnore
+    public int getReleaseDateValue() {
+        return releaseDateValue;
+    }
+
+    /**
+     * The year of the release date
+     *
+     * @return The year, or 0 if there is no release date
+     */
+    @JsonIgnore
+    public int getReleaseYear() {
+        return ReleaseDates.getYear(releaseDateValue);
+    }
+
     public String getTitle() {
         return title;
     }
 
+    /**
+     * The title in lower case, this is only converted once
+     *
+     * @return
+     */
+    @JsonIgnore
+    public String getLowerCaseTitle() {
+        if (lowerCaseTitle == null && title != null) {
+            lowerCaseTitle = title.toLowerCase();
+        }
+        return lowerCaseTitle;
+    }
+
+    /**
+     * The title normalised for comparisons, the key is kept until the title changes or a different normaliser is used
+     *
+     * @param normaliser
+     * @return
+     */
+    @JsonIgnore
+    public String getTitleKey(TitleNormaliser normaliser) {
+        TitleKey key = titleKey;
+        if (key == null || key.normaliser != normaliser) {
+            key = new TitleKey(normaliser, normaliser.normalise(title));
+            titleKey = key;
+        }
+        return key.key;
+    }
+
     public boolean isAdult() {
         return adult;
     }
@@ -211,6 +298,8 @@ public class MovieDb extends AbstractJsonMapping {
 
     public void setOriginalTitle(String originalTitle) {
         this.originalTitle = originalTitle;
+        this.lowerCaseOriginalTitle = null;
+        this.originalTitleKey = null;
     }
 
     public void setPopularity(float popularity) {
@@ -223,10 +312,13 @@ public class MovieDb extends AbstractJsonMapping {
 
     public void setReleaseDate(String releaseDate) {
         this.releaseDate = releaseDate;
+        this.releaseDateValue = ReleaseDates.parse(this.releaseDate);
     }
 
     public void setTitle(String title) {
         this.title = title;
+        this.lowerCaseTitle = null;
+        this.titleKey = null;
     }
 
     public void setAdult(boolean adult) {
@@ -299,8 +391,13 @@ public class MovieDb extends AbstractJsonMapping {
     // </editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="AppendToResponse Getters">
+    /**
+     * The alternative titles, if they were appended to the response
+     *
+     * @return The titles, or null if they were not appended
+     */
     public List<AlternativeTitle> getAlternativeTitles() {
-        return alternativeTitles.getTitles();
+        return alternativeTitles == null ? null : alternativeTitles.getTitles();
     }
 
     public List<PersonCast> getCast() {
@@ -417,4 +514,18 @@ public class MovieDb extends AbstractJsonMapping {
         return hash;
     }
     // </editor-fold>
+
+    /**
+     * A title key with the normaliser that created it, so both are replaced together
+     */
+    private static final class TitleKey {
+
+        private final TitleNormaliser normaliser;
+        private final String key;
+
+        TitleKey(TitleNormaliser normaliser, String key) {
+            this.normaliser = normaliser;
+            this.key = key;
+        }
+    }
 }
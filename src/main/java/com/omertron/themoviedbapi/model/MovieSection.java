@@ -0,0 +1,93 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The sections of the movie information that can be appended to a MovieDb request
+ *
+ * @author Stuart
+ */
+public enum MovieSection {
+
+    ALTERNATIVE_TITLES("alternative_titles"),
+    CASTS("casts"),
+    IMAGES("images"),
+    KEYWORDS("keywords"),
+    RELEASES("releases"),
+    TRAILERS("trailers"),
+    TRANSLATIONS("translations"),
+    SIMILAR_MOVIES("similar_movies"),
+    REVIEWS("reviews"),
+    LISTS("lists");
+    private final String appendName;
+
+    private MovieSection(String appendName) {
+        this.appendName = appendName;
+    }
+
+    /**
+     * The name used in the append_to_response argument
+     *
+     * @return
+     */
+    public String getAppendName() {
+        return appendName;
+    }
+
+    /**
+     * Create the append_to_response values for the sections.
+     *
+     * The values are always in the same order, whatever the order of the sections passed.
+     *
+     * @param sections
+     * @return
+     */
+    public static String[] toAppendToResponse(Collection<MovieSection> sections) {
+        if (sections == null || sections.isEmpty()) {
+            return new String[0];
+        }
+
+        Set<MovieSection> ordered = EnumSet.copyOf(sections);
+        String[] appends = new String[ordered.size()];
+        int index = 0;
+        for (MovieSection section : ordered) {
+            appends[index++] = section.getAppendName();
+        }
+        return appends;
+    }
+
+    /**
+     * Create the append_to_response values for the sections.
+     *
+     * @param sections
+     * @return
+     */
+    public static String[] toAppendToResponse(MovieSection... sections) {
+        if (sections == null) {
+            return new String[0];
+        }
+        return toAppendToResponse(Arrays.asList(sections));
+    }
+}
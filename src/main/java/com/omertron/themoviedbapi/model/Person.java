@@ -116,6 +116,28 @@ public class Person extends AbstractJsonMapping {
         setJob(CAST_JOB);
     }
 
+    /**
+     * Add the person information from the full details of the person.
+     *
+     * The cast and crew information is not changed.
+     *
+     * @param info The person returned from getPersonInfo
+     */
+    public void addPersonInfo(Person info) {
+        setAdult(info.isAdult());
+        if (info.getAka() != null) {
+            // The list is copied as the info can be shared through the person cache
+            setAka(new ArrayList<String>(info.getAka()));
+        }
+        setBiography(info.getBiography());
+        setBirthday(info.getBirthday());
+        setBirthplace(info.getBirthplace());
+        setDeathday(info.getDeathday());
+        setHomepage(info.getHomepage());
+        setImdbId(info.getImdbId());
+        setPopularity(info.getPopularity());
+    }
+
     public String getCharacter() {
         return character;
     }
@@ -19,7 +19,10 @@
  */
 package com.omertron.themoviedbapi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.omertron.themoviedbapi.tools.ModelInterner;
+import com.omertron.themoviedbapi.tools.ReleaseDates;
 import org.apache.commons.lang3.StringUtils;
 
 /**
@@ -42,6 +45,7 @@ public class PersonCredit extends AbstractJsonMapping {
     private String posterPath = DEFAULT_STRING;
     @JsonProperty("release_date")
     private String releaseDate = DEFAULT_STRING;
+    private int releaseDateValue = ReleaseDates.UNKNOWN;
     @JsonProperty("title")
     private String movieTitle = DEFAULT_STRING;
     @JsonProperty("department")
@@ -88,6 +92,26 @@ public class PersonCredit extends AbstractJsonMapping {
         return releaseDate;
     }
 
+    /**
+     * The release date as a number in the form yyyymmdd
+     *
+     * @return The date, or ReleaseDates.UNKNOWN if there is no release date
+     */
+    @JsonIgnore
+    public int getReleaseDateValue() {
+        return releaseDateValue;
+    }
+
+    /**
+     * The year of the release date
+     *
+     * @return The year, or 0 if there is no release date
+     */
+    @JsonIgnore
+    public int getReleaseYear() {
+        return ReleaseDates.getYear(releaseDateValue);
+    }
+
     public String getAdult() {
         return adult;
     }
@@ -97,11 +121,11 @@ public class PersonCredit extends AbstractJsonMapping {
     }
 
     public void setDepartment(String department) {
-        this.department = StringUtils.trimToEmpty(department);
+        this.department = ModelInterner.intern(StringUtils.trimToEmpty(department));
     }
 
     public void setJob(String job) {
-        this.job = StringUtils.trimToEmpty(job);
+        this.job = ModelInterner.intern(StringUtils.trimToEmpty(job));
     }
 
     public void setMovieId(int movieId) {
@@ -126,6 +150,7 @@ public class PersonCredit extends AbstractJsonMapping {
 
     public void setReleaseDate(String releaseDate) {
         this.releaseDate = StringUtils.trimToEmpty(releaseDate);
+        this.releaseDateValue = ReleaseDates.parse(this.releaseDate);
     }
 
     public void setAdult(String adult) {
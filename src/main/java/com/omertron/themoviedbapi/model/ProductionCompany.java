@@ -20,6 +20,7 @@
 package com.omertron.themoviedbapi.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.omertron.themoviedbapi.tools.ModelInterner;
 import com.fasterxml.jackson.annotation.JsonRootName;
 
 /**
@@ -51,7 +52,7 @@ public class ProductionCompany extends AbstractJsonMapping {
     }
 
     public void setName(String name) {
-        this.name = name;
+        this.name = ModelInterner.intern(name);
     }
 
     @Override
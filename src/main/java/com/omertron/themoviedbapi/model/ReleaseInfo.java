@@ -19,7 +19,9 @@
  */
 package com.omertron.themoviedbapi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.omertron.themoviedbapi.tools.ReleaseDates;
 
 /**
  * @author Stuart
@@ -37,6 +39,7 @@ public class ReleaseInfo extends AbstractJsonMapping {
     private String certification;
     @JsonProperty("release_date")
     private String releaseDate;
+    private int releaseDateValue = ReleaseDates.UNKNOWN;
 
     public String getCertification() {
         return certification;
@@ -50,6 +53,26 @@ public class ReleaseInfo extends AbstractJsonMapping {
         return releaseDate;
     }
 
+    /**
+     * The release date as a number in the form yyyymmdd
+     *
+     * @return The date, or ReleaseDates.UNKNOWN if there is no release date
+     */
+    @JsonIgnore
+    public int getReleaseDateValue() {
+        return releaseDateValue;
+    }
+
+    /**
+     * The year of the release date
+     *
+     * @return The year, or 0 if there is no release date
+     */
+    @JsonIgnore
+    public int getReleaseYear() {
+        return ReleaseDates.getYear(releaseDateValue);
+    }
+
     public void setCertification(String certification) {
         this.certification = certification;
     }
@@ -60,6 +83,7 @@ public class ReleaseInfo extends AbstractJsonMapping {
 
     public void setReleaseDate(String releaseDate) {
         this.releaseDate = releaseDate;
+        this.releaseDateValue = ReleaseDates.parse(this.releaseDate);
     }
 
     @Override
@@ -0,0 +1,69 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation;private either version 3 of the License;private or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful;private
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not;private see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.model.comparator;
+
+import com.omertron.themoviedbapi.model.MovieDb;
+import com.omertron.themoviedbapi.tools.ReleaseDates;
+import java.io.Serializable;
+import java.util.Comparator;
+
+/**
+ * Compare two MovieDbs by release date.
+ *
+ * Movies without a release date are always placed last.
+ *
+ * @author Stuart
+ */
+public class MovieDbDateComparator implements Comparator<MovieDb>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private final boolean ascending;
+
+    public MovieDbDateComparator() {
+        this.ascending = Boolean.TRUE;
+    }
+
+    public MovieDbDateComparator(boolean ascending) {
+        this.ascending = ascending;
+    }
+
+    @Override
+    public int compare(MovieDb movie1, MovieDb movie2) {
+        int date1 = movie1.getReleaseDateValue();
+        int date2 = movie2.getReleaseDateValue();
+
+        if (date1 == date2) {
+            return 0;
+        }
+
+        if (date1 == ReleaseDates.UNKNOWN) {
+            return 1;
+        }
+
+        if (date2 == ReleaseDates.UNKNOWN) {
+            return -1;
+        }
+
+        if (ascending) {
+            return date1 < date2 ? -1 : 1;
+        }
+        return date1 < date2 ? 1 : -1;
+    }
+}
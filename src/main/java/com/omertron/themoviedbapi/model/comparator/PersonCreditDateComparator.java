@@ -22,9 +22,6 @@ package com.omertron.themoviedbapi.model.comparator;
 import com.omertron.themoviedbapi.model.PersonCredit;
 import java.io.Serializable;
 import java.util.Comparator;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import org.apache.commons.lang3.StringUtils;
 
 /**
  * Compare two PersonCredits by date
@@ -34,7 +31,6 @@ import org.apache.commons.lang3.StringUtils;
 public class PersonCreditDateComparator implements Comparator<PersonCredit>, Serializable {
 
     private static final long serialVersionUID = 1L;
-    private static final Pattern YEAR_PATTERN = Pattern.compile("(?:.*?)(\\d{4})(?:.*?)");
     private final boolean ascending;
 
     public PersonCreditDateComparator() {
@@ -51,7 +47,7 @@ public class PersonCreditDateComparator implements Comparator<PersonCredit>, Ser
     }
 
     /**
-     * Compare two PersonCredits based on the respective years
+     * Compare two PersonCredits based on the respective release dates
      *
      * @param pc1
      * @param pc2
@@ -59,40 +55,17 @@ public class PersonCreditDateComparator implements Comparator<PersonCredit>, Ser
      * @return
      */
     public int compare(PersonCredit pc1, PersonCredit pc2, boolean ascending) {
-        boolean valid1 = StringUtils.isNotBlank(pc1.getReleaseDate());
-        boolean valid2 = StringUtils.isNotBlank(pc2.getReleaseDate());
+        int date1 = pc1.getReleaseDateValue();
+        int date2 = pc2.getReleaseDateValue();
 
-        if (!valid1 && !valid2) {
+        if (date1 == date2) {
             return 0;
         }
 
-        if (!valid1) {
-            return ascending ? -1 : 1;
+        // Unknown dates are the lowest value, so come first when ascending and last when descending
+        if (ascending) {
+            return date1 < date2 ? -1 : 1;
         }
-
-        if (!valid2) {
-            return ascending ? 1 : -1;
-        }
-
-        int year1 = extractYear(pc1.getReleaseDate());
-        int year2 = extractYear(pc2.getReleaseDate());
-        return ascending ? (year1 - year2) : (year2 - year1);
-    }
-
-    /**
-     * locate a 4 digit year in a date string
-     *
-     * @param date
-     * @return
-     */
-    private static int extractYear(String date) {
-        int year = 0;
-        Matcher m = YEAR_PATTERN.matcher(date);
-        if (m.find()) {
-            year = Integer.valueOf(m.group(1)).intValue();
-        }
-
-        // Give up and return 0
-        return year;
+        return date1 < date2 ? 1 : -1;
     }
 }
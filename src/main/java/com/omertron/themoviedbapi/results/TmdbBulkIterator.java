@@ -0,0 +1,188 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.MovieDbException.MovieDbExceptionType;
+import java.io.Closeable;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Iterator over the results of fetching a set of ids at the same time.
+ *
+ * The results are returned in the order they complete, not the order of the ids. Only a limited number of ids are requested
+ * ahead of the results being read, so large sets of ids do not fill the executor queue. Failures are returned as results with
+ * an error rather than stopping the iteration.
+ *
+ * Call close() when stopping early to cancel the requests that are still in progress.
+ *
+ * @author Stuart
+ * @param <T>
+ */
+public final class TmdbBulkIterator<T> implements Iterator<TmdbBulkResult<T>>, Closeable {
+
+    private final TmdbItemFetcher<T> fetcher;
+    private final int[] ids;
+    private final int maxInFlight;
+    private final CompletionService<TmdbBulkResult<T>> completion;
+    private final Set<Future<TmdbBulkResult<T>>> inFlight = new HashSet<Future<TmdbBulkResult<T>>>();
+    private int nextId = 0;
+    private boolean closed = false;
+
+    /**
+     * Create the iterator, the requests are started when the iterator is first read
+     *
+     * @param fetcher Gets each item
+     * @param ids The ids to get, duplicates are removed
+     * @param executor Used to make the requests
+     * @param maxInFlight The most requests to have in progress at the same time
+     */
+    public TmdbBulkIterator(TmdbItemFetcher<T> fetcher, int[] ids, ExecutorService executor, int maxInFlight) {
+        this.fetcher = fetcher;
+        this.ids = removeDuplicates(ids);
+        this.maxInFlight = Math.max(maxInFlight, 1);
+        this.completion = new ExecutorCompletionService<TmdbBulkResult<T>>(executor);
+    }
+
+    /**
+     * Remove the duplicate ids, keeping the order of the first occurrence
+     *
+     * @param ids
+     * @return
+     */
+    private static int[] removeDuplicates(int[] ids) {
+        if (ids == null) {
+            return new int[0];
+        }
+
+        Set<Integer> seen = new HashSet<Integer>(ids.length * 2);
+        int[] unique = new int[ids.length];
+        int count = 0;
+        for (int id : ids) {
+            if (seen.add(id)) {
+                unique[count++] = id;
+            }
+        }
+
+        int[] result = new int[count];
+        System.arraycopy(unique, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * The number of ids after the duplicates have been removed
+     *
+     * @return
+     */
+    public int getIdCount() {
+        return ids.length;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+
+        submit();
+        if (inFlight.isEmpty()) {
+            close();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public TmdbBulkResult<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        try {
+            Future<TmdbBulkResult<T>> future = completion.take();
+            inFlight.remove(future);
+            submit();
+            return future.get();
+        } catch (InterruptedException ex) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the results", ex);
+        } catch (ExecutionException ex) {
+            // The tasks catch their own errors, so this should not happen
+            close();
+            throw new IllegalStateException("Failed to get the results", ex.getCause());
+        }
+    }
+
+    /**
+     * Start requests for the next ids, up to the limit
+     */
+    private void submit() {
+        while (inFlight.size() < maxInFlight && nextId < ids.length) {
+            inFlight.add(completion.submit(new ItemTask(ids[nextId++])));
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Results can not be removed");
+    }
+
+    /**
+     * Stop the iteration and cancel the requests in progress
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Future<TmdbBulkResult<T>> future : inFlight) {
+            future.cancel(Boolean.TRUE);
+        }
+        inFlight.clear();
+    }
+
+    private final class ItemTask implements Callable<TmdbBulkResult<T>> {
+
+        private final int id;
+
+        ItemTask(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public TmdbBulkResult<T> call() {
+            try {
+                return new TmdbBulkResult<T>(id, fetcher.fetchItem(id), null);
+            } catch (MovieDbException ex) {
+                return new TmdbBulkResult<T>(id, null, ex);
+            } catch (RuntimeException ex) {
+                return new TmdbBulkResult<T>(id, null, new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, ex.getMessage(), ex));
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * The result of fetching one of the ids in a bulk request, either the item or the error
+ *
+ * @author Stuart
+ * @param <T>
+ */
+public final class TmdbBulkResult<T> {
+
+    private final int id;
+    private final T result;
+    private final MovieDbException error;
+
+    /**
+     * Used by the BinaryCodec
+     */
+    private TmdbBulkResult() {
+        this(0, null, null);
+    }
+
+    public TmdbBulkResult(int id, T result, MovieDbException error) {
+        this.id = id;
+        this.result = result;
+        this.error = error;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * The item, null if there was an error
+     *
+     * @return
+     */
+    public T getResult() {
+        return result;
+    }
+
+    /**
+     * The error, null if the item was found
+     *
+     * @return
+     */
+    public MovieDbException getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, ToStringStyle.SHORT_PREFIX_STYLE);
+    }
+}
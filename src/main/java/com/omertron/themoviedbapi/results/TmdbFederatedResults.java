@@ -0,0 +1,128 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.model.SearchType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The merged results of a search across several types of item, best first.
+ *
+ * The searches that did not complete before the deadline are listed as incomplete, the searches that failed have their
+ * error.
+ *
+ * @author Stuart
+ */
+public final class TmdbFederatedResults {
+
+    private final List<TmdbSearchResult> results;
+    private final Set<SearchType> completed;
+    private final Set<SearchType> incomplete;
+    private final Map<SearchType, MovieDbException> errors;
+
+    /**
+     * Used by the BinaryCodec
+     */
+    private TmdbFederatedResults() {
+        this(Collections.<TmdbSearchResult>emptyList(), EnumSet.noneOf(SearchType.class), EnumSet.noneOf(SearchType.class),
+                Collections.<SearchType, MovieDbException>emptyMap());
+    }
+
+    public TmdbFederatedResults(List<TmdbSearchResult> results, Set<SearchType> completed, Set<SearchType> incomplete,
+            Map<SearchType, MovieDbException> errors) {
+        this.results = Collections.unmodifiableList(new ArrayList<TmdbSearchResult>(results));
+        this.completed = Collections.unmodifiableSet(copyOf(completed));
+        this.incomplete = Collections.unmodifiableSet(copyOf(incomplete));
+        this.errors = Collections.unmodifiableMap(errors.isEmpty() ? new EnumMap<SearchType, MovieDbException>(SearchType.class)
+                : new EnumMap<SearchType, MovieDbException>(errors));
+    }
+
+    private static Set<SearchType> copyOf(Set<SearchType> types) {
+        return types.isEmpty() ? EnumSet.noneOf(SearchType.class) : EnumSet.copyOf(types);
+    }
+
+    /**
+     * The results of all of the types, best first
+     *
+     * @return
+     */
+    public List<TmdbSearchResult> getResults() {
+        return results;
+    }
+
+    /**
+     * The results of one type, best first
+     *
+     * @param type
+     * @return
+     */
+    public List<TmdbSearchResult> getResults(SearchType type) {
+        List<TmdbSearchResult> typeResults = new ArrayList<TmdbSearchResult>();
+        for (TmdbSearchResult result : results) {
+            if (result.getType() == type) {
+                typeResults.add(result);
+            }
+        }
+        return typeResults;
+    }
+
+    /**
+     * The types that were searched for successfully
+     *
+     * @return
+     */
+    public Set<SearchType> getCompleted() {
+        return completed;
+    }
+
+    /**
+     * The types that had not been searched for by the deadline
+     *
+     * @return
+     */
+    public Set<SearchType> getIncomplete() {
+        return incomplete;
+    }
+
+    /**
+     * The errors for the types that could not be searched for
+     *
+     * @return
+     */
+    public Map<SearchType, MovieDbException> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Check if all of the types were searched for successfully
+     *
+     * @return
+     */
+    public boolean isComplete() {
+        return incomplete.isEmpty() && errors.isEmpty();
+    }
+}
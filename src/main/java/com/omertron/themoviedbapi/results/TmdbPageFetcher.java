@@ -0,0 +1,47 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+import com.omertron.themoviedbapi.MovieDbException;
+
+/**
+ * Fetches a single page of results from one of the paged methods, e.g.
+ * <pre>
+ * new TmdbPageFetcher&lt;MovieDb&gt;() {
+ *     public TmdbResultsList&lt;MovieDb&gt; fetchPage(int page) throws MovieDbException {
+ *         return api.getTopRatedMovies("en", page);
+ *     }
+ * };
+ * </pre>
+ *
+ * @author Stuart
+ * @param <T>
+ */
+public interface TmdbPageFetcher<T> {
+
+    /**
+     * Get the page of results
+     *
+     * @param page The page number, starting at 1
+     * @return
+     * @throws MovieDbException
+     */
+    TmdbResultsList<T> fetchPage(int page) throws MovieDbException;
+}
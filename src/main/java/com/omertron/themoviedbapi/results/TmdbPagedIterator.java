@@ -0,0 +1,181 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Iterator over all the results of a paged method.
+ *
+ * The first page is fetched when the iterator is first used, the following pages are then requested in the background so that
+ * up to "prefetch" pages are ready or in progress while the current page is read. No more pages are requested than are needed
+ * to stay that far ahead, so stopping early only wastes the prefetched pages. Call close() when stopping early to cancel them.
+ *
+ * @author Stuart
+ * @param <T>
+ */
+public final class TmdbPagedIterator<T> implements Iterator<T>, Closeable {
+
+    private final TmdbPageFetcher<T> fetcher;
+    private final ExecutorService executor;
+    private final int prefetch;
+    private final LinkedList<Future<TmdbResultsList<T>>> pending = new LinkedList<Future<TmdbResultsList<T>>>();
+    private Iterator<T> currentPage = null;
+    private int nextPage = 1;
+    private int lastPage = 1;
+    private boolean finished = false;
+
+    /**
+     * Create the iterator
+     *
+     * @param fetcher Used to get each page
+     * @param executor Used to request the pages in the background
+     * @param prefetch The number of pages to request ahead of the current page. 0 fetches each page when it is needed
+     */
+    public TmdbPagedIterator(TmdbPageFetcher<T> fetcher, ExecutorService executor, int prefetch) {
+        this.fetcher = fetcher;
+        this.executor = executor;
+        this.prefetch = Math.max(prefetch, 0);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!finished) {
+            if (currentPage != null && currentPage.hasNext()) {
+                return true;
+            }
+
+            if (!loadNextPage()) {
+                close();
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentPage.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Results can not be removed");
+    }
+
+    /**
+     * Get the number of the last page, this is only known once the first page has been read
+     *
+     * @return
+     */
+    public int getLastPage() {
+        return lastPage;
+    }
+
+    /**
+     * Move to the next page of results
+     *
+     * @return false if there are no more pages
+     */
+    private boolean loadNextPage() {
+        TmdbResultsList<T> results;
+        if (nextPage == 1) {
+            results = fetch(nextPage++);
+            // Methods that are not paged have no page count
+            lastPage = Math.max(results.getTotalPages(), 1);
+        } else if (!pending.isEmpty()) {
+            Future<TmdbResultsList<T>> future = pending.removeFirst();
+            schedule();
+            results = waitFor(future);
+        } else if (nextPage <= lastPage) {
+            results = fetch(nextPage++);
+        } else {
+            return false;
+        }
+
+        schedule();
+        // The page count can change as the results are read, so an empty page is the end of the results
+        if (results.getResults().isEmpty()) {
+            return false;
+        }
+
+        currentPage = results.getResults().iterator();
+        return true;
+    }
+
+    /**
+     * Request the pages in the background until there are enough in progress
+     */
+    private void schedule() {
+        while (pending.size() < prefetch && nextPage <= lastPage) {
+            final int page = nextPage++;
+            pending.add(executor.submit(new Callable<TmdbResultsList<T>>() {
+                @Override
+                public TmdbResultsList<T> call() throws MovieDbException {
+                    return fetcher.fetchPage(page);
+                }
+            }));
+        }
+    }
+
+    private TmdbResultsList<T> fetch(int page) {
+        try {
+            return fetcher.fetchPage(page);
+        } catch (MovieDbException ex) {
+            close();
+            throw new IllegalStateException("Failed to get page " + page + " of the results", ex);
+        }
+    }
+
+    private TmdbResultsList<T> waitFor(Future<TmdbResultsList<T>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the next page of results", ex);
+        } catch (ExecutionException ex) {
+            close();
+            throw new IllegalStateException("Failed to get the next page of results", ex.getCause());
+        }
+    }
+
+    /**
+     * Stop the iteration and cancel any pages that have been requested in the background
+     */
+    @Override
+    public void close() {
+        finished = true;
+        for (Future<TmdbResultsList<T>> future : pending) {
+            future.cancel(Boolean.TRUE);
+        }
+        pending.clear();
+    }
+}
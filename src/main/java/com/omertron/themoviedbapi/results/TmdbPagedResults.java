@@ -0,0 +1,96 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * The combined results of several pages, along with the errors for any pages that could not be read
+ *
+ * @author Stuart
+ * @param <T>
+ */
+public final class TmdbPagedResults<T> extends AbstractResults {
+
+    private final List<T> results;
+    private final SortedMap<Integer, MovieDbException> pageErrors = new TreeMap<Integer, MovieDbException>();
+    private int pagesRead = 0;
+
+    /**
+     * Used by the BinaryCodec
+     */
+    private TmdbPagedResults() {
+        this(null);
+    }
+
+    public TmdbPagedResults(List<T> resultList) {
+        if (resultList != null) {
+            results = new ArrayList<T>(resultList);
+        } else {
+            results = new ArrayList<T>(0);
+        }
+    }
+
+    public List<T> getResults() {
+        return results;
+    }
+
+    /**
+     * The number of pages the results were read from.
+     *
+     * This is less than the total pages if the pages read were limited or some of them failed.
+     *
+     * @return
+     */
+    public int getPagesRead() {
+        return pagesRead;
+    }
+
+    public void setPagesRead(int pagesRead) {
+        this.pagesRead = pagesRead;
+    }
+
+    /**
+     * The errors for the pages that failed, by page number
+     *
+     * @return
+     */
+    public SortedMap<Integer, MovieDbException> getPageErrors() {
+        return Collections.unmodifiableSortedMap(pageErrors);
+    }
+
+    public void addPageError(int page, MovieDbException error) {
+        pageErrors.put(page, error);
+    }
+
+    /**
+     * Check if all the requested pages were read
+     *
+     * @return
+     */
+    public boolean isComplete() {
+        return pageErrors.isEmpty();
+    }
+}
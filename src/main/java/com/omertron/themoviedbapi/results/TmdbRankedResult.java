@@ -0,0 +1,98 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * A result with the score it was ranked by, the higher the score the better the match
+ *
+ * @author Stuart
+ * @param <T>
+ */
+public final class TmdbRankedResult<T> {
+
+    private final T result;
+    private final float score;
+    private final float titleScore;
+    private final float yearScore;
+    private final float popularityScore;
+
+    /**
+     * Used by the BinaryCodec
+     */
+    private TmdbRankedResult() {
+        this(null, 0f, 0f, 0f, 0f);
+    }
+
+    public TmdbRankedResult(T result, float score, float titleScore, float yearScore, float popularityScore) {
+        this.result = result;
+        this.score = score;
+        this.titleScore = titleScore;
+        this.yearScore = yearScore;
+        this.popularityScore = popularityScore;
+    }
+
+    public T getResult() {
+        return result;
+    }
+
+    /**
+     * The overall score, from 0 to 1
+     *
+     * @return
+     */
+    public float getScore() {
+        return score;
+    }
+
+    /**
+     * How close the title is, from 0 to 1 for an exact match
+     *
+     * @return
+     */
+    public float getTitleScore() {
+        return titleScore;
+    }
+
+    /**
+     * How close the year is, from 0 to 1 for the same year
+     *
+     * @return
+     */
+    public float getYearScore() {
+        return yearScore;
+    }
+
+    /**
+     * The popularity relative to the most popular of the results, from 0 to 1
+     *
+     * @return
+     */
+    public float getPopularityScore() {
+        return popularityScore;
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, ToStringStyle.SHORT_PREFIX_STYLE);
+    }
+}
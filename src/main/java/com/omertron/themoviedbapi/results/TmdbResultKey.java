@@ -0,0 +1,44 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+/**
+ * Gets the key that identifies a result, so that a result that is read more than once can be found, e.g.
+ * <pre>
+ * new TmdbResultKey&lt;MovieDb&gt;() {
+ *     public Object getKey(MovieDb movie) {
+ *         return movie.getId();
+ *     }
+ * };
+ * </pre>
+ *
+ * @author Stuart
+ * @param <T>
+ */
+public interface TmdbResultKey<T> {
+
+    /**
+     * Get the key of the result
+     *
+     * @param result
+     * @return The key, results with equal keys are the same result. Null if the result has no key
+     */
+    Object getKey(T result);
+}
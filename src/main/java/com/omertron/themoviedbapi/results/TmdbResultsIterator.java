@@ -0,0 +1,150 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterator over the elements of a results array from TheMovieDb.
+ *
+ * Elements are read from the parser one at a time, so only the current element is held in memory. The iterator must be closed
+ * if it is not read to the end, otherwise the connection will be left open.
+ *
+ * @author Stuart
+ * @param <T>
+ */
+public final class TmdbResultsIterator<T> implements Iterator<T>, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TmdbResultsIterator.class);
+    private final JsonParser parser;
+    private final Class<T> resultClass;
+    private T nextResult = null;
+    private boolean finished = false;
+
+    /**
+     * Create the iterator and move the parser to the start of the named array.
+     *
+     * The parser must have been created by an ObjectMapper so that the elements can be mapped.
+     *
+     * @param parser
+     * @param arrayName The name of the array field in the root object, e.g. "results"
+     * @param resultClass
+     * @throws IOException
+     */
+    public TmdbResultsIterator(JsonParser parser, String arrayName, Class<T> resultClass) throws IOException {
+        this.parser = parser;
+        this.resultClass = resultClass;
+
+        if (!moveToArray(arrayName)) {
+            LOG.debug("No '{}' array found in the response", arrayName);
+            close();
+        }
+    }
+
+    /**
+     * Skip the fields of the root object until the named array is found
+     *
+     * @param arrayName
+     * @return true if the parser is positioned on the start of the array
+     * @throws IOException
+     */
+    private boolean moveToArray(String arrayName) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (arrayName.equals(fieldName) && token == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextResult != null) {
+            return true;
+        }
+
+        if (finished) {
+            return false;
+        }
+
+        try {
+            JsonToken token = parser.nextToken();
+            if (token != null && token != JsonToken.END_ARRAY) {
+                nextResult = parser.readValueAs(resultClass);
+            } else {
+                close();
+            }
+        } catch (IOException ex) {
+            closeQuietly();
+            throw new IllegalStateException("Failed to read " + resultClass.getSimpleName() + " from the results", ex);
+        }
+
+        return nextResult != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        T result = nextResult;
+        nextResult = null;
+        return result;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Results can not be removed");
+    }
+
+    /**
+     * Close the parser and the underlying connection
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        parser.close();
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException ex) {
+            LOG.debug("Failed to close results: {}", ex.getMessage());
+        }
+    }
+}
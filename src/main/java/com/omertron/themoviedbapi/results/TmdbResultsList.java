@@ -32,6 +32,13 @@ public final class TmdbResultsList<T> extends AbstractResults {
 
     private List<T> results;
 
+    /**
+     * Used by the BinaryCodec
+     */
+    private TmdbResultsList() {
+        this(null);
+    }
+
     public TmdbResultsList(List<T> resultList) {
         if (resultList != null) {
             results = new ArrayList<T>(resultList);
@@ -19,6 +19,7 @@
  */
 package com.omertron.themoviedbapi.results;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -33,6 +34,13 @@ public final class TmdbResultsMap<K, V> extends AbstractResults {
 
     private Map<K, V> results;
 
+    /**
+     * Used by the BinaryCodec
+     */
+    private TmdbResultsMap() {
+        this(Collections.<K, V>emptyMap());
+    }
+
     public TmdbResultsMap(Map<K, V> resultsMap) {
         results = new HashMap<K, V>(resultsMap);
     }
@@ -0,0 +1,126 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.results;
+
+import com.omertron.themoviedbapi.model.SearchType;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * A result of a search across several types of item, with the score it was ranked by
+ *
+ * @author Stuart
+ */
+public final class TmdbSearchResult {
+
+    private final SearchType type;
+    private final int id;
+    private final String name;
+    private final Object result;
+    private final float score;
+    private final float titleScore;
+    private final int position;
+
+    /**
+     * Used by the BinaryCodec
+     */
+    private TmdbSearchResult() {
+        this(null, 0, null, null, 0f, 0f, 0);
+    }
+
+    public TmdbSearchResult(SearchType type, int id, String name, Object result, float score, float titleScore, int position) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.result = result;
+        this.score = score;
+        this.titleScore = titleScore;
+        this.position = position;
+    }
+
+    public SearchType getType() {
+        return type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * The title or name of the result
+     *
+     * @return
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The result, a MovieDb, Collection, Person, Company or Keyword depending on the type
+     *
+     * @return
+     */
+    public Object getResult() {
+        return result;
+    }
+
+    /**
+     * The result as the class for its type
+     *
+     * @param <T>
+     * @param resultClass
+     * @return
+     */
+    public <T> T getResult(Class<T> resultClass) {
+        return resultClass.cast(result);
+    }
+
+    /**
+     * The overall score, from 0 to 1
+     *
+     * @return
+     */
+    public float getScore() {
+        return score;
+    }
+
+    /**
+     * How close the title or name is, from 0 to 1 for an exact match
+     *
+     * @return
+     */
+    public float getTitleScore() {
+        return titleScore;
+    }
+
+    /**
+     * The position of the result in the results of the search for its type, starting at 0
+     *
+     * @return
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, ToStringStyle.SHORT_PREFIX_STYLE);
+    }
+}
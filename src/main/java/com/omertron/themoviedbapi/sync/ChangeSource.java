@@ -0,0 +1,59 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.sync;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.results.TmdbResultsList;
+
+/**
+ * The changes list and item requests used to keep a copy of one type of item up to date
+ *
+ * @author Stuart
+ * @param <T>
+ */
+public interface ChangeSource<T> {
+
+    /**
+     * Get a page of the ids of the items changed between the dates
+     *
+     * @param page
+     * @param startDate yyyy-MM-dd
+     * @param endDate yyyy-MM-dd
+     * @return
+     * @throws MovieDbException
+     */
+    TmdbResultsList<Integer> getChangedIds(int page, String startDate, String endDate) throws MovieDbException;
+
+    /**
+     * Get the current version of the item
+     *
+     * @param id
+     * @return
+     * @throws MovieDbException
+     */
+    T getItem(int id) throws MovieDbException;
+
+    /**
+     * Remove any cached copy of the item, so that getItem fetches the current version
+     *
+     * @param id
+     */
+    void invalidate(int id);
+}
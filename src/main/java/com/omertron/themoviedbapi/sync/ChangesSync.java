@@ -0,0 +1,277 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.sync;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.MovieDbException.MovieDbExceptionType;
+import com.omertron.themoviedbapi.results.TmdbBulkIterator;
+import com.omertron.themoviedbapi.results.TmdbBulkResult;
+import com.omertron.themoviedbapi.results.TmdbItemFetcher;
+import com.omertron.themoviedbapi.results.TmdbResultsList;
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a copy of one type of item up to date from the changes list.
+ *
+ * The dates to sync are read in windows of up to 14 days, the most the changes list will return in one request. Each page of
+ * changed ids is refetched concurrently, with any cached copy removed first, and passed to the listener. The state is saved
+ * after every page, so a sync that is stopped part way through carries on from the last completed page when it is next run.
+ *
+ * Refetching an item is idempotent, so a page that was in progress when the sync stopped is simply read again. Items that
+ * could not be read, other than those that were not found because they have been removed, are kept in the state and are read
+ * again at the start of the next sync.
+ *
+ * @author Stuart
+ * @param <T>
+ */
+public class ChangesSync<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangesSync.class);
+    private static final String DATE_FORMAT = "yyyy-MM-dd";
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    // The maximum number of days that can be returned in a single changes request
+    public static final int MAX_WINDOW_DAYS = 14;
+    private final ChangeSource<T> source;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final SyncStateStore stateStore;
+    private final SyncListener<T> listener;
+
+    /**
+     * Create the sync
+     *
+     * @param source The changes list and item requests
+     * @param executor Executor for the item requests
+     * @param maxInFlight The maximum number of item requests at the same time
+     * @param stateStore Where to save the progress, or null to always sync the whole range
+     * @param listener Receives the changed items
+     */
+    public ChangesSync(ChangeSource<T> source, ExecutorService executor, int maxInFlight, SyncStateStore stateStore, SyncListener<T> listener) {
+        this.source = source;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.stateStore = stateStore;
+        this.listener = listener;
+    }
+
+    /**
+     * Sync the changes between the dates, inclusive.
+     *
+     * If a saved state is on or after the start date the sync carries on from there, so calling this regularly with the same
+     * start date and the current date only reads the new changes. When the end date is today or later the last day is read
+     * again by the next sync, as more changes can be made to it.
+     *
+     * An item that changes in more than one window is only refetched once.
+     *
+     * @param startDate yyyy-MM-dd
+     * @param endDate yyyy-MM-dd
+     * @return The number of changed items that were refetched successfully
+     * @throws MovieDbException
+     */
+    public int sync(String startDate, String endDate) throws MovieDbException {
+        Calendar window = parseDate(startDate);
+        Calendar end = parseDate(endDate);
+        int completedPage = 0;
+        // The items that could not be read, these are kept in the state until they are read
+        Set<Integer> failed = new LinkedHashSet<Integer>();
+
+        SyncState state = loadState();
+        if (state != null) {
+            Calendar saved = parseDate(state.getWindowStart());
+            if (!saved.before(window)) {
+                LOG.debug("Resuming sync from {}", state);
+                window = saved;
+                completedPage = state.getCompletedPage();
+            }
+            failed.addAll(state.getFailedIds());
+        }
+
+        Calendar today = parseDate(formatDate(Calendar.getInstance(UTC)));
+        // The same id can be in more than one window, or on more than one page if it changes while the pages are read
+        Set<Integer> seen = new HashSet<Integer>();
+        int count = 0;
+        if (!failed.isEmpty()) {
+            LOG.debug("Retrying {} failed items", failed.size());
+            seen.addAll(failed);
+            count += refetch(new HashSet<Integer>(failed), failed);
+            saveState(new SyncState(formatDate(window), completedPage, failed));
+        }
+
+        while (!window.after(end)) {
+            Calendar windowEnd = (Calendar) window.clone();
+            windowEnd.add(Calendar.DAY_OF_MONTH, MAX_WINDOW_DAYS - 1);
+            if (windowEnd.after(end)) {
+                windowEnd = end;
+            }
+
+            count += syncWindow(formatDate(window), formatDate(windowEnd), completedPage, seen, failed);
+
+            window = (Calendar) windowEnd.clone();
+            window.add(Calendar.DAY_OF_MONTH, 1);
+            completedPage = 0;
+            if (window.after(end) && !end.before(today)) {
+                // The end date can still change, so start from it again next time
+                saveState(new SyncState(formatDate(end), completedPage, failed));
+            } else {
+                saveState(new SyncState(formatDate(window), completedPage, failed));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sync the pages of one window after the completed page, skipping the ids already seen
+     *
+     * @return The number of items refetched successfully
+     */
+    private int syncWindow(String windowStart, String windowEnd, int completedPage, Set<Integer> seen, Set<Integer> failed) throws MovieDbException {
+        LOG.debug("Syncing changes from {} to {}, after page {}", windowStart, windowEnd, completedPage);
+        int count = 0;
+        int page = completedPage + 1;
+        int totalPages;
+
+        do {
+            TmdbResultsList<Integer> changes = source.getChangedIds(page, windowStart, windowEnd);
+            totalPages = changes.getTotalPages();
+
+            Set<Integer> ids = new HashSet<Integer>();
+            for (Integer id : changes.getResults()) {
+                if (id != null && seen.add(id)) {
+                    ids.add(id);
+                }
+            }
+            count += refetch(ids, failed);
+
+            saveState(new SyncState(windowStart, page, failed));
+            page++;
+        } while (page <= totalPages);
+
+        return count;
+    }
+
+    /**
+     * Fetch the current version of the items and pass them to the listener.
+     *
+     * The items that are read are removed from the failed items, and those that can not be read are added to them, unless they
+     * were not found.
+     *
+     * @return The number of items refetched successfully
+     */
+    private int refetch(Set<Integer> ids, Set<Integer> failed) {
+        int[] idArray = new int[ids.size()];
+        int index = 0;
+        for (Integer id : ids) {
+            idArray[index++] = id;
+        }
+
+        TmdbBulkIterator<T> results = new TmdbBulkIterator<T>(new TmdbItemFetcher<T>() {
+            @Override
+            public T fetchItem(int id) throws MovieDbException {
+                source.invalidate(id);
+                return source.getItem(id);
+            }
+        }, idArray, executor, maxInFlight);
+
+        int count = 0;
+        try {
+            while (results.hasNext()) {
+                TmdbBulkResult<T> result = results.next();
+                if (result.isSuccess()) {
+                    failed.remove(result.getId());
+                    listener.itemChanged(result.getId(), result.getResult());
+                    count++;
+                } else {
+                    if (isNotFound(result.getError())) {
+                        failed.remove(result.getId());
+                    } else {
+                        failed.add(result.getId());
+                    }
+                    listener.itemFailed(result.getId(), result.getError());
+                }
+            }
+        } finally {
+            results.close();
+        }
+        return count;
+    }
+
+    /**
+     * Check if the item was not found, i.e. it has been removed, so there is no point reading it again
+     */
+    private static boolean isNotFound(MovieDbException error) {
+        return error.getExceptionType() == MovieDbExceptionType.MOVIE_ID_NOT_FOUND
+                || error.getExceptionType() == MovieDbExceptionType.HTTP_404_ERROR;
+    }
+
+    private SyncState loadState() throws MovieDbException {
+        if (stateStore == null) {
+            return null;
+        }
+
+        try {
+            return stateStore.load();
+        } catch (IOException ex) {
+            throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Failed to load the sync state", ex);
+        }
+    }
+
+    private void saveState(SyncState state) throws MovieDbException {
+        if (stateStore == null) {
+            return;
+        }
+
+        try {
+            stateStore.save(state);
+        } catch (IOException ex) {
+            throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Failed to save the sync state " + state, ex);
+        }
+    }
+
+    private static Calendar parseDate(String date) throws MovieDbException {
+        try {
+            Calendar calendar = Calendar.getInstance(UTC);
+            calendar.setTime(dateFormat().parse(date));
+            return calendar;
+        } catch (ParseException ex) {
+            throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Invalid date '" + date + "', expected " + DATE_FORMAT, ex);
+        }
+    }
+
+    private static String formatDate(Calendar date) {
+        return dateFormat().format(date.getTime());
+    }
+
+    private static SimpleDateFormat dateFormat() {
+        SimpleDateFormat format = new SimpleDateFormat(DATE_FORMAT);
+        format.setTimeZone(UTC);
+        format.setLenient(false);
+        return format;
+    }
+}
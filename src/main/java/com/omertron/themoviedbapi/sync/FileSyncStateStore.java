@@ -0,0 +1,115 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.sync;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Saves the sync state to a properties file.
+ *
+ * The state is written and flushed to disk in a temporary file which then replaces the previous file, so a crash while saving
+ * leaves either the old or the new state.
+ *
+ * Where a file can not be renamed over an existing one, e.g. on Windows, the previous file is deleted first. A crash between
+ * the delete and the rename leaves only the temporary file, which is then loaded instead.
+ *
+ * @author Stuart
+ */
+public class FileSyncStateStore implements SyncStateStore {
+
+    private static final String KEY_WINDOW_START = "window.start";
+    private static final String KEY_COMPLETED_PAGE = "completed.page";
+    private static final String KEY_FAILED_IDS = "failed.ids";
+    private final File file;
+
+    public FileSyncStateStore(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public SyncState load() throws IOException {
+        File source = file;
+        if (!source.exists()) {
+            // Left by a crash while replacing the file
+            source = getTempFile();
+            if (!source.exists()) {
+                return null;
+            }
+        }
+
+        Properties properties = new Properties();
+        InputStream in = new FileInputStream(source);
+        try {
+            properties.load(in);
+        } finally {
+            in.close();
+        }
+
+        String windowStart = properties.getProperty(KEY_WINDOW_START);
+        if (StringUtils.isBlank(windowStart)) {
+            return null;
+        }
+
+        try {
+            Set<Integer> failedIds = new LinkedHashSet<Integer>();
+            for (String failedId : StringUtils.split(properties.getProperty(KEY_FAILED_IDS, ""), ',')) {
+                failedIds.add(Integer.valueOf(failedId));
+            }
+            return new SyncState(windowStart, Integer.parseInt(properties.getProperty(KEY_COMPLETED_PAGE, "0")), failedIds);
+        } catch (NumberFormatException ex) {
+            throw new IOException("Invalid sync state in " + source, ex);
+        }
+    }
+
+    @Override
+    public void save(SyncState state) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(KEY_WINDOW_START, state.getWindowStart());
+        properties.setProperty(KEY_COMPLETED_PAGE, String.valueOf(state.getCompletedPage()));
+        properties.setProperty(KEY_FAILED_IDS, StringUtils.join(state.getFailedIds(), ','));
+
+        File temp = getTempFile();
+        FileOutputStream out = new FileOutputStream(temp);
+        try {
+            properties.store(out, "TheMovieDb sync state");
+            out.flush();
+            out.getFD().sync();
+        } finally {
+            out.close();
+        }
+
+        // Windows will not rename over an existing file
+        if (!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))) {
+            throw new IOException("Failed to save the sync state to " + file);
+        }
+    }
+
+    private File getTempFile() {
+        return new File(file.getPath() + ".tmp");
+    }
+}
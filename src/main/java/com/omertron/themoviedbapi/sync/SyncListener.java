@@ -0,0 +1,52 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.sync;
+
+import com.omertron.themoviedbapi.MovieDbException;
+
+/**
+ * Receives the items that have changed during a sync.
+ *
+ * The methods are called on the thread running the sync.
+ *
+ * @author Stuart
+ * @param <T>
+ */
+public interface SyncListener<T> {
+
+    /**
+     * The current version of an item that has changed
+     *
+     * @param id
+     * @param item
+     */
+    void itemChanged(int id, T item);
+
+    /**
+     * An item that has changed could not be read.
+     *
+     * Items that have been removed, or are no longer visible, fail with MovieDbExceptionType.MOVIE_ID_NOT_FOUND or
+     * MovieDbExceptionType.HTTP_404_ERROR.
+     *
+     * @param id
+     * @param error
+     */
+    void itemFailed(int id, MovieDbException error);
+}
@@ -0,0 +1,81 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.sync;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * How far a sync has got: the changes window being read, the last page of it that has been completed and the changed items that
+ * could not be read and are to be tried again
+ *
+ * @author Stuart
+ */
+public final class SyncState implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private final String windowStart;
+    private final int completedPage;
+    private final Set<Integer> failedIds;
+
+    /**
+     * Create the state with no failed items
+     *
+     * @param windowStart The first day of the window, yyyy-MM-dd
+     * @param completedPage The last page of the window that has been completed, 0 if none have
+     */
+    public SyncState(String windowStart, int completedPage) {
+        this(windowStart, completedPage, Collections.<Integer>emptySet());
+    }
+
+    /**
+     * Create the state
+     *
+     * @param windowStart The first day of the window, yyyy-MM-dd
+     * @param completedPage The last page of the window that has been completed, 0 if none have
+     * @param failedIds The ids of the changed items on the completed pages that could not be read
+     */
+    public SyncState(String windowStart, int completedPage, Set<Integer> failedIds) {
+        this.windowStart = windowStart;
+        this.completedPage = completedPage;
+        this.failedIds = Collections.unmodifiableSet(new LinkedHashSet<Integer>(failedIds));
+    }
+
+    public String getWindowStart() {
+        return windowStart;
+    }
+
+    public int getCompletedPage() {
+        return completedPage;
+    }
+
+    public Set<Integer> getFailedIds() {
+        return failedIds;
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, ToStringStyle.SHORT_PREFIX_STYLE);
+    }
+}
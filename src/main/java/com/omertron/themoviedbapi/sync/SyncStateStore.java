@@ -0,0 +1,46 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.sync;
+
+import java.io.IOException;
+
+/**
+ * Saves the progress of a sync so that it can be resumed
+ *
+ * @author Stuart
+ */
+public interface SyncStateStore {
+
+    /**
+     * Load the saved state
+     *
+     * @return The state, or null if none has been saved
+     * @throws IOException
+     */
+    SyncState load() throws IOException;
+
+    /**
+     * Save the state, replacing any saved before
+     *
+     * @param state
+     * @throws IOException
+     */
+    void save(SyncState state) throws IOException;
+}
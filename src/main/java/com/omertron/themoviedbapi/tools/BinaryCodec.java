@@ -0,0 +1,921 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.MovieDbException.MovieDbExceptionType;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary encoding of the model, wrapper and results classes.
+ *
+ * The format is much smaller and faster than Java serialisation or JSON:
+ * <ul>
+ * <li>Integers are written as zig-zag variable length integers</li>
+ * <li>Strings are written once and then referred to by their index in a string table, this includes the class names</li>
+ * <li>Each object starts with a bitmap of the fields that differ from the value set by its constructor, only those fields are
+ * written. Primitive boolean fields are held entirely in the bitmap</li>
+ * <li>An object, list, set or map that is referenced more than once is written once, so shared instances stay shared after
+ * decoding</li>
+ * </ul>
+ *
+ * All non-static, non-transient fields are written, so decoding gives an exact copy of the original object. The encoding
+ * depends on the fields of the classes, so data should be discarded when the library version changes. The layoutFingerprint
+ * can be stored with the data to find out if the fields have changed.
+ *
+ * Only classes from this library, lists, sets, maps, strings, boxed primitives and BigInteger/BigDecimal can be encoded. Arrays
+ * and other Java classes are not supported. The classes from this library need a constructor without arguments, which can be
+ * private. Lists are decoded as ArrayList, sets as LinkedHashSet and maps as LinkedHashMap, or TreeSet and TreeMap if they
+ * were sorted in their natural order. A MovieDbException only keeps its type and response, its cause and stack trace are not
+ * written.
+ *
+ * The ModelInterner is not applied when decoding, so equal strings are only shared within the value that was encoded, not
+ * with other decoded values or with models read from TheMovieDb.
+ *
+ * @author Stuart
+ */
+public final class BinaryCodec {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String PACKAGE_PREFIX = "com.omertron.themoviedbapi.";
+    // Strings longer than this are unlikely to be repeated, so are not added to the string table
+    private static final int MAX_TABLE_STRING = 256;
+    // String references
+    private static final int STRING_NULL = 0;
+    private static final int STRING_NEW = 1;
+    private static final int STRING_TABLE_OFFSET = 2;
+    // Value tags
+    private static final int TAG_NULL = 0;
+    private static final int TAG_TRUE = 1;
+    private static final int TAG_FALSE = 2;
+    private static final int TAG_INT = 3;
+    private static final int TAG_LONG = 4;
+    private static final int TAG_FLOAT = 5;
+    private static final int TAG_DOUBLE = 6;
+    private static final int TAG_STRING = 7;
+    private static final int TAG_ENUM = 8;
+    private static final int TAG_LIST = 9;
+    private static final int TAG_MAP = 10;
+    private static final int TAG_OBJECT = 11;
+    private static final int TAG_REF = 12;
+    private static final int TAG_BIG_INTEGER = 13;
+    private static final int TAG_BIG_DECIMAL = 14;
+    private static final int TAG_SET = 15;
+    private static final int TAG_SORTED_SET = 16;
+    private static final int TAG_SORTED_MAP = 17;
+    private static final int TAG_EXCEPTION = 18;
+    private static final ConcurrentMap<Class<?>, ClassLayout> LAYOUTS = new ConcurrentHashMap<Class<?>, ClassLayout>();
+
+    private BinaryCodec() {
+        throw new UnsupportedOperationException("Class can not be instantiated");
+    }
+
+    /**
+     * Encode the value
+     *
+     * @param value
+     * @return
+     * @throws MovieDbException
+     */
+    public static byte[] encode(Object value) throws MovieDbException {
+        Encoder encoder = new Encoder();
+        try {
+            encoder.writeVarInt(FORMAT_VERSION);
+            encoder.writeValue(value);
+        } catch (IOException ex) {
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, "Failed to encode " + getClassName(value), ex);
+        } catch (RuntimeException ex) {
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, "Failed to encode " + getClassName(value), ex);
+        }
+        return encoder.toByteArray();
+    }
+
+    /**
+     * Decode a value created by encode
+     *
+     * @param <T>
+     * @param data
+     * @param valueType
+     * @return
+     * @throws MovieDbException
+     */
+    public static <T> T decode(byte[] data, Class<T> valueType) throws MovieDbException {
+        return decode(data, 0, data.length, valueType);
+    }
+
+    /**
+     * Decode a value created by encode from part of an array
+     *
+     * @param <T>
+     * @param data
+     * @param offset
+     * @param length
+     * @param valueType
+     * @return
+     * @throws MovieDbException
+     */
+    public static <T> T decode(byte[] data, int offset, int length, Class<T> valueType) throws MovieDbException {
+        Decoder decoder = new Decoder(data, offset, length);
+        Object value;
+        try {
+            int version = decoder.readVarInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported format version " + version);
+            }
+            value = decoder.readValue();
+        } catch (IOException ex) {
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, "Failed to decode " + valueType.getSimpleName(), ex);
+        } catch (RuntimeException ex) {
+            // Damaged data can fail in ways the decoder does not check for, such as setting a field of the wrong type
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, "Failed to decode " + valueType.getSimpleName(), ex);
+        }
+
+        if (value != null && !valueType.isInstance(value)) {
+            throw new MovieDbException(MovieDbExceptionType.MAPPING_FAILED, "Expected " + valueType.getSimpleName() + " but found " + getClassName(value));
+        }
+        return valueType.cast(value);
+    }
+
+    /**
+     * Get a checksum of the encoded fields of the class and of the library classes its fields refer to.
+     *
+     * If the fingerprint differs from the one stored with some encoded data, the data may not decode to the same values and
+     * should be discarded. Classes that are only reached through a field of a more general type, e.g. Object, are not
+     * included.
+     *
+     * @param type
+     * @return
+     */
+    public static int layoutFingerprint(Class<?> type) {
+        Map<String, Class<?>> classes = new TreeMap<String, Class<?>>();
+        addLayoutClasses(type, classes);
+
+        CRC32 crc = new CRC32();
+        crc.update(FORMAT_VERSION);
+        for (Class<?> layoutClass : classes.values()) {
+            crc.update(layoutClass.getName().getBytes(ResponseBuffer.UTF8));
+            List<Field> fieldList = new ArrayList<Field>();
+            ClassLayout.addFields(layoutClass, fieldList);
+            for (Field field : fieldList) {
+                crc.update((field.getName() + ' ' + field.getGenericType()).getBytes(ResponseBuffer.UTF8));
+            }
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Add the library classes that a type refers to, along with the types of their fields.
+     *
+     * Type variables are not followed, the classes they stand for are found from the parameterised type of the field.
+     * Exceptions are not followed either, as only their type and response are written.
+     *
+     * @param type
+     * @param classes
+     */
+    private static void addLayoutClasses(Type type, Map<String, Class<?>> classes) {
+        if (type instanceof Class) {
+            Class<?> typeClass = (Class<?>) type;
+            if (typeClass.isArray()) {
+                addLayoutClasses(typeClass.getComponentType(), classes);
+            } else if (typeClass.getName().startsWith(PACKAGE_PREFIX) && !typeClass.isEnum()
+                    && !Throwable.class.isAssignableFrom(typeClass) && !classes.containsKey(typeClass.getName())) {
+                classes.put(typeClass.getName(), typeClass);
+                List<Field> fieldList = new ArrayList<Field>();
+                ClassLayout.addFields(typeClass, fieldList);
+                for (Field field : fieldList) {
+                    addLayoutClasses(field.getGenericType(), classes);
+                }
+            }
+        } else if (type instanceof ParameterizedType) {
+            addLayoutClasses(((ParameterizedType) type).getRawType(), classes);
+            for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                addLayoutClasses(argument, classes);
+            }
+        } else if (type instanceof GenericArrayType) {
+            addLayoutClasses(((GenericArrayType) type).getGenericComponentType(), classes);
+        } else if (type instanceof WildcardType) {
+            for (Type bound : ((WildcardType) type).getUpperBounds()) {
+                addLayoutClasses(bound, classes);
+            }
+        }
+    }
+
+    private static String getClassName(Object value) {
+        return value == null ? "null" : value.getClass().getSimpleName();
+    }
+
+    /**
+     * Get the layout for a class, creating it if this is the first time the class has been seen
+     *
+     * @param type
+     * @return
+     * @throws IOException
+     */
+    private static ClassLayout layoutOf(Class<?> type) throws IOException {
+        ClassLayout layout = LAYOUTS.get(type);
+        if (layout == null) {
+            if (!type.getName().startsWith(PACKAGE_PREFIX)) {
+                throw new NotSerializableException(type.getName());
+            }
+            layout = new ClassLayout(type);
+            LAYOUTS.putIfAbsent(type, layout);
+        }
+        return layout;
+    }
+
+    private static Class<?> resolveClass(String className) throws IOException {
+        if (className == null || !className.startsWith(PACKAGE_PREFIX)) {
+            throw new NotSerializableException(String.valueOf(className));
+        }
+
+        try {
+            return Class.forName(className, false, BinaryCodec.class.getClassLoader());
+        } catch (ClassNotFoundException ex) {
+            throw new IOException("Unknown class " + className, ex);
+        }
+    }
+
+    /**
+     * The fields of a class that are encoded, along with their values in a newly constructed instance
+     */
+    private static final class ClassLayout {
+
+        private final Constructor<?> constructor;
+        private final Field[] fields;
+        private final Object[] defaults;
+
+        ClassLayout(Class<?> type) throws IOException {
+            try {
+                constructor = type.getDeclaredConstructor();
+            } catch (NoSuchMethodException ex) {
+                throw new IOException("No default constructor for " + type.getName(), ex);
+            }
+            constructor.setAccessible(true);
+
+            List<Field> fieldList = new ArrayList<Field>();
+            addFields(type, fieldList);
+            fields = fieldList.toArray(new Field[fieldList.size()]);
+
+            Object prototype = newInstance();
+            defaults = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                defaults[i] = get(i, prototype);
+            }
+        }
+
+        /**
+         * Add the fields of the class, starting with the super classes.
+         *
+         * The fields of each class are sorted by name as the reflection order is not guaranteed.
+         *
+         * @param type
+         * @param fieldList
+         */
+        private static void addFields(Class<?> type, List<Field> fieldList) {
+            if (type == null || type == Object.class) {
+                return;
+            }
+            addFields(type.getSuperclass(), fieldList);
+
+            Field[] declared = type.getDeclaredFields();
+            Arrays.sort(declared, new Comparator<Field>() {
+                @Override
+                public int compare(Field field1, Field field2) {
+                    return field1.getName().compareTo(field2.getName());
+                }
+            });
+
+            for (Field field : declared) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                    field.setAccessible(true);
+                    fieldList.add(field);
+                }
+            }
+        }
+
+        Object newInstance() throws IOException {
+            try {
+                return constructor.newInstance();
+            } catch (InstantiationException ex) {
+                throw new IOException("Failed to create " + constructor.getName(), ex);
+            } catch (IllegalAccessException ex) {
+                throw new IOException("Failed to create " + constructor.getName(), ex);
+            } catch (InvocationTargetException ex) {
+                throw new IOException("Failed to create " + constructor.getName(), ex);
+            }
+        }
+
+        Object get(int index, Object instance) throws IOException {
+            try {
+                return fields[index].get(instance);
+            } catch (IllegalAccessException ex) {
+                throw new IOException("Failed to read " + fields[index].getName(), ex);
+            }
+        }
+
+        void set(int index, Object instance, Object value) throws IOException {
+            try {
+                fields[index].set(instance, value);
+            } catch (IllegalAccessException ex) {
+                throw new IOException("Failed to set " + fields[index].getName(), ex);
+            }
+        }
+
+        /**
+         * Check if the value is the same as a new instance would have, so it does not need to be written.
+         *
+         * Mutable values are only treated as the default if they are the same instance, or an empty collection of the same
+         * class.
+         *
+         * @param index
+         * @param value
+         * @return
+         */
+        boolean isDefault(int index, Object value) {
+            Object defaultValue = defaults[index];
+            if (value == defaultValue) {
+                return true;
+            }
+            if (value == null || defaultValue == null || value.getClass() != defaultValue.getClass()) {
+                return false;
+            }
+
+            if (value instanceof Collection) {
+                return ((Collection<?>) value).isEmpty() && ((Collection<?>) defaultValue).isEmpty();
+            }
+            if (value instanceof Map) {
+                return ((Map<?, ?>) value).isEmpty() && ((Map<?, ?>) defaultValue).isEmpty();
+            }
+            if (value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character) {
+                return value.equals(defaultValue);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Writes values to a growing byte array
+     */
+    private static final class Encoder {
+
+        private byte[] buffer = new byte[256];
+        private int length = 0;
+        private final Map<String, Integer> strings = new HashMap<String, Integer>();
+        private final Map<Object, Integer> references = new IdentityHashMap<Object, Integer>();
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(length + extra, buffer.length * 2));
+            }
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[length++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+
+        void writeVarInt(int value) {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                writeByte((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            writeByte(remaining);
+        }
+
+        void writeVarLong(long value) {
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                writeByte((int) (remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            writeByte((int) remaining);
+        }
+
+        void writeSignedInt(int value) {
+            writeVarInt((value << 1) ^ (value >> 31));
+        }
+
+        void writeSignedLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeFixedInt(int value) {
+            writeByte(value >>> 24);
+            writeByte(value >>> 16);
+            writeByte(value >>> 8);
+            writeByte(value);
+        }
+
+        void writeFixedLong(long value) {
+            writeFixedInt((int) (value >>> 32));
+            writeFixedInt((int) value);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(STRING_NULL);
+                return;
+            }
+
+            Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(index + STRING_TABLE_OFFSET);
+                return;
+            }
+
+            byte[] bytes = value.getBytes(ResponseBuffer.UTF8);
+            writeVarInt(STRING_NEW);
+            writeVarInt(bytes.length);
+            writeBytes(bytes);
+            if (bytes.length <= MAX_TABLE_STRING) {
+                strings.put(value, strings.size());
+            }
+        }
+
+        /**
+         * Write a value with a tag giving its type
+         *
+         * @param value
+         * @throws IOException
+         */
+        void writeValue(Object value) throws IOException {
+            if (value == null) {
+                writeByte(TAG_NULL);
+            } else if (value instanceof String) {
+                writeByte(TAG_STRING);
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+            } else if (value instanceof Integer) {
+                writeByte(TAG_INT);
+                writeSignedInt((Integer) value);
+            } else if (value instanceof Long) {
+                writeByte(TAG_LONG);
+                writeSignedLong((Long) value);
+            } else if (value instanceof Float) {
+                writeByte(TAG_FLOAT);
+                writeFixedInt(Float.floatToRawIntBits((Float) value));
+            } else if (value instanceof Double) {
+                writeByte(TAG_DOUBLE);
+                writeFixedLong(Double.doubleToRawLongBits((Double) value));
+            } else if (value instanceof BigInteger) {
+                writeByte(TAG_BIG_INTEGER);
+                writeString(value.toString());
+            } else if (value instanceof BigDecimal) {
+                writeByte(TAG_BIG_DECIMAL);
+                writeString(value.toString());
+            } else if (value instanceof Enum) {
+                writeByte(TAG_ENUM);
+                writeString(((Enum<?>) value).getDeclaringClass().getName());
+                writeString(((Enum<?>) value).name());
+            } else if (value instanceof Throwable) {
+                writeException((Throwable) value);
+            } else if (references.containsKey(value)) {
+                writeByte(TAG_REF);
+                writeVarInt(references.get(value));
+            } else if (value instanceof List) {
+                references.put(value, references.size());
+                writeList((List<?>) value);
+            } else if (value instanceof Set) {
+                references.put(value, references.size());
+                writeSet((Set<?>) value);
+            } else if (value instanceof Map) {
+                references.put(value, references.size());
+                writeMap((Map<?, ?>) value);
+            } else {
+                ClassLayout layout = layoutOf(value.getClass());
+                references.put(value, references.size());
+                writeObject(layout, value);
+            }
+        }
+
+        private void writeList(List<?> list) throws IOException {
+            writeByte(TAG_LIST);
+            writeVarInt(list.size());
+            for (Object item : list) {
+                writeValue(item);
+            }
+        }
+
+        private void writeSet(Set<?> set) throws IOException {
+            if (set instanceof SortedSet) {
+                if (((SortedSet<?>) set).comparator() != null) {
+                    throw new NotSerializableException("Set sorted by " + ((SortedSet<?>) set).comparator().getClass().getName());
+                }
+                writeByte(TAG_SORTED_SET);
+            } else {
+                writeByte(TAG_SET);
+            }
+            writeVarInt(set.size());
+            for (Object item : set) {
+                writeValue(item);
+            }
+        }
+
+        private void writeMap(Map<?, ?> map) throws IOException {
+            if (map instanceof SortedMap) {
+                if (((SortedMap<?, ?>) map).comparator() != null) {
+                    throw new NotSerializableException("Map sorted by " + ((SortedMap<?, ?>) map).comparator().getClass().getName());
+                }
+                writeByte(TAG_SORTED_MAP);
+            } else {
+                writeByte(TAG_MAP);
+            }
+            writeVarInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(entry.getKey());
+                writeValue(entry.getValue());
+            }
+        }
+
+        /**
+         * Write the type and response of a MovieDbException, other exceptions can not be written
+         *
+         * @param value
+         * @throws IOException
+         */
+        private void writeException(Throwable value) throws IOException {
+            if (value.getClass() != MovieDbException.class) {
+                throw new NotSerializableException(value.getClass().getName());
+            }
+            MovieDbException exception = (MovieDbException) value;
+            writeByte(TAG_EXCEPTION);
+            writeString(exception.getExceptionType() == null ? null : exception.getExceptionType().name());
+            writeString(exception.getResponse());
+        }
+
+        private void writeObject(ClassLayout layout, Object value) throws IOException {
+            writeByte(TAG_OBJECT);
+            writeString(value.getClass().getName());
+
+            int fieldCount = layout.fields.length;
+            Object[] values = new Object[fieldCount];
+            byte[] present = new byte[(fieldCount + 7) / 8];
+            for (int i = 0; i < fieldCount; i++) {
+                values[i] = layout.get(i, value);
+                if (!layout.isDefault(i, values[i])) {
+                    present[i >> 3] |= 1 << (i & 7);
+                }
+            }
+            writeBytes(present);
+
+            for (int i = 0; i < fieldCount; i++) {
+                if ((present[i >> 3] & (1 << (i & 7))) != 0) {
+                    writeField(layout.fields[i].getType(), values[i]);
+                }
+            }
+        }
+
+        /**
+         * Write a field value, primitive and string fields are written without a tag as their type is known
+         *
+         * @param type
+         * @param value
+         * @throws IOException
+         */
+        private void writeField(Class<?> type, Object value) throws IOException {
+            if (type == boolean.class) {
+                // The presence bit shows the value is not the default
+                return;
+            } else if (type == int.class || type == short.class || type == byte.class) {
+                writeSignedInt(((Number) value).intValue());
+            } else if (type == char.class) {
+                writeVarInt((Character) value);
+            } else if (type == long.class) {
+                writeSignedLong((Long) value);
+            } else if (type == float.class) {
+                writeFixedInt(Float.floatToRawIntBits((Float) value));
+            } else if (type == double.class) {
+                writeFixedLong(Double.doubleToRawLongBits((Double) value));
+            } else if (type == String.class) {
+                writeString((String) value);
+            } else {
+                writeValue(value);
+            }
+        }
+    }
+
+    /**
+     * Reads values from a byte array
+     */
+    private static final class Decoder {
+
+        private final byte[] buffer;
+        private final int end;
+        private int position;
+        private final List<String> strings = new ArrayList<String>();
+        private final List<Object> references = new ArrayList<Object>();
+
+        Decoder(byte[] buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        int readByte() throws IOException {
+            if (position >= end) {
+                throw new EOFException("Unexpected end of data");
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        byte[] readBytes(int count) throws IOException {
+            if (count < 0 || position + count > end) {
+                throw new EOFException("Unexpected end of data");
+            }
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + count);
+            position += count;
+            return bytes;
+        }
+
+        int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int current = readByte();
+                value |= (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed variable length integer");
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                int current = readByte();
+                value |= (long) (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed variable length integer");
+        }
+
+        int readSignedInt() throws IOException {
+            int value = readVarInt();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readSignedLong() throws IOException {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        int readFixedInt() throws IOException {
+            return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+        }
+
+        long readFixedLong() throws IOException {
+            return ((long) readFixedInt() << 32) | (readFixedInt() & 0xFFFFFFFFL);
+        }
+
+        String readString() throws IOException {
+            int reference = readVarInt();
+            if (reference == STRING_NULL) {
+                return null;
+            }
+
+            if (reference == STRING_NEW) {
+                int length = readVarInt();
+                String value = new String(readBytes(length), ResponseBuffer.UTF8);
+                if (length <= MAX_TABLE_STRING) {
+                    strings.add(value);
+                }
+                return value;
+            }
+
+            int index = reference - STRING_TABLE_OFFSET;
+            if (index < 0 || index >= strings.size()) {
+                throw new IOException("Invalid string reference " + index);
+            }
+            return strings.get(index);
+        }
+
+        Object readValue() throws IOException {
+            int tag = readByte();
+            switch (tag) {
+                case TAG_NULL:
+                    return null;
+                case TAG_TRUE:
+                    return Boolean.TRUE;
+                case TAG_FALSE:
+                    return Boolean.FALSE;
+                case TAG_INT:
+                    return readSignedInt();
+                case TAG_LONG:
+                    return readSignedLong();
+                case TAG_FLOAT:
+                    return Float.intBitsToFloat(readFixedInt());
+                case TAG_DOUBLE:
+                    return Double.longBitsToDouble(readFixedLong());
+                case TAG_STRING:
+                    return readString();
+                case TAG_BIG_INTEGER:
+                    return new BigInteger(readString());
+                case TAG_BIG_DECIMAL:
+                    return new BigDecimal(readString());
+                case TAG_ENUM:
+                    return readEnum();
+                case TAG_REF:
+                    int index = readVarInt();
+                    if (index < 0 || index >= references.size()) {
+                        throw new IOException("Invalid object reference " + index);
+                    }
+                    return references.get(index);
+                case TAG_LIST:
+                    return readList();
+                case TAG_SET:
+                    return readSet(new LinkedHashSet<Object>());
+                case TAG_SORTED_SET:
+                    return readSet(new TreeSet<Object>());
+                case TAG_MAP:
+                    return readMap(new LinkedHashMap<Object, Object>());
+                case TAG_SORTED_MAP:
+                    return readMap(new TreeMap<Object, Object>());
+                case TAG_EXCEPTION:
+                    return readException();
+                case TAG_OBJECT:
+                    return readObject();
+                default:
+                    throw new IOException("Unknown value tag " + tag);
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object readEnum() throws IOException {
+            Class<?> type = resolveClass(readString());
+            String name = readString();
+            if (!type.isEnum()) {
+                throw new IOException(type.getName() + " is not an enum");
+            }
+
+            try {
+                return Enum.valueOf((Class<? extends Enum>) type, name);
+            } catch (IllegalArgumentException ex) {
+                throw new IOException("Unknown " + type.getSimpleName() + " value " + name, ex);
+            }
+        }
+
+        /**
+         * Read the number of items in a list, set or map.
+         *
+         * Each item takes at least one byte, so a size larger than the remaining data is an error.
+         *
+         * @return
+         * @throws IOException
+         */
+        private int readSize() throws IOException {
+            int size = readVarInt();
+            if (size < 0 || size > end - position) {
+                throw new IOException("Invalid size " + size);
+            }
+            return size;
+        }
+
+        private List<Object> readList() throws IOException {
+            int size = readSize();
+            List<Object> list = new ArrayList<Object>(size);
+            references.add(list);
+            for (int i = 0; i < size; i++) {
+                list.add(readValue());
+            }
+            return list;
+        }
+
+        private Set<Object> readSet(Set<Object> set) throws IOException {
+            int size = readSize();
+            references.add(set);
+            for (int i = 0; i < size; i++) {
+                set.add(readValue());
+            }
+            return set;
+        }
+
+        private Map<Object, Object> readMap(Map<Object, Object> map) throws IOException {
+            int size = readSize();
+            references.add(map);
+            for (int i = 0; i < size; i++) {
+                Object key = readValue();
+                map.put(key, readValue());
+            }
+            return map;
+        }
+
+        private MovieDbException readException() throws IOException {
+            String typeName = readString();
+            String response = readString();
+            MovieDbExceptionType type = null;
+            if (typeName != null) {
+                try {
+                    type = MovieDbExceptionType.valueOf(typeName);
+                } catch (IllegalArgumentException ex) {
+                    throw new IOException("Unknown exception type " + typeName, ex);
+                }
+            }
+            return new MovieDbException(type, response);
+        }
+
+        private Object readObject() throws IOException {
+            ClassLayout layout = layoutOf(resolveClass(readString()));
+            Object instance = layout.newInstance();
+            references.add(instance);
+
+            int fieldCount = layout.fields.length;
+            byte[] present = readBytes((fieldCount + 7) / 8);
+            for (int i = 0; i < fieldCount; i++) {
+                if ((present[i >> 3] & (1 << (i & 7))) != 0) {
+                    layout.set(i, instance, readField(layout.fields[i].getType(), layout.defaults[i]));
+                }
+            }
+            return instance;
+        }
+
+        private Object readField(Class<?> type, Object defaultValue) throws IOException {
+            if (type == boolean.class) {
+                return !((Boolean) defaultValue);
+            } else if (type == int.class) {
+                return readSignedInt();
+            } else if (type == short.class) {
+                return (short) readSignedInt();
+            } else if (type == byte.class) {
+                return (byte) readSignedInt();
+            } else if (type == char.class) {
+                return (char) readVarInt();
+            } else if (type == long.class) {
+                return readSignedLong();
+            } else if (type == float.class) {
+                return Float.intBitsToFloat(readFixedInt());
+            } else if (type == double.class) {
+                return Double.longBitsToDouble(readFixedLong());
+            } else if (type == String.class) {
+                return readString();
+            }
+
+            Object value = readValue();
+            if (value != null && !type.isPrimitive() && !type.isInstance(value)) {
+                throw new IOException("Found " + getClassName(value) + " for a field of type " + type.getSimpleName());
+            }
+            return value;
+        }
+    }
+}
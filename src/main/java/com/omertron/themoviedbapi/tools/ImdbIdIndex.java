@@ -0,0 +1,292 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.omertron.themoviedbapi.model.MovieDb;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Map of IMDb ids to TheMovieDb ids that is kept on disk between runs.
+ *
+ * The number of the IMDb id, e.g. 83658 for "tt0083658", is used as the position of the TheMovieDb id in a memory mapped
+ * file, so a lookup reads a single int. The file is mapped in regions as the numbers grow and is sparse on most file systems,
+ * only the regions holding ids use disk space.
+ *
+ * Use sync to force the file to disk.
+ *
+ * @author Stuart
+ */
+public class ImdbIdIndex implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImdbIdIndex.class);
+    private static final String IMDB_PREFIX = "tt";
+    private static final int MAGIC = 0x544D4949;
+    private static final int VERSION = 1;
+    // Magic, version and the number of ids held
+    private static final int HEADER_SIZE = 16;
+    private static final int ENTRY_SIZE = 4;
+    // Each region holds this many ids
+    private static final int REGION_ENTRIES = 1 << 20;
+    private static final long REGION_SIZE = (long) REGION_ENTRIES * ENTRY_SIZE;
+    private final File file;
+    private final RandomAccessFile access;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final List<MappedByteBuffer> regions = new ArrayList<MappedByteBuffer>();
+
+    /**
+     * Open the index, creating the file if it does not exist
+     *
+     * @param file
+     * @throws IOException
+     */
+    public ImdbIdIndex(File file) throws IOException {
+        this.file = file;
+
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create the directory " + directory);
+        }
+
+        access = new RandomAccessFile(file, "rw");
+        channel = access.getChannel();
+
+        try {
+            boolean existing = channel.size() >= HEADER_SIZE;
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (!existing) {
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+                header.putLong(8, 0L);
+            } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not an IMDb id index: " + file);
+            }
+        } catch (IOException ex) {
+            closeQuietly();
+            throw ex;
+        }
+    }
+
+    /**
+     * Convert the IMDb id to its number
+     *
+     * @param imdbId The IMDb id, e.g. "tt0083658"
+     * @return The number, or -1 if it is not a valid IMDb movie id
+     */
+    public static long parseImdbId(String imdbId) {
+        if (imdbId == null || imdbId.length() <= IMDB_PREFIX.length() || !imdbId.startsWith(IMDB_PREFIX)) {
+            return -1;
+        }
+
+        long number = 0;
+        for (int i = IMDB_PREFIX.length(); i < imdbId.length(); i++) {
+            char c = imdbId.charAt(i);
+            if (c < '0' || c > '9' || number > Integer.MAX_VALUE) {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number > Integer.MAX_VALUE ? -1 : number;
+    }
+
+    /**
+     * Get TheMovieDb id for the IMDb id
+     *
+     * @param imdbId The IMDb id, e.g. "tt0083658"
+     * @return TheMovieDb id, or 0 if it is not known
+     * @throws IOException
+     */
+    public int get(String imdbId) throws IOException {
+        long number = parseImdbId(imdbId);
+        return number < 0 ? 0 : get(number);
+    }
+
+    /**
+     * Get TheMovieDb id for the number of the IMDb id
+     *
+     * @param imdbNumber
+     * @return TheMovieDb id, or 0 if it is not known
+     * @throws IOException
+     */
+    public synchronized int get(long imdbNumber) throws IOException {
+        checkNumber(imdbNumber);
+        MappedByteBuffer region = getRegion((int) (imdbNumber / REGION_ENTRIES), false);
+        if (region == null) {
+            return 0;
+        }
+        return region.getInt((int) (imdbNumber % REGION_ENTRIES) * ENTRY_SIZE);
+    }
+
+    /**
+     * Add the IMDb id of the movie
+     *
+     * @param movie
+     * @return True if the movie has a valid IMDb id
+     * @throws IOException
+     */
+    public boolean add(MovieDb movie) throws IOException {
+        if (movie == null || movie.getId() <= 0 || StringUtils.isBlank(movie.getImdbID())) {
+            return false;
+        }
+
+        long number = parseImdbId(movie.getImdbID());
+        if (number < 0) {
+            LOG.debug("Invalid IMDb id '{}' for movie {}", movie.getImdbID(), movie.getId());
+            return false;
+        }
+        put(number, movie.getId());
+        return true;
+    }
+
+    /**
+     * Set TheMovieDb id for the number of the IMDb id
+     *
+     * @param imdbNumber
+     * @param tmdbId TheMovieDb id, or 0 to remove the IMDb id
+     * @throws IOException
+     */
+    public synchronized void put(long imdbNumber, int tmdbId) throws IOException {
+        checkNumber(imdbNumber);
+        if (tmdbId < 0) {
+            throw new IllegalArgumentException("Invalid ID: " + tmdbId);
+        }
+
+        MappedByteBuffer region = getRegion((int) (imdbNumber / REGION_ENTRIES), tmdbId != 0);
+        if (region == null) {
+            return;
+        }
+
+        int offset = (int) (imdbNumber % REGION_ENTRIES) * ENTRY_SIZE;
+        int previous = region.getInt(offset);
+        if (previous == tmdbId) {
+            return;
+        }
+
+        region.putInt(offset, tmdbId);
+        if (previous == 0) {
+            header.putLong(8, header.getLong(8) + 1);
+        } else if (tmdbId == 0) {
+            header.putLong(8, header.getLong(8) - 1);
+        }
+    }
+
+    /**
+     * Remove the IMDb id
+     *
+     * @param imdbId The IMDb id, e.g. "tt0083658"
+     * @throws IOException
+     */
+    public void remove(String imdbId) throws IOException {
+        long number = parseImdbId(imdbId);
+        if (number >= 0) {
+            remove(number);
+        }
+    }
+
+    /**
+     * Remove the IMDb id
+     *
+     * @param imdbNumber
+     * @throws IOException
+     */
+    public void remove(long imdbNumber) throws IOException {
+        put(imdbNumber, 0);
+    }
+
+    /**
+     * The number of IMDb ids held
+     *
+     * @return
+     */
+    public synchronized long size() {
+        return header.getLong(8);
+    }
+
+    /**
+     * Force the index to disk
+     */
+    public synchronized void sync() {
+        for (MappedByteBuffer region : regions) {
+            if (region != null) {
+                region.force();
+            }
+        }
+        header.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    /**
+     * Get the mapped region of the file
+     *
+     * @param number The region number
+     * @param create True to map the region if the file does not reach it yet
+     * @return The region, or null if it does not exist and create is false
+     */
+    private MappedByteBuffer getRegion(int number, boolean create) throws IOException {
+        if (number < regions.size() && regions.get(number) != null) {
+            return regions.get(number);
+        }
+
+        long start = HEADER_SIZE + number * REGION_SIZE;
+        if (!create && channel.size() < start + REGION_SIZE) {
+            return null;
+        }
+
+        MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, start, REGION_SIZE);
+        while (regions.size() <= number) {
+            regions.add(null);
+        }
+        regions.set(number, region);
+        return region;
+    }
+
+    private static void checkNumber(long imdbNumber) {
+        if (imdbNumber < 0 || imdbNumber > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid IMDb number: " + imdbNumber);
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            channel.close();
+            access.close();
+        } catch (IOException ex) {
+            LOG.debug("Failed to close {}: {}", file, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+/**
+ * Levenshtein distance limited to a maximum distance.
+ *
+ * Only the cells of the distance matrix within the maximum distance of the diagonal are calculated, and the calculation
+ * stops as soon as a whole row is over the maximum, so the cost grows with the maximum distance rather than the length of the
+ * strings. Equal strings, and strings whose lengths differ by more than the maximum, are answered without the matrix.
+ *
+ * @author Stuart
+ */
+public final class Levenshtein {
+
+    // Larger than any distance that is calculated, but small enough not to overflow when one is added
+    private static final int OUT_OF_RANGE = Integer.MAX_VALUE / 2;
+
+    private Levenshtein() {
+        throw new UnsupportedOperationException("Class can not be instantiated");
+    }
+
+    /**
+     * Check if the strings are within the maximum distance of each other
+     *
+     * @param first
+     * @param second
+     * @param maxDistance
+     * @return
+     */
+    public static boolean isWithin(CharSequence first, CharSequence second, int maxDistance) {
+        return distance(first, second, maxDistance) >= 0;
+    }
+
+    /**
+     * Get the Levenshtein distance between the strings, if it is no more than the maximum distance
+     *
+     * @param first
+     * @param second
+     * @param maxDistance
+     * @return The distance, or -1 if it is more than the maximum distance
+     */
+    public static int distance(CharSequence first, CharSequence second, int maxDistance) {
+        if (first == null || second == null) {
+            throw new IllegalArgumentException("Strings must not be null");
+        }
+
+        if (maxDistance < 0) {
+            return -1;
+        }
+
+        // The common prefix and suffix do not change the distance
+        int start = 0;
+        int firstEnd = first.length();
+        int secondEnd = second.length();
+        while (start < firstEnd && start < secondEnd && first.charAt(start) == second.charAt(start)) {
+            start++;
+        }
+        while (firstEnd > start && secondEnd > start && first.charAt(firstEnd - 1) == second.charAt(secondEnd - 1)) {
+            firstEnd--;
+            secondEnd--;
+        }
+
+        CharSequence shorter = first;
+        CharSequence longer = second;
+        int n = firstEnd - start;
+        int m = secondEnd - start;
+        if (n > m) {
+            shorter = second;
+            longer = first;
+            n = secondEnd - start;
+            m = firstEnd - start;
+        }
+
+        // Includes the case of equal strings, where both are 0
+        if (n == 0) {
+            return m <= maxDistance ? m : -1;
+        }
+
+        if (m - n > maxDistance) {
+            return -1;
+        }
+
+        int threshold = Math.min(maxDistance, m);
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+
+        int boundary = Math.min(n, threshold) + 1;
+        for (int i = 0; i < boundary; i++) {
+            previous[i] = i;
+        }
+        for (int i = boundary; i <= n; i++) {
+            previous[i] = OUT_OF_RANGE;
+        }
+
+        for (int j = 1; j <= m; j++) {
+            char longerChar = longer.charAt(start + j - 1);
+            current[0] = j;
+
+            // Only the cells within the threshold of the diagonal can be in range
+            int min = Math.max(1, j - threshold);
+            int max = Math.min(n, j + threshold);
+            if (min > 1) {
+                current[min - 1] = OUT_OF_RANGE;
+            }
+
+            int rowMin = j <= threshold ? j : OUT_OF_RANGE;
+            for (int i = min; i <= max; i++) {
+                int cell;
+                if (shorter.charAt(start + i - 1) == longerChar) {
+                    cell = previous[i - 1];
+                } else {
+                    cell = 1 + Math.min(Math.min(current[i - 1], previous[i]), previous[i - 1]);
+                }
+                current[i] = cell;
+                if (cell < rowMin) {
+                    rowMin = cell;
+                }
+            }
+
+            if (max < n) {
+                current[max + 1] = OUT_OF_RANGE;
+            }
+
+            if (rowMin > threshold) {
+                return -1;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[n] <= threshold ? previous[n] : -1;
+    }
+}
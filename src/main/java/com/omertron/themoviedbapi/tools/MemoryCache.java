@@ -0,0 +1,147 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In memory cache holding a limited number of values for a limited time.
+ *
+ * When the cache is full the least recently used value is removed.
+ *
+ * @author Stuart
+ * @param <K>
+ * @param <V>
+ */
+public class MemoryCache<K, V> implements TmdbCache<K, V> {
+
+    private final int maxSize;
+    private final long timeToLiveNanos;
+    private final Map<K, CacheEntry<V>> entries;
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+
+    /**
+     * Create the cache
+     *
+     * @param maxSize The most values to hold
+     * @param timeToLive How long a value is kept, 0 to keep it until it is the least recently used
+     * @param unit
+     */
+    public MemoryCache(final int maxSize, long timeToLive, TimeUnit unit) {
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+        this.entries = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, Boolean.TRUE) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public V get(K key) {
+        CacheEntry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.isExpired()) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+
+        long expires = timeToLiveNanos > 0 ? System.nanoTime() + timeToLiveNanos : 0;
+        synchronized (entries) {
+            entries.put(key, new CacheEntry<V>(value, expires));
+        }
+    }
+
+    @Override
+    public void remove(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * The number of values held, this can include expired values that have not been removed yet
+     *
+     * @return
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static final class CacheEntry<V> {
+
+        private final V value;
+        private final long expires;
+
+        CacheEntry(V value, long expires) {
+            this.value = value;
+            this.expires = expires;
+        }
+
+        boolean isExpired() {
+            return expires != 0 && System.nanoTime() - expires > 0;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Canonical instances of the strings that are repeated across many models, such as the names and codes of genres, languages,
+ * countries and companies, as well as job names and artwork language codes.
+ *
+ * Equal strings decoded from different responses are replaced with a single shared instance. Only strings are shared, as they
+ * are immutable, the model objects that hold them are never shared between models.
+ *
+ * @author Stuart
+ */
+public final class ModelInterner {
+
+    // Stop adding new values once the pool is this size, to bound the memory used
+    private static final int MAX_SIZE = 100000;
+    private static final ConcurrentMap<String, String> POOL = new ConcurrentHashMap<String, String>();
+    private static volatile boolean enabled = true;
+
+    private ModelInterner() {
+        throw new UnsupportedOperationException("Class can not be instantiated");
+    }
+
+    /**
+     * Get the canonical instance that is equal to the string
+     *
+     * @param value
+     * @return The shared instance, or the value if it is the first of its kind or the pool is full
+     */
+    public static String intern(String value) {
+        if (value == null || !enabled) {
+            return value;
+        }
+
+        String canonical = POOL.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+
+        if (POOL.size() >= MAX_SIZE) {
+            return value;
+        }
+
+        canonical = POOL.putIfAbsent(value, value);
+        return canonical == null ? value : canonical;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn the interning on or off.
+     *
+     * Turning it off does not clear the existing instances.
+     *
+     * @param enabled
+     */
+    public static void setEnabled(boolean enabled) {
+        ModelInterner.enabled = enabled;
+    }
+
+    /**
+     * The number of canonical instances held
+     *
+     * @return
+     */
+    public static int size() {
+        return POOL.size();
+    }
+
+    /**
+     * Remove all the canonical instances
+     */
+    public static void clear() {
+        POOL.clear();
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.omertron.themoviedbapi.model.MovieDb;
+import com.omertron.themoviedbapi.results.TmdbRankedResult;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ranks movies by how well they match a title and year.
+ *
+ * The score combines how close the title or original title is to the title searched for, after normalising them with
+ * TitleNormaliser.DEFAULT, how close the release year is, and the popularity relative to the most popular movie in the set.
+ *
+ * Only the movies that make the top of the ranking have a result created. Large sets are split between the threads of an
+ * executor and the best of each part merged.
+ *
+ * @author Stuart
+ */
+public final class MovieRanker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MovieRanker.class);
+    public static final float TITLE_WEIGHT = 0.7f;
+    public static final float YEAR_WEIGHT = 0.2f;
+    public static final float POPULARITY_WEIGHT = 0.1f;
+    // Sets smaller than this are ranked on the calling thread
+    private static final int PARALLEL_THRESHOLD = 1000;
+    // Score for a movie without a release date, when a year is searched for
+    private static final float UNKNOWN_YEAR_SCORE = 0.25f;
+    private static final Comparator<Scored> WORST_FIRST = new Comparator<Scored>() {
+        @Override
+        public int compare(Scored first, Scored second) {
+            int result = Float.compare(first.score, second.score);
+            if (result == 0) {
+                // The later of equal scores is worse, to keep the order of the results
+                result = second.index < first.index ? -1 : (second.index == first.index ? 0 : 1);
+            }
+            return result;
+        }
+    };
+
+    private MovieRanker() {
+        throw new UnsupportedOperationException("Class can not be instantiated");
+    }
+
+    /**
+     * Rank the movies on the calling thread
+     *
+     * @param movies
+     * @param title
+     * @param year The year to match, optional
+     * @param limit The number of results to return
+     * @return The best matches, best first
+     */
+    public static List<TmdbRankedResult<MovieDb>> rank(List<MovieDb> movies, String title, String year, int limit) {
+        return rank(movies, title, year, limit, null, 1);
+    }
+
+    /**
+     * Rank the movies, splitting large sets between the executor threads.
+     *
+     * When called from a request thread, see TmdbThreadFactory, the movies are ranked on the calling thread.
+     *
+     * @param movies
+     * @param title
+     * @param year The year to match, optional
+     * @param limit The number of results to return
+     * @param executor The executor for large sets, or null to rank on the calling thread
+     * @param parts The number of parts to split large sets into
+     * @return The best matches, best first
+     */
+    public static List<TmdbRankedResult<MovieDb>> rank(final List<MovieDb> movies, String title, String year, final int limit,
+            ExecutorService executor, int parts) {
+        if (movies == null || movies.isEmpty() || limit <= 0) {
+            return new ArrayList<TmdbRankedResult<MovieDb>>(0);
+        }
+
+        final Query query = new Query(title, ReleaseDates.parseYear(year), maxPopularity(movies));
+
+        PriorityQueue<Scored> best = null;
+        if (executor != null && parts > 1 && movies.size() >= PARALLEL_THRESHOLD && !TmdbThreadFactory.isRequestThread()) {
+            best = rankParallel(movies, query, limit, executor, parts);
+        }
+
+        if (best == null) {
+            best = rankPart(movies, 0, movies.size(), query, limit);
+        }
+        return toResults(movies, best);
+    }
+
+    /**
+     * Rank the parts on the executor and merge the best of each
+     *
+     * @return The best, or null if the ranking was interrupted
+     */
+    private static PriorityQueue<Scored> rankParallel(final List<MovieDb> movies, final Query query, final int limit,
+            ExecutorService executor, int parts) {
+        int partSize = (movies.size() + parts - 1) / parts;
+        List<Future<PriorityQueue<Scored>>> futures = new ArrayList<Future<PriorityQueue<Scored>>>(parts);
+        for (int start = 0; start < movies.size(); start += partSize) {
+            final int from = start;
+            final int to = Math.min(start + partSize, movies.size());
+            futures.add(executor.submit(new Callable<PriorityQueue<Scored>>() {
+                @Override
+                public PriorityQueue<Scored> call() {
+                    return rankPart(movies, from, to, query, limit);
+                }
+            }));
+        }
+
+        PriorityQueue<Scored> best = new PriorityQueue<Scored>(limit + 1, WORST_FIRST);
+        try {
+            for (Future<PriorityQueue<Scored>> future : futures) {
+                for (Scored scored : future.get()) {
+                    offer(best, scored, limit);
+                }
+            }
+            return best;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOG.debug("Ranking interrupted, ranking on the calling thread");
+        } catch (ExecutionException ex) {
+            LOG.warn("Failed to rank part of the movies: {}", ex.getCause().getMessage());
+        }
+
+        for (Future<PriorityQueue<Scored>> future : futures) {
+            future.cancel(true);
+        }
+        return null;
+    }
+
+    /**
+     * Score the movies between the indexes, keeping the best
+     */
+    private static PriorityQueue<Scored> rankPart(List<MovieDb> movies, int from, int to, Query query, int limit) {
+        PriorityQueue<Scored> best = new PriorityQueue<Scored>(limit + 1, WORST_FIRST);
+        for (int index = from; index < to; index++) {
+            MovieDb movie = movies.get(index);
+            if (movie == null) {
+                continue;
+            }
+
+            float titleScore = Math.max(titleScore(query.title, movie.getTitleKey(TitleNormaliser.DEFAULT)),
+                    titleScore(query.title, movie.getOriginalTitleKey(TitleNormaliser.DEFAULT)));
+            float yearScore = yearScore(query.year, movie.getReleaseYear());
+            float popularityScore = popularityScore(movie.getPopularity(), query.maxPopularity);
+            float score = TITLE_WEIGHT * titleScore + YEAR_WEIGHT * yearScore + POPULARITY_WEIGHT * popularityScore;
+
+            // Only create an entry if it is in the best so far
+            if (best.size() < limit || score > best.peek().score) {
+                offer(best, new Scored(index, score, titleScore, yearScore, popularityScore), limit);
+            }
+        }
+        return best;
+    }
+
+    private static void offer(PriorityQueue<Scored> best, Scored scored, int limit) {
+        best.add(scored);
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    private static List<TmdbRankedResult<MovieDb>> toResults(List<MovieDb> movies, PriorityQueue<Scored> best) {
+        List<Scored> sorted = new ArrayList<Scored>(best);
+        Collections.sort(sorted, Collections.reverseOrder(WORST_FIRST));
+
+        List<TmdbRankedResult<MovieDb>> results = new ArrayList<TmdbRankedResult<MovieDb>>(sorted.size());
+        for (Scored scored : sorted) {
+            results.add(new TmdbRankedResult<MovieDb>(movies.get(scored.index), scored.score, scored.titleScore, scored.yearScore,
+                    scored.popularityScore));
+        }
+        return results;
+    }
+
+    /**
+     * Score how close a title or name is to the title searched for, after normalising them with TitleNormaliser.DEFAULT
+     *
+     * @param query The title searched for
+     * @param title The title or name to score
+     * @return The score, from 0 to 1 for the same title
+     */
+    public static float scoreTitle(String query, String title) {
+        if (query == null || title == null) {
+            return 0f;
+        }
+        return titleScore(TitleNormaliser.DEFAULT.normalise(query), TitleNormaliser.DEFAULT.normalise(title));
+    }
+
+    /**
+     * Score the title by its distance from the title searched for, titles more than half different score 0
+     *
+     * @param query The normalised title searched for
+     * @param title The normalised title of the movie
+     * @return
+     */
+    static float titleScore(String query, String title) {
+        if (query == null || title == null) {
+            return 0f;
+        }
+
+        if (query.equals(title)) {
+            return 1f;
+        }
+
+        int length = Math.max(query.length(), title.length());
+        int distance = Levenshtein.distance(query, title, length / 2);
+        if (distance < 0) {
+            return 0f;
+        }
+        return 1f - (float) distance / length;
+    }
+
+    private static float yearScore(int queryYear, int year) {
+        if (queryYear == 0) {
+            return 0f;
+        }
+
+        if (year == 0) {
+            return UNKNOWN_YEAR_SCORE;
+        }
+
+        switch (Math.abs(queryYear - year)) {
+            case 0:
+                return 1f;
+            case 1:
+                return 0.5f;
+            case 2:
+                return 0.25f;
+            default:
+                return 0f;
+        }
+    }
+
+    private static float popularityScore(float popularity, float maxPopularity) {
+        if (maxPopularity <= 0f || popularity <= 0f) {
+            return 0f;
+        }
+        return (float) (Math.log1p(popularity) / Math.log1p(maxPopularity));
+    }
+
+    private static float maxPopularity(List<MovieDb> movies) {
+        float max = 0f;
+        for (MovieDb movie : movies) {
+            if (movie != null && movie.getPopularity() > max) {
+                max = movie.getPopularity();
+            }
+        }
+        return max;
+    }
+
+    /**
+     * The values that are the same for every movie scored
+     */
+    private static final class Query {
+
+        private final String title;
+        private final int year;
+        private final float maxPopularity;
+
+        Query(String title, int year, float maxPopularity) {
+            this.title = TitleNormaliser.DEFAULT.normalise(title);
+            this.year = year;
+            this.maxPopularity = maxPopularity;
+        }
+    }
+
+    /**
+     * The score of the movie at an index
+     */
+    private static final class Scored {
+
+        private final int index;
+        private final float score;
+        private final float titleScore;
+        private final float yearScore;
+        private final float popularityScore;
+
+        Scored(int index, float score, float titleScore, float yearScore, float popularityScore) {
+            this.index = index;
+            this.score = score;
+            this.titleScore = titleScore;
+            this.yearScore = yearScore;
+            this.popularityScore = popularityScore;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.MovieDbException.MovieDbExceptionType;
+import com.omertron.themoviedbapi.results.TmdbPageFetcher;
+import com.omertron.themoviedbapi.results.TmdbPagedResults;
+import com.omertron.themoviedbapi.results.TmdbResultKey;
+import com.omertron.themoviedbapi.results.TmdbResultsList;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads all the pages of a paged method at the same time.
+ *
+ * The first page is read to find the number of pages, then the rest are requested concurrently.
+ *
+ * @author Stuart
+ */
+public final class PageFanOut {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PageFanOut.class);
+
+    private PageFanOut() {
+        throw new UnsupportedOperationException("Class can not be instantiated");
+    }
+
+    /**
+     * Read all the pages and merge the results.
+     *
+     * The results are in page order. Results can move between pages while they are being read, so any result with the same key
+     * as one on an earlier page is removed. Pages that fail are recorded in the page errors, the results of the other pages are
+     * still returned.
+     *
+     * The total pages are those of the paged method, the number of pages that were read is available from getPagesRead.
+     *
+     * @param <T>
+     * @param fetcher Gets a single page from the paged method
+     * @param key Gets the key of a result, e.g. its id, or null to compare the results with equals
+     * @param executor Used to make the requests
+     * @param maxConcurrent The most pages to request at the same time
+     * @param maxPages The most pages to read, 0 for all of them
+     * @return
+     * @throws MovieDbException If the first page can not be read
+     */
+    public static <T> TmdbPagedResults<T> fetchAll(TmdbPageFetcher<T> fetcher, TmdbResultKey<T> key, ExecutorService executor, int maxConcurrent, int maxPages) throws MovieDbException {
+        TmdbResultsList<T> firstPage = fetcher.fetchPage(1);
+
+        int lastPage = Math.max(firstPage.getTotalPages(), 1);
+        if (maxPages > 0) {
+            lastPage = Math.min(lastPage, maxPages);
+        }
+
+        Map<Integer, List<T>> pages = new TreeMap<Integer, List<T>>();
+        pages.put(1, firstPage.getResults());
+        Map<Integer, MovieDbException> errors = new TreeMap<Integer, MovieDbException>();
+
+        CompletionService<PageResult<T>> completion = new ExecutorCompletionService<PageResult<T>>(executor);
+        List<Future<PageResult<T>>> outstanding = new ArrayList<Future<PageResult<T>>>();
+        int limit = Math.max(maxConcurrent, 1);
+        int nextPage = 2;
+
+        try {
+            while (nextPage <= lastPage || !outstanding.isEmpty()) {
+                while (nextPage <= lastPage && outstanding.size() < limit) {
+                    outstanding.add(completion.submit(new PageTask<T>(fetcher, nextPage++)));
+                }
+
+                Future<PageResult<T>> future = completion.take();
+                outstanding.remove(future);
+                PageResult<T> result = future.get();
+                if (result.error == null) {
+                    pages.put(result.page, result.results);
+                } else {
+                    LOG.warn("Failed to get page {}: {}", result.page, result.error.getExceptionType());
+                    errors.put(result.page, result.error);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            for (Future<PageResult<T>> future : outstanding) {
+                future.cancel(Boolean.TRUE);
+            }
+            for (int page = 2; page <= lastPage; page++) {
+                if (!pages.containsKey(page) && !errors.containsKey(page)) {
+                    errors.put(page, new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Interrupted before page " + page + " was read", ex));
+                }
+            }
+        } catch (ExecutionException ex) {
+            // The page tasks catch their own errors, so this should not happen
+            throw new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, "Failed to read the pages", ex.getCause());
+        }
+
+        List<T> merged = new ArrayList<T>();
+        Set<Object> seen = new HashSet<Object>();
+        for (List<T> pageResults : pages.values()) {
+            for (T result : pageResults) {
+                Object resultKey = key == null ? result : key.getKey(result);
+                if (resultKey == null || seen.add(resultKey)) {
+                    merged.add(result);
+                }
+            }
+        }
+
+        TmdbPagedResults<T> results = new TmdbPagedResults<T>(merged);
+        results.setId(firstPage.getId());
+        results.setPage(1);
+        results.setTotalPages(firstPage.getTotalPages());
+        results.setPagesRead(pages.size());
+        results.setTotalResults(firstPage.getTotalResults());
+        for (Map.Entry<Integer, MovieDbException> error : errors.entrySet()) {
+            results.addPageError(error.getKey(), error.getValue());
+        }
+        return results;
+    }
+
+    /**
+     * The results or error from a single page
+     */
+    private static final class PageResult<T> {
+
+        private final int page;
+        private final List<T> results;
+        private final MovieDbException error;
+
+        PageResult(int page, List<T> results, MovieDbException error) {
+            this.page = page;
+            this.results = results;
+            this.error = error;
+        }
+    }
+
+    private static final class PageTask<T> implements Callable<PageResult<T>> {
+
+        private final TmdbPageFetcher<T> fetcher;
+        private final int page;
+
+        PageTask(TmdbPageFetcher<T> fetcher, int page) {
+            this.fetcher = fetcher;
+            this.page = page;
+        }
+
+        @Override
+        public PageResult<T> call() {
+            try {
+                return new PageResult<T>(page, fetcher.fetchPage(page).getResults(), null);
+            } catch (MovieDbException ex) {
+                return new PageResult<T>(page, null, ex);
+            } catch (RuntimeException ex) {
+                return new PageResult<T>(page, null, new MovieDbException(MovieDbExceptionType.UNKNOWN_CAUSE, ex.getMessage(), ex));
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of requests that can be made in a period of time.
+ *
+ * The times of the most recent requests are kept, and a request waits until the oldest of them is outside the period.
+ *
+ * @author Stuart
+ */
+public class RateLimiter {
+
+    private final int maxRequests;
+    private final long periodNanos;
+    private final LinkedList<Long> requestTimes = new LinkedList<Long>();
+
+    /**
+     * Create the limiter
+     *
+     * @param maxRequests The most requests allowed in the period
+     * @param period
+     * @param unit
+     */
+    public RateLimiter(int maxRequests, long period, TimeUnit unit) {
+        if (maxRequests < 1) {
+            throw new IllegalArgumentException("At least one request must be allowed");
+        }
+        this.maxRequests = maxRequests;
+        this.periodNanos = unit.toNanos(period);
+    }
+
+    /**
+     * Wait until a request can be made
+     *
+     * @throws InterruptedException
+     */
+    public synchronized void acquire() throws InterruptedException {
+        long now = System.nanoTime();
+        while (requestTimes.size() >= maxRequests) {
+            long wait = requestTimes.getFirst() + periodNanos - now;
+            if (wait <= 0) {
+                requestTimes.removeFirst();
+            } else {
+                TimeUnit.NANOSECONDS.sleep(wait);
+                now = System.nanoTime();
+            }
+        }
+        requestTimes.addLast(now);
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public long getPeriod(TimeUnit unit) {
+        return unit.convert(periodNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+/**
+ * Conversion of the release dates from TheMovieDb into a compact integer of the form yyyymmdd.
+ *
+ * Dates are normally "yyyy-mm-dd", but can be just a year or a year and month, in which case the missing parts are 0, e.g.
+ * "1999" is 19990000. Dates in other formats use the first 4 digit year found. Missing or unreadable dates are UNKNOWN.
+ *
+ * The values sort in date order, with UNKNOWN before all other dates.
+ *
+ * @author Stuart
+ */
+public final class ReleaseDates {
+
+    public static final int UNKNOWN = 0;
+    private static final int YEAR_FACTOR = 10000;
+    private static final int MONTH_FACTOR = 100;
+
+    private ReleaseDates() {
+        throw new UnsupportedOperationException("Class can not be instantiated");
+    }
+
+    /**
+     * Convert the date string to yyyymmdd
+     *
+     * @param date
+     * @return The date value, or UNKNOWN
+     */
+    public static int parse(String date) {
+        if (date == null || date.length() < 4) {
+            return UNKNOWN;
+        }
+
+        int year = readNumber(date, 0, 4);
+        if (year < 0) {
+            return findYear(date) * YEAR_FACTOR;
+        }
+
+        int month = 0;
+        int day = 0;
+        if (date.length() >= 7 && date.charAt(4) == '-') {
+            month = Math.max(readNumber(date, 5, 2), 0);
+            if (month > 0 && date.length() >= 10 && date.charAt(7) == '-') {
+                day = Math.max(readNumber(date, 8, 2), 0);
+            }
+        }
+
+        if (month > 12 || day > 31) {
+            month = 0;
+            day = 0;
+        }
+        return year * YEAR_FACTOR + month * MONTH_FACTOR + day;
+    }
+
+    /**
+     * Get the year from a date value
+     *
+     * @param dateValue
+     * @return The year, or 0 if the date is UNKNOWN
+     */
+    public static int getYear(int dateValue) {
+        return dateValue / YEAR_FACTOR;
+    }
+
+    /**
+     * Convert a year string to a number
+     *
+     * @param year
+     * @return The year, or 0 if it is not a 4 digit year
+     */
+    public static int parseYear(String year) {
+        if (year == null || year.length() != 4) {
+            return 0;
+        }
+        return Math.max(readNumber(year, 0, 4), 0);
+    }
+
+    /**
+     * Read a fixed number of digits as a number
+     *
+     * @return The number, or -1 if any of the characters are not digits
+     */
+    private static int readNumber(String text, int start, int digits) {
+        int value = 0;
+        for (int i = start; i < start + digits; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Locate the first 4 digit year in a date string
+     *
+     * @return The year, or 0 if one is not found
+     */
+    private static int findYear(String date) {
+        int run = 0;
+        for (int i = 0; i < date.length(); i++) {
+            char c = date.charAt(i);
+            if (c >= '0' && c <= '9') {
+                run++;
+                if (run == 4) {
+                    return readNumber(date, i - 3, 4);
+                }
+            } else {
+                run = 0;
+            }
+        }
+        return 0;
+    }
+}
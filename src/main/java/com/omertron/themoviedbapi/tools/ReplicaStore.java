@@ -0,0 +1,420 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local copy of items, such as MovieDb or Person, that is kept on disk between runs.
+ *
+ * The items are encoded with the BinaryCodec and appended to a log file, a newer record for an id replaces the older one. A
+ * memory mapped index file holds the position of the latest record for each id, so an item is read with a single lookup.
+ *
+ * Each record holds a variant, e.g. the language and appended responses it was requested with, and is only returned for the
+ * same variant. Records older than the time to live are not returned.
+ *
+ * Records are checked when the store is opened and any incomplete record at the end of the log, from a crash while writing,
+ * is removed. Use sync to force the files to disk.
+ *
+ * The index holds a fingerprint of the fields of the item classes. If the fields have changed since the records were written,
+ * e.g. after a library upgrade, or the index can not be read, the records are discarded as they may not decode correctly.
+ *
+ * @author Stuart
+ * @param <T>
+ */
+public class ReplicaStore<T> implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaStore.class);
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final int INDEX_MAGIC = 0x544D4958;
+    private static final int INDEX_VERSION = 2;
+    // Magic, version, the length of the log that has been indexed and the layout fingerprint, padded to keep entries aligned
+    private static final int INDEX_HEADER_SIZE = 24;
+    private static final int HEADER_LOG_LENGTH = 8;
+    private static final int HEADER_LAYOUT = 16;
+    private static final int INDEX_ENTRY_SIZE = 8;
+    // The index is mapped in regions as the ids grow, each region holds this many ids
+    private static final int REGION_ENTRIES = 1 << 20;
+    private static final long REGION_SIZE = (long) REGION_ENTRIES * INDEX_ENTRY_SIZE;
+    // Id, time, variant length, item length and checksum
+    private static final int RECORD_HEADER_SIZE = 24;
+    // Item length of a record that removes the item
+    private static final int REMOVED = -1;
+    private final Class<T> itemType;
+    private final int layout;
+    private final long timeToLiveMillis;
+    private final File logFile;
+    private final File indexFile;
+    private final RandomAccessFile logAccess;
+    private final RandomAccessFile indexAccess;
+    private final FileChannel log;
+    private final FileChannel index;
+    private final MappedByteBuffer indexHeader;
+    private final List<MappedByteBuffer> regions = new ArrayList<MappedByteBuffer>();
+    private long logLength;
+
+    /**
+     * Open the store, creating the files if they do not exist
+     *
+     * @param directory The directory for the files
+     * @param name The name of the files, the log is name.log and the index is name.idx
+     * @param itemType The type of the items
+     * @param timeToLive How long an item is returned for after it has been stored, 0 to return it until it is replaced
+     * @param unit
+     * @throws IOException
+     */
+    public ReplicaStore(File directory, String name, Class<T> itemType, long timeToLive, TimeUnit unit) throws IOException {
+        this.itemType = itemType;
+        this.layout = BinaryCodec.layoutFingerprint(itemType);
+        this.timeToLiveMillis = unit.toMillis(timeToLive);
+        this.logFile = new File(directory, name + ".log");
+        this.indexFile = new File(directory, name + ".idx");
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create the directory " + directory);
+        }
+
+        logAccess = new RandomAccessFile(logFile, "rw");
+        indexAccess = new RandomAccessFile(indexFile, "rw");
+        log = logAccess.getChannel();
+        index = indexAccess.getChannel();
+
+        try {
+            boolean validIndex = index.size() >= INDEX_HEADER_SIZE;
+            indexHeader = index.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER_SIZE);
+            long indexedLength = 0;
+            if (validIndex && indexHeader.getInt(0) == INDEX_MAGIC && indexHeader.getInt(4) == INDEX_VERSION
+                    && indexHeader.getInt(HEADER_LAYOUT) == layout) {
+                indexedLength = indexHeader.getLong(HEADER_LOG_LENGTH);
+            } else if (log.size() > 0) {
+                // The records were written with other fields, or it is not known which fields they were written with
+                LOG.warn("Discarding the records in {} as they were written by a different version", logFile);
+                log.truncate(0);
+            }
+
+            if (indexedLength == 0 || indexedLength > log.size()) {
+                // The index is new or does not match the log, so build it again from the whole log
+                clearIndex();
+                indexedLength = 0;
+            }
+            recover(indexedLength);
+        } catch (IOException ex) {
+            closeQuietly();
+            throw ex;
+        }
+    }
+
+    /**
+     * Get the item, if there is a current record for the id and variant
+     *
+     * @param id
+     * @param variant
+     * @return The item, or null
+     * @throws IOException
+     */
+    public synchronized T get(int id, String variant) throws IOException {
+        long position = readIndex(id);
+        if (position < 0) {
+            return null;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        readFully(header, position);
+        header.flip();
+        int recordId = header.getInt();
+        long time = header.getLong();
+        int variantLength = header.getInt();
+        int itemLength = header.getInt();
+        if (recordId != id || itemLength < 0) {
+            throw new IOException("The index for " + id + " does not match the log at " + position);
+        }
+
+        if (timeToLiveMillis > 0 && System.currentTimeMillis() - time > timeToLiveMillis) {
+            return null;
+        }
+
+        ByteBuffer data = ByteBuffer.allocate(variantLength + itemLength);
+        readFully(data, position + RECORD_HEADER_SIZE);
+        String recordVariant = new String(data.array(), 0, variantLength, UTF8);
+        if (!recordVariant.equals(normalise(variant))) {
+            return null;
+        }
+
+        try {
+            return BinaryCodec.decode(data.array(), variantLength, itemLength, itemType);
+        } catch (MovieDbException ex) {
+            throw new IOException("Failed to decode the item for " + id, ex);
+        }
+    }
+
+    /**
+     * Store the item, replacing any earlier record for the id
+     *
+     * @param id
+     * @param variant
+     * @param item
+     * @throws IOException
+     */
+    public synchronized void put(int id, String variant, T item) throws IOException {
+        byte[] encoded;
+        try {
+            encoded = BinaryCodec.encode(item);
+        } catch (MovieDbException ex) {
+            throw new IOException("Failed to encode the item for " + id, ex);
+        }
+        append(id, normalise(variant).getBytes(UTF8), encoded);
+    }
+
+    /**
+     * Remove the item
+     *
+     * @param id
+     * @throws IOException
+     */
+    public synchronized void remove(int id) throws IOException {
+        if (readIndex(id) >= 0) {
+            append(id, new byte[0], null);
+        }
+    }
+
+    /**
+     * Force the log and index to disk
+     *
+     * @throws IOException
+     */
+    public synchronized void sync() throws IOException {
+        log.force(false);
+        for (MappedByteBuffer region : regions) {
+            if (region != null) {
+                region.force();
+            }
+        }
+        indexHeader.force();
+    }
+
+    /**
+     * The size of the log, this includes the records that have been replaced
+     *
+     * @return
+     */
+    public synchronized long getLogLength() {
+        return logLength;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    private void append(int id, byte[] variant, byte[] item) throws IOException {
+        checkId(id);
+        int itemLength = item == null ? REMOVED : item.length;
+
+        CRC32 crc = new CRC32();
+        crc.update(variant);
+        if (item != null) {
+            crc.update(item);
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + variant.length + Math.max(itemLength, 0));
+        record.putInt(id);
+        record.putLong(System.currentTimeMillis());
+        record.putInt(variant.length);
+        record.putInt(itemLength);
+        record.putInt((int) crc.getValue());
+        record.put(variant);
+        if (item != null) {
+            record.put(item);
+        }
+        record.flip();
+
+        long position = logLength;
+        while (record.hasRemaining()) {
+            log.write(record, position + record.position());
+        }
+
+        // The log is written before the index, so the index never refers to a missing record
+        logLength = position + record.limit();
+        writeIndex(id, item == null ? -1 : position);
+        indexHeader.putLong(HEADER_LOG_LENGTH, logLength);
+    }
+
+    /**
+     * Index the records after the indexed length, removing an incomplete record at the end
+     */
+    private void recover(long indexedLength) throws IOException {
+        long position = indexedLength;
+        long size = log.size();
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        int recovered = 0;
+
+        while (position + RECORD_HEADER_SIZE <= size) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            int id = header.getInt();
+            header.getLong();
+            int variantLength = header.getInt();
+            int itemLength = header.getInt();
+            int checksum = header.getInt();
+
+            long dataLength = (long) variantLength + Math.max(itemLength, 0);
+            if (id < 0 || variantLength < 0 || itemLength < REMOVED || position + RECORD_HEADER_SIZE + dataLength > size) {
+                break;
+            }
+
+            ByteBuffer data = ByteBuffer.allocate((int) dataLength);
+            readFully(data, position + RECORD_HEADER_SIZE);
+            CRC32 crc = new CRC32();
+            crc.update(data.array());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            writeIndex(id, itemLength == REMOVED ? -1 : position);
+            position += RECORD_HEADER_SIZE + dataLength;
+            recovered++;
+        }
+
+        if (position < size) {
+            LOG.warn("Removing {} bytes of incomplete records from the end of {}", size - position, logFile);
+            log.truncate(position);
+        }
+
+        if (recovered > 0) {
+            LOG.debug("Indexed {} records from {}", recovered, logFile);
+        }
+
+        logLength = position;
+        writeHeader();
+    }
+
+    private void clearIndex() throws IOException {
+        regions.clear();
+        index.truncate(INDEX_HEADER_SIZE);
+        logLength = 0;
+        writeHeader();
+    }
+
+    private void writeHeader() {
+        indexHeader.putInt(0, INDEX_MAGIC);
+        indexHeader.putInt(4, INDEX_VERSION);
+        indexHeader.putLong(HEADER_LOG_LENGTH, logLength);
+        indexHeader.putInt(HEADER_LAYOUT, layout);
+    }
+
+    /**
+     * Get the position of the record for the id
+     *
+     * @return The position in the log, or -1 if there is no record
+     */
+    private long readIndex(int id) throws IOException {
+        checkId(id);
+        MappedByteBuffer region = getRegion(id / REGION_ENTRIES, false);
+        if (region == null) {
+            return -1;
+        }
+        // Positions are stored plus one, so that the zeros of a new region mean no record
+        return region.getLong((id % REGION_ENTRIES) * INDEX_ENTRY_SIZE) - 1;
+    }
+
+    private void writeIndex(int id, long position) throws IOException {
+        MappedByteBuffer region = getRegion(id / REGION_ENTRIES, true);
+        region.putLong((id % REGION_ENTRIES) * INDEX_ENTRY_SIZE, position + 1);
+    }
+
+    /**
+     * Get the mapped region of the index
+     *
+     * @param number The region number
+     * @param create True to map the region if the file does not reach it yet
+     * @return The region, or null if it does not exist and create is false
+     */
+    private MappedByteBuffer getRegion(int number, boolean create) throws IOException {
+        if (number < regions.size() && regions.get(number) != null) {
+            return regions.get(number);
+        }
+
+        long start = INDEX_HEADER_SIZE + number * REGION_SIZE;
+        if (!create && index.size() < start + REGION_SIZE) {
+            return null;
+        }
+
+        MappedByteBuffer region = index.map(FileChannel.MapMode.READ_WRITE, start, REGION_SIZE);
+        while (regions.size() <= number) {
+            regions.add(null);
+        }
+        regions.set(number, region);
+        return region;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        long start = position - buffer.position();
+        while (buffer.hasRemaining()) {
+            if (log.read(buffer, start + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of " + logFile + " at " + position);
+            }
+        }
+    }
+
+    private static void checkId(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Invalid ID: " + id);
+        }
+    }
+
+    private static String normalise(String variant) {
+        return variant == null ? "" : variant;
+    }
+
+    private void closeQuietly() {
+        try {
+            log.close();
+            logAccess.close();
+        } catch (IOException ex) {
+            LOG.debug("Failed to close {}: {}", logFile, ex.getMessage());
+        }
+
+        try {
+            index.close();
+            indexAccess.close();
+        } catch (IOException ex) {
+            LOG.debug("Failed to close {}: {}", indexFile, ex.getMessage());
+        }
+    }
+}
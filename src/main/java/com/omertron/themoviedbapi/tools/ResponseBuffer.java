@@ -0,0 +1,175 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Reusable byte buffer holding the UTF-8 body of a web response.
+ *
+ * Each thread has a single buffer that is reused for every request made on that thread, so the contents are only valid until
+ * the next request is made on the same thread.
+ *
+ * @author Stuart
+ */
+public final class ResponseBuffer {
+
+    public static final Charset UTF8 = Charset.forName("UTF-8");
+    // 16KB is enough for most single item responses
+    private static final int INITIAL_SIZE = 16 * 1024;
+    // Buffers larger than 1MB are not kept between requests
+    private static final int MAX_RETAINED_SIZE = 1024 * 1024;
+    private static final ThreadLocal<ResponseBuffer> BUFFERS = new ThreadLocal<ResponseBuffer>() {
+        @Override
+        protected ResponseBuffer initialValue() {
+            return new ResponseBuffer();
+        }
+    };
+    private byte[] buffer = new byte[INITIAL_SIZE];
+    private int length = 0;
+    private int statusCode = 0;
+
+    private ResponseBuffer() {
+        // Use acquire to get the buffer for the thread
+    }
+
+    /**
+     * Get the empty buffer for the current thread
+     *
+     * @return
+     */
+    public static ResponseBuffer acquire() {
+        ResponseBuffer responseBuffer = BUFFERS.get();
+        responseBuffer.reset();
+        return responseBuffer;
+    }
+
+    /**
+     * Empty the buffer, dropping the array if it has grown too large to keep
+     */
+    private void reset() {
+        length = 0;
+        statusCode = 0;
+        if (buffer.length > MAX_RETAINED_SIZE) {
+            buffer = new byte[INITIAL_SIZE];
+        }
+    }
+
+    /**
+     * Append the contents of the stream to the buffer.
+     *
+     * The stream is not closed.
+     *
+     * @param in
+     * @throws IOException
+     */
+    public void readFrom(InputStream in) throws IOException {
+        int count;
+        while (true) {
+            if (length == buffer.length) {
+                grow(length + 1);
+            }
+
+            count = in.read(buffer, length, buffer.length - length);
+            if (count < 0) {
+                break;
+            }
+            length += count;
+        }
+    }
+
+    /**
+     * Replace the contents of the buffer with the UTF-8 encoding of the string
+     *
+     * @param content
+     */
+    public void setContent(String content) {
+        length = 0;
+        if (content != null) {
+            byte[] bytes = content.getBytes(UTF8);
+            grow(bytes.length);
+            System.arraycopy(bytes, 0, buffer, 0, bytes.length);
+            length = bytes.length;
+        }
+    }
+
+    /**
+     * Re-encode the buffer contents from the given character set to UTF-8
+     *
+     * @param charset
+     */
+    public void transcode(Charset charset) {
+        if (charset != null && !UTF8.equals(charset)) {
+            setContent(new String(buffer, 0, length, charset));
+        }
+    }
+
+    private void grow(int minCapacity) {
+        if (minCapacity > buffer.length) {
+            byte[] newBuffer = new byte[Math.max(minCapacity, buffer.length * 2)];
+            System.arraycopy(buffer, 0, newBuffer, 0, length);
+            buffer = newBuffer;
+        }
+    }
+
+    /**
+     * The backing array, only the first getLength() bytes are valid
+     *
+     * @return
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * The HTTP status of the response, or 0 if it is not known
+     *
+     * @return
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Decode the buffer into a string.
+     *
+     * This creates a copy of the response, so should only be used when the text is needed, such as for error messages.
+     *
+     * @return
+     */
+    @Override
+    public String toString() {
+        return new String(buffer, 0, length, UTF8);
+    }
+}
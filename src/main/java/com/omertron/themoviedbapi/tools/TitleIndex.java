@@ -0,0 +1,449 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import com.omertron.themoviedbapi.model.AlternativeTitle;
+import com.omertron.themoviedbapi.model.MovieDb;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Local index of movie titles, so that a title can be found without searching TheMovieDb.
+ *
+ * The title, original title and alternative titles of each movie are indexed by the pairs of characters they contain. Titles
+ * within a distance of the title searched for must share most of its pairs, so only the titles that do are compared. A title
+ * matches in the same way as compareMovies with a normaliser, if its normalised form is within the Levenshtein distance of
+ * the normalised title searched for.
+ *
+ * @author Stuart
+ */
+public class TitleIndex {
+
+    // Marks the start and end of a title, so the first and last characters are in two pairs like the rest
+    private static final char BOUNDARY = '\u0000';
+    // The postings are rebuilt when there are more titles that no movie has than this and than there are current titles
+    private static final int MIN_STALE_KEYS = 1024;
+    private final TitleNormaliser normaliser;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, MovieDb> movies = new HashMap<Integer, MovieDb>();
+    private final Map<Integer, Set<String>> keysById = new HashMap<Integer, Set<String>>();
+    private final Map<String, Set<Integer>> idsByKey = new HashMap<String, Set<Integer>>();
+    // The titles by their number and the title numbers containing each pair of characters. Titles that are no longer in
+    // idsByKey are stale and are dropped when the postings are rebuilt
+    private final List<String> keys = new ArrayList<String>();
+    private final Map<Integer, IntList> postings = new HashMap<Integer, IntList>();
+    // Counts of the shared pairs for each title, reused by each search on the thread
+    private final ThreadLocal<int[]> sharedCounts = new ThreadLocal<int[]>();
+
+    /**
+     * Create an index that normalises the titles with TitleNormaliser.DEFAULT
+     */
+    public TitleIndex() {
+        this(TitleNormaliser.DEFAULT);
+    }
+
+    /**
+     * Create an index that normalises the titles with the normaliser
+     *
+     * @param normaliser
+     */
+    public TitleIndex(TitleNormaliser normaliser) {
+        this.normaliser = normaliser;
+    }
+
+    public TitleNormaliser getNormaliser() {
+        return normaliser;
+    }
+
+    /**
+     * Add the movie with its title, original title and any alternative titles it was read with.
+     *
+     * A movie that is already in the index is replaced.
+     *
+     * @param movie
+     */
+    public void add(MovieDb movie) {
+        add(movie, movie.getAlternativeTitles());
+    }
+
+    /**
+     * Add the movie with its title, original title and the alternative titles.
+     *
+     * A movie that is already in the index is replaced.
+     *
+     * @param movie
+     * @param alternativeTitles
+     */
+    public void add(MovieDb movie, List<AlternativeTitle> alternativeTitles) {
+        addMovie(movie, alternativeTitles, true);
+    }
+
+    /**
+     * Add the movies with their titles and original titles
+     *
+     * @param movies
+     */
+    public void addAll(List<MovieDb> movies) {
+        for (MovieDb movie : movies) {
+            add(movie);
+        }
+    }
+
+    /**
+     * Add the movies that are not already in the index.
+     *
+     * This is used for partial movies, such as search results, so that they do not replace a movie that was read in full with
+     * its alternative titles.
+     *
+     * @param movies
+     */
+    public void addMissing(List<MovieDb> movies) {
+        for (MovieDb movie : movies) {
+            addMovie(movie, movie.getAlternativeTitles(), false);
+        }
+    }
+
+    private void addMovie(MovieDb movie, List<AlternativeTitle> alternativeTitles, boolean replace) {
+        Set<String> keys = new HashSet<String>();
+        addKey(keys, movie.getTitleKey(normaliser));
+        addKey(keys, movie.getOriginalTitleKey(normaliser));
+        if (alternativeTitles != null) {
+            for (AlternativeTitle alternativeTitle : alternativeTitles) {
+                addKey(keys, normaliser.normalise(alternativeTitle.getTitle()));
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!replace && movies.containsKey(movie.getId())) {
+                return;
+            }
+
+            removeKeys(movie.getId());
+            movies.put(movie.getId(), movie);
+            keysById.put(movie.getId(), keys);
+
+            for (String key : keys) {
+                Set<Integer> ids = idsByKey.get(key);
+                if (ids == null) {
+                    ids = new HashSet<Integer>();
+                    idsByKey.put(key, ids);
+                    addPostings(key);
+                }
+                ids.add(movie.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the movie
+     *
+     * @param movieId
+     */
+    public void remove(int movieId) {
+        lock.writeLock().lock();
+        try {
+            removeKeys(movieId);
+            movies.remove(movieId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the movie from the index
+     *
+     * @param movieId
+     * @return The movie, or null if it is not in the index
+     */
+    public MovieDb get(int movieId) {
+        lock.readLock().lock();
+        try {
+            return movies.get(movieId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the movies with a title within the distance of the title.
+     *
+     * The closest titles are first, then those released in the year, then the most popular.
+     *
+     * @param title
+     * @param year The year of the movie, optional
+     * @param maxDistance The Levenshtein Distance between the two titles. 0 = exact match
+     * @return The movies found, empty if there are none
+     */
+    public List<MovieDb> find(String title, String year, int maxDistance) {
+        String query = normaliser.normalise(title);
+        if (StringUtils.isBlank(query) || maxDistance < 0) {
+            return new ArrayList<MovieDb>(0);
+        }
+
+        final Map<MovieDb, Integer> distances = new HashMap<MovieDb, Integer>();
+        lock.readLock().lock();
+        try {
+            if (maxDistance == 0) {
+                addMatches(distances, query, 0);
+            } else {
+                search(distances, query, maxDistance);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        final int searchYear = ReleaseDates.parseYear(year);
+        List<MovieDb> found = new ArrayList<MovieDb>(distances.keySet());
+        Collections.sort(found, new Comparator<MovieDb>() {
+            @Override
+            public int compare(MovieDb movie1, MovieDb movie2) {
+                int result = distances.get(movie1).compareTo(distances.get(movie2));
+                if (result == 0 && searchYear > 0) {
+                    boolean inYear1 = movie1.getReleaseYear() == searchYear;
+                    boolean inYear2 = movie2.getReleaseYear() == searchYear;
+                    result = inYear1 == inYear2 ? 0 : (inYear1 ? -1 : 1);
+                }
+                if (result == 0) {
+                    result = Float.compare(movie2.getPopularity(), movie1.getPopularity());
+                }
+                return result;
+            }
+        });
+        return found;
+    }
+
+    /**
+     * The number of movies in the index
+     *
+     * @return
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return movies.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all the movies
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            movies.clear();
+            keysById.clear();
+            idsByKey.clear();
+            keys.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compare the titles that share enough pairs of characters with the title searched for.
+     *
+     * Each edit changes at most two pairs, so a title within the distance shares all but two pairs per edit of the distinct pairs
+     * of the title searched for.
+     */
+    private void search(Map<MovieDb, Integer> distances, String query, int maxDistance) {
+        int[] queryPairs = distinctPairs(query);
+        int required = queryPairs.length - 2 * maxDistance;
+        if (required <= 0) {
+            // Too short for the pairs to rule any titles out
+            for (String key : keys) {
+                compare(distances, query, key, maxDistance);
+            }
+            return;
+        }
+
+        int[] counts = sharedCounts.get();
+        if (counts == null || counts.length < keys.size()) {
+            counts = new int[Math.max(keys.size(), 1024) * 3 / 2];
+            sharedCounts.set(counts);
+        }
+
+        IntList candidates = new IntList();
+        for (int pair : queryPairs) {
+            IntList keyNumbers = postings.get(pair);
+            if (keyNumbers == null) {
+                continue;
+            }
+
+            for (int i = 0; i < keyNumbers.size; i++) {
+                int keyNumber = keyNumbers.values[i];
+                if (++counts[keyNumber] == required) {
+                    candidates.add(keyNumber);
+                }
+            }
+        }
+
+        for (int i = 0; i < candidates.size; i++) {
+            compare(distances, query, keys.get(candidates.values[i]), maxDistance);
+        }
+
+        // Reset the counts for the next search
+        for (int pair : queryPairs) {
+            IntList keyNumbers = postings.get(pair);
+            if (keyNumbers != null) {
+                for (int i = 0; i < keyNumbers.size; i++) {
+                    counts[keyNumbers.values[i]] = 0;
+                }
+            }
+        }
+    }
+
+    private void compare(Map<MovieDb, Integer> distances, String query, String key, int maxDistance) {
+        if (Math.abs(query.length() - key.length()) > maxDistance) {
+            return;
+        }
+
+        int distance = Levenshtein.distance(query, key, maxDistance);
+        if (distance >= 0) {
+            addMatches(distances, key, distance);
+        }
+    }
+
+    private void addMatches(Map<MovieDb, Integer> distances, String key, int distance) {
+        Set<Integer> ids = idsByKey.get(key);
+        if (ids == null) {
+            return;
+        }
+
+        for (Integer id : ids) {
+            MovieDb movie = movies.get(id);
+            Integer best = distances.get(movie);
+            if (best == null || best > distance) {
+                distances.put(movie, distance);
+            }
+        }
+    }
+
+    private void addPostings(String key) {
+        int keyNumber = keys.size();
+        keys.add(key);
+        for (int pair : distinctPairs(key)) {
+            IntList keyNumbers = postings.get(pair);
+            if (keyNumbers == null) {
+                keyNumbers = new IntList();
+                postings.put(pair, keyNumbers);
+            }
+            keyNumbers.add(keyNumber);
+        }
+    }
+
+    /**
+     * Get the distinct pairs of characters in the key, including the boundaries
+     */
+    private static int[] distinctPairs(String key) {
+        Set<Integer> pairs = new HashSet<Integer>();
+        char previous = BOUNDARY;
+        for (int i = 0; i < key.length(); i++) {
+            char current = key.charAt(i);
+            pairs.add((previous << 16) | current);
+            previous = current;
+        }
+        pairs.add((previous << 16) | BOUNDARY);
+
+        int[] result = new int[pairs.size()];
+        int index = 0;
+        for (Integer pair : pairs) {
+            result[index++] = pair;
+        }
+        return result;
+    }
+
+    /**
+     * Remove the movie from the keys it was added with.
+     *
+     * A key that no longer has any movies is removed from idsByKey, but stays in the postings until there are enough stale keys
+     * to rebuild them, so a search may compare it but will not find anything for it.
+     */
+    private void removeKeys(int movieId) {
+        Set<String> removed = keysById.remove(movieId);
+        if (removed == null) {
+            return;
+        }
+
+        for (String key : removed) {
+            Set<Integer> ids = idsByKey.get(key);
+            if (ids != null) {
+                ids.remove(movieId);
+                if (ids.isEmpty()) {
+                    idsByKey.remove(key);
+                }
+            }
+        }
+
+        int staleKeys = keys.size() - idsByKey.size();
+        if (staleKeys > MIN_STALE_KEYS && staleKeys > idsByKey.size()) {
+            rebuildPostings();
+        }
+    }
+
+    /**
+     * Number the current keys again and rebuild their postings, dropping the stale keys
+     */
+    private void rebuildPostings() {
+        keys.clear();
+        postings.clear();
+        for (String key : idsByKey.keySet()) {
+            addPostings(key);
+        }
+    }
+
+    private static void addKey(Set<String> keys, String key) {
+        if (StringUtils.isNotBlank(key)) {
+            keys.add(key);
+        }
+    }
+
+    /**
+     * Growable list of int values
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size = 0;
+
+        void add(int value) {
+            if (size == values.length) {
+                int[] grown = new int[size * 2];
+                System.arraycopy(values, 0, grown, 0, size);
+                values = grown;
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Converts titles into a key for comparing them, so that titles that differ only in the way they are written have the same
+ * key.
+ *
+ * The key is always lower case, the options add the other steps, e.g. with all the options "The Matrix", "Matrix, The" and
+ * "matrix" all have the key "matrix", "Rocky II" has the key "rocky 2", and accented letters have the key of the plain letter.
+ *
+ * @author Stuart
+ */
+public final class TitleNormaliser {
+
+    /**
+     * The steps of the normalisation
+     */
+    public enum Option {
+
+        // Remove accents and replace joined letters, such as ae and sharp s, with their plain letters
+        FOLD_ACCENTS,
+        // Remove a leading article, or an article moved to the end, such as "Matrix, The"
+        REMOVE_ARTICLES,
+        // Replace punctuation with spaces, and collapse runs of whitespace
+        COLLAPSE_PUNCTUATION,
+        // Replace roman numerals after the first word with numbers
+        ROMAN_NUMERALS
+    }
+    // All the options
+    public static final TitleNormaliser DEFAULT = new TitleNormaliser(EnumSet.allOf(Option.class));
+    // Only changes the case
+    public static final TitleNormaliser LOWER_CASE = new TitleNormaliser(EnumSet.noneOf(Option.class));
+    // "die" is left out as it is more often the English word, e.g. "Die Hard"
+    private static final Set<String> ARTICLES = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+            "the", "a", "an", "le", "la", "les", "el", "los", "las", "il", "der", "das")));
+    private static final Pattern TRAILING_ARTICLE = Pattern.compile("^(.+),\\s*(\\p{L}+)\\s*$");
+    private static final Pattern LEADING_ARTICLE = Pattern.compile("^\\s*(\\p{L}+)\\s+(.+)$");
+    private static final Pattern ROMAN_NUMERAL = Pattern.compile("^(x{0,3})(ix|iv|v?i{0,3})$");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private final Set<Option> options;
+
+    /**
+     * Create a normaliser with the options
+     *
+     * @param options
+     */
+    public TitleNormaliser(Set<Option> options) {
+        this.options = options.isEmpty() ? EnumSet.noneOf(Option.class) : EnumSet.copyOf(options);
+    }
+
+    /**
+     * Create a normaliser with the options
+     *
+     * @param options
+     */
+    public TitleNormaliser(Option... options) {
+        this(options.length == 0 ? EnumSet.noneOf(Option.class) : EnumSet.copyOf(Arrays.asList(options)));
+    }
+
+    /**
+     * Get the key for the title
+     *
+     * @param title
+     * @return The key, or null if the title is null
+     */
+    public String normalise(String title) {
+        if (title == null) {
+            return null;
+        }
+
+        String key = title;
+        if (options.contains(Option.FOLD_ACCENTS)) {
+            key = foldAccents(key);
+        }
+
+        key = key.toLowerCase(Locale.ENGLISH);
+
+        if (options.contains(Option.REMOVE_ARTICLES)) {
+            key = removeArticles(key);
+        }
+
+        if (options.contains(Option.COLLAPSE_PUNCTUATION)) {
+            key = collapsePunctuation(key);
+        }
+
+        if (options.contains(Option.ROMAN_NUMERALS)) {
+            key = replaceNumerals(key);
+        }
+        return key;
+    }
+
+    public Set<Option> getOptions() {
+        return Collections.unmodifiableSet(options);
+    }
+
+    private static String foldAccents(String title) {
+        String decomposed = Normalizer.normalize(title, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            switch (c) {
+                case '\u00df':
+                    folded.append("ss");
+                    break;
+                case '\u00e6':
+                    folded.append("ae");
+                    break;
+                case '\u00c6':
+                    folded.append("AE");
+                    break;
+                case '\u0153':
+                    folded.append("oe");
+                    break;
+                case '\u0152':
+                    folded.append("OE");
+                    break;
+                case '\u00f8':
+                    folded.append('o');
+                    break;
+                case '\u00d8':
+                    folded.append('O');
+                    break;
+                case '\u0142':
+                    folded.append('l');
+                    break;
+                case '\u0141':
+                    folded.append('L');
+                    break;
+                case '\u0111':
+                    folded.append('d');
+                    break;
+                case '\u0110':
+                    folded.append('D');
+                    break;
+                default:
+                    if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                        folded.append(c);
+                    }
+            }
+        }
+        return folded.toString();
+    }
+
+    private static String removeArticles(String title) {
+        Matcher matcher = TRAILING_ARTICLE.matcher(title);
+        if (matcher.matches() && ARTICLES.contains(matcher.group(2))) {
+            return matcher.group(1);
+        }
+
+        matcher = LEADING_ARTICLE.matcher(title);
+        if (matcher.matches() && ARTICLES.contains(matcher.group(1))) {
+            return matcher.group(2);
+        }
+        return title;
+    }
+
+    private static String collapsePunctuation(String title) {
+        StringBuilder collapsed = new StringBuilder(title.length());
+        boolean space = false;
+        for (int i = 0; i < title.length(); i++) {
+            char c = title.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && collapsed.length() > 0) {
+                    collapsed.append(' ');
+                }
+                collapsed.append(c);
+                space = false;
+            } else if (c == '\'' || c == '\u2019') {
+                // Apostrophes join the word, e.g. "don't" and "dont"
+                continue;
+            } else if (c == '&') {
+                if (collapsed.length() > 0) {
+                    collapsed.append(' ');
+                }
+                collapsed.append("and");
+                space = true;
+            } else {
+                space = true;
+            }
+        }
+        return collapsed.toString();
+    }
+
+    /**
+     * Replace the roman numerals up to 39, the first word is not replaced as it is more likely to be a word, e.g. "I, Robot"
+     */
+    private static String replaceNumerals(String title) {
+        String[] words = WHITESPACE.split(title.trim());
+        StringBuilder replaced = new StringBuilder(title.length());
+        for (int i = 0; i < words.length; i++) {
+            if (i > 0) {
+                replaced.append(' ');
+            }
+
+            String word = words[i];
+            int value = i > 0 ? romanValue(word) : 0;
+            if (value > 0) {
+                replaced.append(value);
+            } else {
+                replaced.append(word);
+            }
+        }
+        return replaced.toString();
+    }
+
+    /**
+     * Get the value of a roman numeral up to 39
+     *
+     * @return The value, or 0 if the word is not a roman numeral
+     */
+    private static int romanValue(String word) {
+        if (word.length() == 0 || !ROMAN_NUMERAL.matcher(word).matches()) {
+            return 0;
+        }
+
+        int value = 0;
+        int previous = 0;
+        for (int i = word.length() - 1; i >= 0; i--) {
+            int digit = word.charAt(i) == 'x' ? 10 : (word.charAt(i) == 'v' ? 5 : 1);
+            value += digit < previous ? -digit : digit;
+            previous = Math.max(previous, digit);
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "TitleNormaliser" + options;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+/**
+ * A cache of results from TheMovieDb.
+ *
+ * Implementations must be safe to use from several threads.
+ *
+ * @author Stuart
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public interface TmdbCache<K, V> {
+
+    /**
+     * Get the cached value
+     *
+     * @param key
+     * @return The value, or null if it is not cached
+     */
+    V get(K key);
+
+    /**
+     * Add the value to the cache
+     *
+     * @param key
+     * @param value
+     */
+    void put(K key, V value);
+
+    /**
+     * Remove the value from the cache
+     *
+     * @param key
+     */
+    void remove(K key);
+
+    /**
+     * Remove all the values from the cache
+     */
+    void clear();
+}
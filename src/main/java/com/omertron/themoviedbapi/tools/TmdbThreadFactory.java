@@ -0,0 +1,65 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the daemon threads used for background requests, so they do not stop the application from exiting.
+ *
+ * Methods that wait for tasks on a pool check isRequestThread, and run the tasks themselves when they are called from one of
+ * these threads, as waiting on the same pool could leave every thread waiting.
+ *
+ * @author Stuart
+ */
+public class TmdbThreadFactory implements ThreadFactory {
+
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger(0);
+    private final AtomicInteger threadCount = new AtomicInteger(0);
+    private final String prefix;
+
+    public TmdbThreadFactory() {
+        this.prefix = "tmdb-" + POOL_COUNT.incrementAndGet() + "-request-";
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        Thread thread = new RequestThread(runnable, prefix + threadCount.incrementAndGet());
+        thread.setDaemon(Boolean.TRUE);
+        return thread;
+    }
+
+    /**
+     * Check if the calling thread was created by a TmdbThreadFactory
+     *
+     * @return
+     */
+    public static boolean isRequestThread() {
+        return Thread.currentThread() instanceof RequestThread;
+    }
+
+    private static final class RequestThread extends Thread {
+
+        RequestThread(Runnable runnable, String name) {
+            super(runnable, name);
+        }
+    }
+}
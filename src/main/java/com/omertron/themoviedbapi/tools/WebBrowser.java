@@ -19,7 +19,11 @@
  */
 package com.omertron.themoviedbapi.tools;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.MovieDbException.MovieDbExceptionType;
 import org.apache.commons.codec.binary.Base64;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +59,12 @@ public final class WebBrowser {
     private static int webTimeoutConnect = 25000;
     // 90 second timeout
     private static int webTimeoutRead = 90000;
+    private static final Pattern CHARSET_PATTERN = Pattern.compile("harset *=[ '\"]*([^ ;'\"]+)[ ;'\"]*");
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    // TheMovieDb status code for "The resource you requested could not be found"
+    private static final int STATUS_NOT_FOUND = 34;
+    // Not defined by HttpURLConnection
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
 
     // Hide the constructor
     protected WebBrowser() {
@@ -110,13 +120,25 @@ public final class WebBrowser {
     }
 
     public static String request(URL url, String jsonBody, boolean isDeleteRequest) throws MovieDbException {
+        return requestBuffer(url, jsonBody, isDeleteRequest).toString();
+    }
 
-        StringWriter content = null;
+    /**
+     * Request the URL and read the response into the response buffer for the current thread.
+     *
+     * The buffer is reused by the next request on the same thread, so the contents should be processed straight away.
+     *
+     * @param url
+     * @param jsonBody
+     * @param isDeleteRequest
+     * @return
+     * @throws MovieDbException
+     */
+    public static ResponseBuffer requestBuffer(URL url, String jsonBody, boolean isDeleteRequest) throws MovieDbException {
+        ResponseBuffer content = ResponseBuffer.acquire();
 
         try {
-            content = new StringWriter();
-
-            BufferedReader in = null;
+            InputStream in = null;
             HttpURLConnection cnx = null;
             OutputStreamWriter wr = null;
             try {
@@ -138,16 +160,18 @@ public final class WebBrowser {
 
                 readHeader(cnx);
 
+                content.setStatusCode(cnx.getResponseCode());
                 // http://stackoverflow.com/questions/4633048/httpurlconnection-reading-response-content-on-403-error
                 if (cnx.getResponseCode() >= 400) {
-                    in = new BufferedReader(new InputStreamReader(cnx.getErrorStream(), getCharset(cnx)));
+                    in = cnx.getErrorStream();
                 } else {
-                    in = new BufferedReader(new InputStreamReader(cnx.getInputStream(), getCharset(cnx)));
+                    in = cnx.getInputStream();
                 }
 
-                String line;
-                while ((line = in.readLine()) != null) {
-                    content.write(line);
+                if (in != null) {
+                    content.readFrom(in);
+                    // The buffer is always UTF-8, which is also the default for JSON
+                    content.transcode(findCharset(cnx));
                 }
             } finally {
                 if (wr != null) {
@@ -163,18 +187,140 @@ public final class WebBrowser {
                     ((HttpURLConnection) cnx).disconnect();
                 }
             }
-            return content.toString();
+            return content;
         } catch (IOException ex) {
             throw new MovieDbException(MovieDbException.MovieDbExceptionType.CONNECTION_ERROR, null, ex);
+        }
+    }
+
+    /**
+     * Open the URL and return the response body as a stream.
+     *
+     * The connection is kept open until the stream is closed, so the response can be processed while it is still being received.
+     * An error response is read and thrown by {@link #checkStatus(ResponseBuffer, MovieDbExceptionType)} rather than streamed.
+     *
+     * @param url
+     * @return
+     * @throws MovieDbException
+     */
+    public static InputStream requestStream(URL url) throws MovieDbException {
+        HttpURLConnection cnx = null;
+        try {
+            cnx = (HttpURLConnection) openProxiedConnection(url);
+            sendHeader(cnx);
+            readHeader(cnx);
+
+            int responseCode = cnx.getResponseCode();
+            if (responseCode >= HttpURLConnection.HTTP_BAD_REQUEST) {
+                ResponseBuffer error = ResponseBuffer.acquire();
+                error.setStatusCode(responseCode);
+                InputStream in = cnx.getErrorStream();
+                if (in != null) {
+                    try {
+                        error.readFrom(in);
+                        error.transcode(findCharset(cnx));
+                    } finally {
+                        in.close();
+                    }
+                }
+                cnx.disconnect();
+                checkStatus(error, MovieDbExceptionType.HTTP_404_ERROR);
+            }
+
+            return new ConnectionInputStream(cnx.getInputStream(), cnx);
+        } catch (IOException ex) {
+            if (cnx != null) {
+                cnx.disconnect();
+            }
+            throw new MovieDbException(MovieDbExceptionType.CONNECTION_ERROR, null, ex);
+        }
+    }
+
+    /**
+     * Throw the error for the response if the request failed.
+     *
+     * TheMovieDb sends the reason for an error as a status code in the body. Only a response that TheMovieDb did not find, HTTP
+     * 404 or status code 34, throws the not found type, so that a missing item can be told apart from a failed request.
+     *
+     * @param response
+     * @param notFoundType The type to throw if TheMovieDb did not find the item
+     * @throws MovieDbException
+     */
+    public static void checkStatus(ResponseBuffer response, MovieDbExceptionType notFoundType) throws MovieDbException {
+        int httpStatus = response.getStatusCode();
+        if (httpStatus < HttpURLConnection.HTTP_BAD_REQUEST) {
+            return;
+        }
+
+        MovieDbExceptionType exceptionType;
+        if (httpStatus == HttpURLConnection.HTTP_NOT_FOUND || readStatusCode(response) == STATUS_NOT_FOUND) {
+            exceptionType = notFoundType;
+        } else if (httpStatus == HttpURLConnection.HTTP_UNAUTHORIZED) {
+            exceptionType = MovieDbExceptionType.AUTHORISATION_FAILURE;
+        } else if (httpStatus == HTTP_TOO_MANY_REQUESTS || httpStatus >= HttpURLConnection.HTTP_INTERNAL_ERROR) {
+            exceptionType = MovieDbExceptionType.HTTP_503_ERROR;
+        } else {
+            exceptionType = MovieDbExceptionType.CONNECTION_ERROR;
+        }
+        throw new MovieDbException(exceptionType, response.toString());
+    }
+
+    /**
+     * Read TheMovieDb status code from the body of an error response
+     *
+     * @param response
+     * @return The status code, or 0 if there is none
+     */
+    private static int readStatusCode(ResponseBuffer response) {
+        JsonParser parser = null;
+        try {
+            parser = JSON_FACTORY.createParser(response.getBuffer(), 0, response.getLength());
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return 0;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+                if ("status_code".equals(fieldName)) {
+                    return parser.getValueAsInt();
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException ex) {
+            LOG.debug("Failed to read the status code: {}", ex.getMessage());
         } finally {
-            if (content != null) {
+            if (parser != null) {
                 try {
-                    content.close();
+                    parser.close();
                 } catch (IOException ex) {
-                    LOG.debug("Failed to close connection: " + ex.getMessage());
+                    LOG.debug("Failed to close the status parser: {}", ex.getMessage());
                 }
             }
         }
+        return 0;
+    }
+
+    /**
+     * Input stream that disconnects the connection when it is closed
+     */
+    private static final class ConnectionInputStream extends FilterInputStream {
+
+        private final HttpURLConnection cnx;
+
+        ConnectionInputStream(InputStream in, HttpURLConnection cnx) {
+            super(in);
+            this.cnx = cnx;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                cnx.disconnect();
+            }
+        }
     }
 
     private static void sendHeader(URLConnection cnx) {
@@ -247,13 +393,19 @@ public final class WebBrowser {
         }
     }
 
-    private static Charset getCharset(URLConnection cnx) {
+    /**
+     * Get the character set declared in the content type of the connection
+     *
+     * @param cnx
+     * @return The character set, or null if there is none or it is not supported
+     */
+    private static Charset findCharset(URLConnection cnx) {
         Charset charset = null;
         // content type will be string like "text/html; charset=UTF-8" or "text/html"
         String contentType = cnx.getContentType();
         if (contentType != null) {
             // changed 'charset' to 'harset' in regexp because some sites send 'Charset'
-            Matcher m = Pattern.compile("harset *=[ '\"]*([^ ;'\"]+)[ ;'\"]*").matcher(contentType);
+            Matcher m = CHARSET_PATTERN.matcher(contentType);
             if (m.find()) {
                 String encoding = m.group(1);
                 try {
@@ -263,10 +415,6 @@ public final class WebBrowser {
                 }
             }
         }
-        if (charset == null) {
-            charset = Charset.defaultCharset();
-        }
-
         return charset;
     }
 
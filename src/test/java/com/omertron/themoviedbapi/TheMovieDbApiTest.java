@@ -22,11 +22,23 @@ package com.omertron.themoviedbapi;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
-import static org.junit.Assert.fail;
 
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.After;
@@ -39,11 +51,13 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.omertron.themoviedbapi.MovieDbException.MovieDbExceptionType;
 import com.omertron.themoviedbapi.model.Account;
 import com.omertron.themoviedbapi.model.AlternativeTitle;
 import com.omertron.themoviedbapi.model.Artwork;
 import com.omertron.themoviedbapi.model.ChangedItem;
 import com.omertron.themoviedbapi.model.ChangedMovie;
+import com.omertron.themoviedbapi.model.ChangedPerson;
 import com.omertron.themoviedbapi.model.Collection;
 import com.omertron.themoviedbapi.model.CollectionInfo;
 import com.omertron.themoviedbapi.model.Company;
@@ -55,18 +69,36 @@ import com.omertron.themoviedbapi.model.KeywordMovie;
 import com.omertron.themoviedbapi.model.MovieDb;
 import com.omertron.themoviedbapi.model.MovieDbList;
 import com.omertron.themoviedbapi.model.MovieList;
+import com.omertron.themoviedbapi.model.MovieSection;
 import com.omertron.themoviedbapi.model.Person;
 import com.omertron.themoviedbapi.model.PersonCredit;
 import com.omertron.themoviedbapi.model.ReleaseInfo;
 import com.omertron.themoviedbapi.model.Reviews;
+import com.omertron.themoviedbapi.model.SearchType;
 import com.omertron.themoviedbapi.model.StatusCode;
 import com.omertron.themoviedbapi.model.TmdbConfiguration;
 import com.omertron.themoviedbapi.model.TokenAuthorisation;
 import com.omertron.themoviedbapi.model.TokenSession;
 import com.omertron.themoviedbapi.model.Trailer;
 import com.omertron.themoviedbapi.model.Translation;
+import com.omertron.themoviedbapi.results.TmdbBulkIterator;
+import com.omertron.themoviedbapi.results.TmdbBulkResult;
+import com.omertron.themoviedbapi.results.TmdbFederatedResults;
+import com.omertron.themoviedbapi.results.TmdbPageFetcher;
+import com.omertron.themoviedbapi.results.TmdbPagedIterator;
+import com.omertron.themoviedbapi.results.TmdbPagedResults;
+import com.omertron.themoviedbapi.results.TmdbRankedResult;
+import com.omertron.themoviedbapi.results.TmdbResultKey;
+import com.omertron.themoviedbapi.results.TmdbResultsIterator;
 import com.omertron.themoviedbapi.results.TmdbResultsList;
 import com.omertron.themoviedbapi.results.TmdbResultsMap;
+import com.omertron.themoviedbapi.sync.ChangesSync;
+import com.omertron.themoviedbapi.sync.SyncListener;
+import com.omertron.themoviedbapi.tools.ImdbIdIndex;
+import com.omertron.themoviedbapi.tools.MemoryCache;
+import com.omertron.themoviedbapi.tools.ReplicaStore;
+import com.omertron.themoviedbapi.tools.TitleIndex;
+import com.omertron.themoviedbapi.tools.TitleNormaliser;
 
 /**
  * Test cases for TheMovieDbApi API
@@ -85,6 +117,7 @@ public class TheMovieDbApiTest {
     private static final int ID_MOVIE_THE_AVENGERS = 24428;
     private static final int ID_COLLECTION_STAR_WARS = 10;
     private static final int ID_PERSON_BRUCE_WILLIS = 62;
+    private static final int ID_PERSON_UNKNOWN = 999999999;
     private static final int ID_COMPANY = 2;
     private static final String COMPANY_NAME = "Marvel Studios";
     private static final int ID_GENRE_ACTION = 28;
@@ -214,6 +247,125 @@ public class TheMovieDbApiTest {
         assertEquals("Incorrect movie information", "Blade Runner", result.getOriginalTitle());
     }
 
+    /**
+     * Test of getMovieInfo method for several movies, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testGetMovieInfo_Bulk() throws MovieDbException {
+        LOG.info("getMovieInfo (bulk)");
+        int[] movieIds = {ID_MOVIE_BLADE_RUNNER, ID_MOVIE_THE_AVENGERS, ID_MOVIE_BLADE_RUNNER, 0};
+        TmdbBulkIterator<MovieDb> result = tmdb.getMovieInfo(movieIds, LANGUAGE_ENGLISH);
+        assertEquals("Duplicate ids not removed", 3, result.getIdCount());
+
+        int found = 0;
+        int failed = 0;
+        while (result.hasNext()) {
+            TmdbBulkResult<MovieDb> movie = result.next();
+            if (movie.isSuccess()) {
+                assertEquals("Wrong movie returned", movie.getId(), movie.getResult().getId());
+                found++;
+            } else {
+                assertEquals("Wrong id failed", 0, movie.getId());
+                failed++;
+            }
+        }
+        assertEquals("Wrong number of movies found", 2, found);
+        assertEquals("Wrong number of failures", 1, failed);
+    }
+
+    /**
+     * Test of setMovieReplica method, of class TheMovieDbApi.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSetMovieReplica() throws Exception {
+        LOG.info("setMovieReplica");
+        File directory = new File(System.getProperty("java.io.tmpdir"), "tmdb-replica-" + System.nanoTime());
+        ReplicaStore<MovieDb> replica = new ReplicaStore<MovieDb>(directory, "movies", MovieDb.class, 1, TimeUnit.DAYS);
+        try {
+            tmdb.setMovieReplica(replica);
+            MovieDb result = tmdb.getMovieInfo(ID_MOVIE_BLADE_RUNNER, LANGUAGE_ENGLISH);
+
+            MovieDb stored = replica.get(ID_MOVIE_BLADE_RUNNER, "en|");
+            assertNotNull("Movie not stored", stored);
+            assertEquals("Wrong movie stored", result.getTitle(), stored.getTitle());
+            assertEquals("Wrong movie read", result.getTitle(), tmdb.getMovieInfo(ID_MOVIE_BLADE_RUNNER, LANGUAGE_ENGLISH).getTitle());
+        } finally {
+            tmdb.setMovieReplica(null);
+            replica.close();
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            directory.delete();
+        }
+    }
+
+    /**
+     * Test of getMovieBundle method, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testGetMovieBundle() throws MovieDbException {
+        LOG.info("getMovieBundle");
+        MovieDb result = tmdb.getMovieBundle(ID_MOVIE_BLADE_RUNNER, LANGUAGE_ENGLISH, MovieSection.CASTS, MovieSection.KEYWORDS);
+        assertEquals("Incorrect movie information", "Blade Runner", result.getOriginalTitle());
+        assertFalse("No cast found", result.getCast().isEmpty());
+        assertFalse("No keywords found", result.getKeywords().isEmpty());
+    }
+
+    /**
+     * Test of createMovieBatcher method, of class TheMovieDbApi.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCreateMovieBatcher() throws Exception {
+        LOG.info("createMovieBatcher");
+        MovieBatcher batcher = tmdb.createMovieBatcher(100, TimeUnit.MILLISECONDS);
+        try {
+            Future<MovieDb> casts = batcher.requestMovie(ID_MOVIE_BLADE_RUNNER, LANGUAGE_ENGLISH, MovieSection.CASTS);
+            Future<MovieDb> images = batcher.requestMovie(ID_MOVIE_BLADE_RUNNER, LANGUAGE_ENGLISH, MovieSection.IMAGES);
+
+            assertFalse("No cast found", casts.get().getCast().isEmpty());
+            assertFalse("No images found", images.get().getImages().isEmpty());
+            assertEquals("Requests not merged", 1, batcher.getBatchCount());
+        } finally {
+            batcher.close();
+        }
+    }
+
+    /**
+     * Test of setImdbIndex method, of class TheMovieDbApi.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSetImdbIndex() throws Exception {
+        LOG.info("setImdbIndex");
+        File file = File.createTempFile("imdb", ".idx");
+        file.delete();
+        ImdbIdIndex index = new ImdbIdIndex(file);
+        tmdb.setImdbIndex(index);
+        try {
+            tmdb.getMovieInfoImdb("tt0076759", LANGUAGE_ENGLISH);
+            assertEquals("IMDB ID not indexed", 11, index.get("tt0076759"));
+
+            MovieDb result = tmdb.getMovieInfoImdb("tt0076759", LANGUAGE_ENGLISH);
+            assertEquals("Wrong movie", 11, result.getId());
+        } finally {
+            tmdb.setImdbIndex(null);
+            index.close();
+            file.delete();
+        }
+    }
+
     /**
      * Test of getMovieAlternativeTitles method, of class TheMovieDbApi.
      *
@@ -335,6 +487,27 @@ public class TheMovieDbApiTest {
         assertFalse("No collection information", result.getParts().isEmpty());
     }
 
+    /**
+     * Test of getCollectionMovies method, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testGetCollectionMovies() throws MovieDbException {
+        LOG.info("getCollectionMovies");
+        TmdbResultsList<MovieDb> result = tmdb.getCollectionMovies(ID_COLLECTION_STAR_WARS, LANGUAGE_ENGLISH, Boolean.TRUE);
+        assertFalse("No collection movies", result.getResults().isEmpty());
+
+        int lastDate = 0;
+        for (MovieDb movie : result.getResults()) {
+            assertFalse("No images for " + movie.getTitle(), movie.getImages().isEmpty());
+            if (movie.getReleaseDateValue() > 0) {
+                assertTrue("Movies not in date order", movie.getReleaseDateValue() >= lastDate);
+                lastDate = movie.getReleaseDateValue();
+            }
+        }
+    }
+
     /**
      * Test of createImageUrl method, of class TheMovieDbApi.
      *
@@ -413,6 +586,51 @@ public class TheMovieDbApiTest {
         assertTrue("Wrong actor returned", result.getId() == ID_PERSON_BRUCE_WILLIS);
     }
 
+    /**
+     * Test of getPersonInfo method with an unknown person, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testGetPersonInfoNotFound() throws MovieDbException {
+        LOG.info("getPersonInfoNotFound");
+        MemoryCache<String, Person> cache = new MemoryCache<String, Person>(10, 1, TimeUnit.MINUTES);
+        tmdb.setPersonCache(cache);
+        try {
+            tmdb.getPersonInfo(ID_PERSON_UNKNOWN);
+            Assert.fail("No exception for an unknown person");
+        } catch (MovieDbException ex) {
+            assertEquals("Wrong exception type", MovieDbExceptionType.MOVIE_ID_NOT_FOUND, ex.getExceptionType());
+            assertEquals("Unknown person was cached", 0, cache.size());
+        } finally {
+            tmdb.setPersonCache(null);
+        }
+
+        Person person = new Person();
+        person.setId(ID_PERSON_UNKNOWN);
+        Map<Integer, MovieDbException> errors = tmdb.enrichPeople(Collections.singletonList(person));
+        assertTrue("Unknown person was enriched", errors.containsKey(ID_PERSON_UNKNOWN));
+    }
+
+    /**
+     * Test of enrichPeople method, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testEnrichPeople() throws MovieDbException {
+        LOG.info("enrichPeople");
+        List<Person> people = tmdb.getMovieCasts(ID_MOVIE_BLADE_RUNNER).getResults();
+        if (people.size() > 10) {
+            people = people.subList(0, 10);
+        }
+
+        Map<Integer, MovieDbException> errors = tmdb.enrichPeople(people);
+        assertTrue("Failed to enrich people", errors.isEmpty());
+        // The first person is the lead actor, who will have a birthday listed
+        assertTrue("No person information added", StringUtils.isNotBlank(people.get(0).getBirthday()));
+    }
+
     /**
      * Test of getPersonCredits method, of class TheMovieDbApi.
      *
@@ -458,7 +676,168 @@ public class TheMovieDbApiTest {
      */
     @Test
     public void testCompareMovies() {
-        // Not required
+        LOG.info("compareMovies");
+        MovieDb movie = new MovieDb();
+        movie.setTitle("Blade Runner");
+        movie.setOriginalTitle("Blade Runner");
+        movie.setReleaseDate("1982-06-25");
+
+        assertTrue("Exact title not matched", TheMovieDbApi.compareMovies(movie, "Blade Runner", "1982"));
+        assertFalse("Different case matched", TheMovieDbApi.compareMovies(movie, "blade runner", "1982"));
+        assertTrue("Case insensitive not matched", TheMovieDbApi.compareMovies(movie, "blade runner", "1982", 0, false));
+        assertTrue("Close title not matched", TheMovieDbApi.compareMovies(movie, "Blade Runer", "", 1));
+        assertFalse("Distant title matched", TheMovieDbApi.compareMovies(movie, "Blad Runer", "", 1));
+
+        movie.setTitle("Rocky II");
+        movie.setOriginalTitle("Rocky II");
+        assertTrue("Normalised title not matched", TheMovieDbApi.compareMovies(movie, "rocky 2", "", 0, TitleNormaliser.DEFAULT));
+        assertEquals("Wrong title key", "matrix", TitleNormaliser.DEFAULT.normalise("Matrix, The"));
+    }
+
+    /**
+     * Test of rankMovies method, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testRankMovies() throws MovieDbException {
+        LOG.info("rankMovies");
+        TmdbResultsList<MovieDb> movieList = tmdb.searchMovie("Blade Runner", 0, "", true, 0);
+        List<TmdbRankedResult<MovieDb>> result = tmdb.rankMovies(movieList, "Blade Runner", "1982", 3);
+
+        assertFalse("No movies ranked", result.isEmpty());
+        assertTrue("Too many movies ranked", result.size() <= 3);
+        assertEquals("Wrong best match", ID_MOVIE_BLADE_RUNNER, result.get(0).getResult().getId());
+        for (int i = 1; i < result.size(); i++) {
+            assertTrue("Movies not in score order", result.get(i - 1).getScore() >= result.get(i).getScore());
+        }
+    }
+
+    /**
+     * Test of findMovies method, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testFindMovies() throws MovieDbException {
+        LOG.info("findMovies");
+        TitleIndex index = new TitleIndex();
+        tmdb.setTitleIndex(index);
+        try {
+            List<MovieDb> result = tmdb.findMovies("Blade Runner", "1982", 0, LANGUAGE_ENGLISH);
+            assertFalse("No movies found", result.isEmpty());
+            assertTrue("Search results not indexed", index.size() > 0);
+
+            // The misspelt title should be found in the index
+            result = index.find("Blade Runer", "1982", 1);
+            assertFalse("No movies found in the index", result.isEmpty());
+            assertEquals("Wrong movie found", ID_MOVIE_BLADE_RUNNER, result.get(0).getId());
+        } finally {
+            tmdb.setTitleIndex(null);
+        }
+    }
+
+    /**
+     * Test of createMovieAutocomplete method, of class TheMovieDbApi.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCreateMovieAutocomplete() throws Exception {
+        LOG.info("createMovieAutocomplete");
+        MovieAutocomplete autocomplete = tmdb.createMovieAutocomplete(LANGUAGE_ENGLISH, false, 50, TimeUnit.MILLISECONDS);
+        try {
+            TmdbResultsList<MovieDb> result = autocomplete.search("Blade Runner");
+            assertFalse("No movies found", result.getResults().isEmpty());
+
+            // The first query is replaced by the second before it is searched for
+            Future<TmdbResultsList<MovieDb>> first = autocomplete.type("Blade Runner 2");
+            Future<TmdbResultsList<MovieDb>> second = autocomplete.type("Blade Runner 20");
+            assertTrue("Query not collapsed", first.isCancelled());
+            assertNotNull("No results", second.get());
+        } finally {
+            autocomplete.close();
+        }
+    }
+
+    /**
+     * Test of searchAll method, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testSearchAll() throws MovieDbException {
+        LOG.info("searchAll");
+        Map<SearchType, Integer> limits = new EnumMap<SearchType, Integer>(SearchType.class);
+        limits.put(SearchType.MOVIE, 5);
+        limits.put(SearchType.COLLECTION, 2);
+        limits.put(SearchType.KEYWORD, 2);
+
+        TmdbFederatedResults result = tmdb.searchAll("Blade Runner", LANGUAGE_ENGLISH, false, limits, 30, TimeUnit.SECONDS);
+        assertTrue("Searches not complete", result.isComplete());
+        assertFalse("No movies found", result.getResults(SearchType.MOVIE).isEmpty());
+        assertTrue("Too many movies found", result.getResults(SearchType.MOVIE).size() <= 5);
+        assertTrue("People searched for", result.getResults(SearchType.PERSON).isEmpty());
+    }
+
+    /**
+     * Test of searchMovieRanked method, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testSearchMovieRanked() throws MovieDbException {
+        LOG.info("searchMovieRanked");
+        // The wrong year should still find the movie from the searches without the year
+        List<TmdbRankedResult<MovieDb>> result = tmdb.searchMovieRanked("Blade Runner", "1983", LANGUAGE_ENGLISH, false, 0.9f, 5);
+        assertFalse("No movies found", result.isEmpty());
+        assertEquals("Wrong movie found", ID_MOVIE_BLADE_RUNNER, result.get(0).getResult().getId());
+
+        result = tmdb.searchMovieRanked("Blade Runner", "1982", LANGUAGE_ENGLISH, false, 0.9f, 5);
+        assertEquals("Wrong movie found", ID_MOVIE_BLADE_RUNNER, result.get(0).getResult().getId());
+    }
+
+    /**
+     * Test of setNotFoundCache method, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testSetNotFoundCache() throws MovieDbException {
+        LOG.info("setNotFoundCache");
+        MemoryCache<String, Boolean> cache = new MemoryCache<String, Boolean>(100, 1, TimeUnit.MINUTES);
+        tmdb.setNotFoundCache(cache);
+        try {
+            TmdbResultsList<MovieDb> result = tmdb.searchMovie("Xqzzvkj Wplmnrt", 0, LANGUAGE_ENGLISH, false, 0);
+            assertTrue("Movies found", result.getResults().isEmpty());
+            assertEquals("Empty search not cached", 1, cache.size());
+
+            result = tmdb.searchMovie("Xqzzvkj Wplmnrt", 0, LANGUAGE_ENGLISH, false, 0);
+            assertTrue("Movies found", result.getResults().isEmpty());
+            assertEquals("Empty search not read from the cache", 1, cache.getHits());
+        } finally {
+            tmdb.setNotFoundCache(null);
+        }
+    }
+
+    /**
+     * Test of createMovieResolver method, of class TheMovieDbApi.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCreateMovieResolver() throws Exception {
+        LOG.info("createMovieResolver");
+        MovieResolver resolver = tmdb.createMovieResolver(LANGUAGE_ENGLISH, 0.5f, 100);
+
+        Future<TmdbRankedResult<MovieDb>> first = resolver.resolve("Blade Runner", "1982");
+        Future<TmdbRankedResult<MovieDb>> second = resolver.resolve("blade runner", "1982");
+        assertEquals("Wrong movie resolved", ID_MOVIE_BLADE_RUNNER, first.get().getResult().getId());
+        assertSame("Repeated title not shared", first.get(), second.get());
+        assertEquals("Repeated title searched", 1, resolver.getStageCount(MovieResolver.Stage.SEARCH));
+
+        assertNull("Unknown title resolved", resolver.resolveNow("Xqzzvkj Wplmnrt", ""));
+        assertEquals("Wrong unresolved count", 1, resolver.getUnresolvedCount());
     }
 
     /**
@@ -668,6 +1047,33 @@ public class TheMovieDbApiTest {
         assertTrue("No results found", result.getResults().size() > 0);
     }
 
+    /**
+     * Test of getMovieChanges method, of class TheMovieDbApi, with the changes filtered by key.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testGetMovieChanges_Keys() throws Exception {
+        LOG.info("getMovieChanges (Keys)");
+
+        // Get a recently changed movie
+        TmdbResultsList<ChangedMovie> changedList = tmdb.getMovieChangesList(0, "", "");
+        for (ChangedMovie changed : changedList.getResults()) {
+            int movieId = Integer.parseInt(changed.getId());
+            TmdbResultsMap<String, List<ChangedItem>> all = tmdb.getMovieChanges(movieId, "", "");
+            assertFalse("No changes found", all.getResults().isEmpty());
+
+            String key = all.getResults().keySet().iterator().next();
+            TmdbResultsMap<String, List<ChangedItem>> result = tmdb.getMovieChanges(movieId, "", "", key);
+            assertEquals("Wrong keys returned", Collections.singleton(key), result.getResults().keySet());
+
+            ChangedItem item = result.getResults().get(key).get(0);
+            LOG.info("{} changed to {}", key, item.getTypedValue());
+            assertEquals("Wrong key on item", key, item.getKey());
+            break;
+        }
+    }
+
     /**
      * Test of getMovieChanges method,of class TheMovieDbApi
      *
@@ -811,12 +1217,20 @@ public class TheMovieDbApiTest {
      *
      * @throws MovieDbException
      */
-    @Ignore("Not ready yet")
+    @Test
     public void testGetPersonChanges() throws Exception {
         LOG.info("getPersonChanges");
         String startDate = "";
         String endDate = "";
-        tmdb.getPersonChanges(ID_PERSON_BRUCE_WILLIS, startDate, endDate);
+
+        // Get a recently changed person
+        TmdbResultsList<ChangedPerson> changedList = tmdb.getPersonChangesList(0, startDate, endDate);
+        for (ChangedPerson changed : changedList.getResults()) {
+            TmdbResultsMap<String, List<ChangedItem>> result = tmdb.getPersonChanges(changed.getId(), startDate, endDate);
+            LOG.info("Person {} has {} changes.", changed.getId(), result.getResults().size());
+            assertTrue("No changes found", result.getResults().size() > 0);
+            break;
+        }
     }
 
     /**
@@ -941,20 +1355,113 @@ public class TheMovieDbApiTest {
         assertFalse("No movie changes.", result.getResults().isEmpty());
     }
 
+    /**
+     * Test of iterateMovieChangesList method, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testIterateMovieChangesList() throws Exception {
+        LOG.info("iterateMovieChangesList");
+        TmdbResultsIterator<ChangedMovie> result = tmdb.iterateMovieChangesList(0, "", "");
+        try {
+            assertTrue("No movie changes.", result.hasNext());
+            assertTrue("No movie id", StringUtils.isNotBlank(result.next().getId()));
+        } finally {
+            result.close();
+        }
+    }
+
+    /**
+     * Test of createMovieSync method, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testCreateMovieSync() throws Exception {
+        LOG.info("createMovieSync");
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        String today = dateFormat.format(new Date());
+
+        final List<MovieDb> changed = new ArrayList<MovieDb>();
+        ChangesSync<MovieDb> sync = tmdb.createMovieSync(LANGUAGE_DEFAULT, null, new SyncListener<MovieDb>() {
+            @Override
+            public void itemChanged(int id, MovieDb item) {
+                changed.add(item);
+            }
+
+            @Override
+            public void itemFailed(int id, MovieDbException error) {
+                LOG.info("Changed movie {} failed: {}", id, error.getExceptionType());
+            }
+        });
+
+        int count = sync.sync(today, today);
+        LOG.info("{} movies changed, {} read", count, changed.size());
+        assertTrue("No movie changes.", count > 0);
+        assertFalse("No changed movies read.", changed.isEmpty());
+    }
+
     /**
      * Test of getPersonChangesList method, of class TheMovieDbApi.
      *
      * @throws MovieDbException
      */
-    @Ignore("Not ready yet")
+    @Test
     public void testGetPersonChangesList() throws Exception {
         LOG.info("getPersonChangesList");
         int page = 0;
         String startDate = "";
         String endDate = "";
-        tmdb.getPersonChangesList(page, startDate, endDate);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        TmdbResultsList<ChangedPerson> result = tmdb.getPersonChangesList(page, startDate, endDate);
+        assertFalse("No person changes.", result.getResults().isEmpty());
+    }
+
+    /**
+     * Test of iteratePersonChangesList method, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testIteratePersonChangesList() throws Exception {
+        LOG.info("iteratePersonChangesList");
+        TmdbPagedIterator<ChangedPerson> result = tmdb.iteratePersonChangesList("", "");
+        try {
+            assertTrue("No person changes.", result.hasNext());
+            assertTrue("No person id", result.next().getId() > 0);
+        } finally {
+            result.close();
+        }
+    }
+
+    /**
+     * Test of createPersonSync method, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testCreatePersonSync() throws Exception {
+        LOG.info("createPersonSync");
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        String today = dateFormat.format(new Date());
+
+        final List<Person> changed = new ArrayList<Person>();
+        ChangesSync<Person> sync = tmdb.createPersonSync(null, new SyncListener<Person>() {
+            @Override
+            public void itemChanged(int id, Person item) {
+                changed.add(item);
+            }
+
+            @Override
+            public void itemFailed(int id, MovieDbException error) {
+                LOG.info("Changed person {} failed: {}", id, error.getExceptionType());
+            }
+        });
+
+        int count = sync.sync(today, today);
+        LOG.info("{} people changed, {} read", count, changed.size());
+        assertTrue("No person changes.", count > 0);
+        assertFalse("No changed people read.", changed.isEmpty());
     }
 
     /**
@@ -969,6 +1476,23 @@ public class TheMovieDbApiTest {
         assertFalse("No jobs found", result.getResults().isEmpty());
     }
 
+    /**
+     * Test of iterateJobs method, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testIterateJobs() throws Exception {
+        LOG.info("iterateJobs");
+        TmdbResultsIterator<JobDepartment> result = tmdb.iterateJobs();
+        int count = 0;
+        while (result.hasNext()) {
+            assertNotNull("No department", result.next().getDepartment());
+            count++;
+        }
+        assertTrue("No jobs found", count > 0);
+    }
+
     /**
      * Test of getDiscover method, of class TheMovieDbApi.
      *
@@ -992,4 +1516,61 @@ public class TheMovieDbApiTest {
         TmdbResultsList<MovieDb> result = tmdb.getDiscover(discover);
         assertFalse("No movies discovered", result.getResults().isEmpty());
     }
+
+    /**
+     * Test of iteratePages method, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testIteratePages() throws Exception {
+        LOG.info("iteratePages");
+        TmdbPagedIterator<MovieDb> result = tmdb.iteratePages(new TmdbPageFetcher<MovieDb>() {
+            @Override
+            public TmdbResultsList<MovieDb> fetchPage(int page) throws MovieDbException {
+                return tmdb.getTopRatedMovies(LANGUAGE_ENGLISH, page);
+            }
+        }, 2);
+
+        // Read past the end of the first page and stop early
+        int count = 0;
+        while (result.hasNext() && count < 50) {
+            assertNotNull("No movie", result.next());
+            count++;
+        }
+        result.close();
+
+        assertEquals("Wrong number of movies", 50, count);
+        assertFalse("Iterator not closed", result.hasNext());
+    }
+
+    /**
+     * Test of getAllPages method, of class TheMovieDbApi.
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testGetAllPages() throws Exception {
+        LOG.info("getAllPages");
+        TmdbPagedResults<MovieDb> result = tmdb.getAllPages(new TmdbPageFetcher<MovieDb>() {
+            @Override
+            public TmdbResultsList<MovieDb> fetchPage(int page) throws MovieDbException {
+                return tmdb.getCompanyMovies(ID_COMPANY, LANGUAGE_ENGLISH, page);
+            }
+        }, new TmdbResultKey<MovieDb>() {
+            @Override
+            public Object getKey(MovieDb movie) {
+                return movie.getId();
+            }
+        }, 5, 3);
+
+        assertTrue("Not all pages read", result.isComplete());
+        assertFalse("No movies found", result.getResults().isEmpty());
+        Set<Integer> ids = new HashSet<Integer>();
+        for (MovieDb movie : result.getResults()) {
+            assertTrue("Duplicate movie " + movie.getId(), ids.add(movie.getId()));
+        }
+        assertTrue("Too many pages read", result.getPagesRead() <= 5);
+        assertTrue("Total pages not kept", result.getTotalPages() >= result.getPagesRead());
+    }
 }
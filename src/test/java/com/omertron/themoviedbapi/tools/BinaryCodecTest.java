@@ -0,0 +1,235 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.omertron.themoviedbapi.MovieDbException;
+import com.omertron.themoviedbapi.MovieDbException.MovieDbExceptionType;
+import com.omertron.themoviedbapi.model.Genre;
+import com.omertron.themoviedbapi.model.MovieDb;
+import com.omertron.themoviedbapi.model.Person;
+import com.omertron.themoviedbapi.model.SearchType;
+import com.omertron.themoviedbapi.results.TmdbFederatedResults;
+import com.omertron.themoviedbapi.results.TmdbPagedResults;
+import com.omertron.themoviedbapi.results.TmdbSearchResult;
+
+/**
+ * Test cases for the BinaryCodec
+ *
+ * @author Stuart
+ */
+public class BinaryCodecTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BinaryCodecTest.class);
+
+    private static MovieDb createMovie(int id, String title, String releaseDate) {
+        Genre genre = new Genre();
+        genre.setId(878);
+        genre.setName("Science Fiction");
+
+        MovieDb movie = new MovieDb();
+        movie.setId(id);
+        movie.setTitle(title);
+        movie.setOriginalTitle(title);
+        movie.setReleaseDate(releaseDate);
+        movie.setImdbID("tt0083658");
+        movie.setPopularity(12.5f);
+        movie.setAdult(true);
+        movie.setGenres(Arrays.asList(genre, genre));
+        return movie;
+    }
+
+    /**
+     * Test of encode and decode methods with a MovieDb
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testMovieDb() throws MovieDbException {
+        LOG.info("MovieDb");
+        MovieDb movie = createMovie(78, "Blade Runner", "1982-06-25");
+
+        MovieDb result = BinaryCodec.decode(BinaryCodec.encode(movie), MovieDb.class);
+        assertEquals("Wrong ID", 78, result.getId());
+        assertEquals("Wrong title", "Blade Runner", result.getTitle());
+        assertEquals("Wrong IMDB ID", "tt0083658", result.getImdbID());
+        assertEquals("Wrong release date", 19820625, result.getReleaseDateValue());
+        assertEquals("Wrong popularity", 12.5f, result.getPopularity(), 0f);
+        assertTrue("Adult flag lost", result.isAdult());
+        assertEquals("Wrong genres", movie.getGenres(), result.getGenres());
+        assertSame("Shared genre not kept", result.getGenres().get(0), result.getGenres().get(1));
+    }
+
+    /**
+     * Test of encode and decode methods with a Person
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testPerson() throws MovieDbException {
+        LOG.info("Person");
+        Person person = new Person();
+        person.setId(62);
+        person.setName("Bruce Willis");
+        person.setImdbId("nm0000246");
+        person.setPopularity(3.25f);
+        person.setAka(Arrays.asList("Walter Bruce Willison"));
+
+        Person result = BinaryCodec.decode(BinaryCodec.encode(person), Person.class);
+        assertEquals("Wrong ID", 62, result.getId());
+        assertEquals("Wrong name", "Bruce Willis", result.getName());
+        assertEquals("Wrong IMDB ID", "nm0000246", result.getImdbId());
+        assertEquals("Wrong popularity", 3.25f, result.getPopularity(), 0f);
+        assertEquals("Wrong aka", person.getAka(), result.getAka());
+        assertEquals("Default value changed", person.getBiography(), result.getBiography());
+    }
+
+    /**
+     * Test of encode and decode methods with a TmdbPagedResults that has page errors
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPagedResults() throws MovieDbException {
+        LOG.info("TmdbPagedResults");
+        TmdbPagedResults<MovieDb> results = new TmdbPagedResults<MovieDb>(Arrays.asList(createMovie(78, "Blade Runner", "1982-06-25")));
+        results.setTotalPages(3);
+        results.setTotalResults(50);
+        results.addPageError(3, new MovieDbException(MovieDbExceptionType.HTTP_503_ERROR, "Service unavailable"));
+        results.addPageError(2, new MovieDbException(MovieDbExceptionType.CONNECTION_ERROR, "Timed out"));
+
+        TmdbPagedResults<MovieDb> result = BinaryCodec.decode(BinaryCodec.encode(results), TmdbPagedResults.class);
+        assertEquals("Wrong total pages", 3, result.getTotalPages());
+        assertEquals("Wrong total results", 50, result.getTotalResults());
+        assertEquals("Wrong number of results", 1, result.getResults().size());
+        assertEquals("Wrong result", "Blade Runner", result.getResults().get(0).getTitle());
+        assertFalse("Page errors lost", result.isComplete());
+        assertEquals("Page errors not sorted", Integer.valueOf(2), result.getPageErrors().firstKey());
+        MovieDbException error = result.getPageErrors().get(3);
+        assertEquals("Wrong error type", MovieDbExceptionType.HTTP_503_ERROR, error.getExceptionType());
+        assertEquals("Wrong error response", "Service unavailable", error.getResponse());
+    }
+
+    /**
+     * Test of encode and decode methods with a TmdbFederatedResults, which holds sets
+     *
+     * @throws MovieDbException
+     */
+    @Test
+    public void testFederatedResults() throws MovieDbException {
+        LOG.info("TmdbFederatedResults");
+        List<TmdbSearchResult> searchResults = new ArrayList<TmdbSearchResult>();
+        searchResults.add(new TmdbSearchResult(SearchType.MOVIE, 78, "Blade Runner", createMovie(78, "Blade Runner", "1982-06-25"), 0.9f, 1f, 0));
+        Map<SearchType, MovieDbException> errors = new EnumMap<SearchType, MovieDbException>(SearchType.class);
+        errors.put(SearchType.PERSON, new MovieDbException(MovieDbExceptionType.HTTP_503_ERROR, "Service unavailable"));
+        TmdbFederatedResults results = new TmdbFederatedResults(searchResults, EnumSet.of(SearchType.MOVIE),
+                EnumSet.of(SearchType.PERSON), errors);
+
+        TmdbFederatedResults result = BinaryCodec.decode(BinaryCodec.encode(results), TmdbFederatedResults.class);
+        assertEquals("Wrong completed types", results.getCompleted(), result.getCompleted());
+        assertEquals("Wrong incomplete types", results.getIncomplete(), result.getIncomplete());
+        assertEquals("Wrong error type", MovieDbExceptionType.HTTP_503_ERROR, result.getErrors().get(SearchType.PERSON).getExceptionType());
+        assertEquals("Wrong number of results", 1, result.getResults().size());
+        TmdbSearchResult searchResult = result.getResults().get(0);
+        assertEquals("Wrong score", 0.9f, searchResult.getScore(), 0f);
+        assertEquals("Wrong result", "Blade Runner", searchResult.getResult(MovieDb.class).getTitle());
+    }
+
+    /**
+     * Test that damaged data fails with a MovieDbException
+     */
+    @Test
+    public void testDecodeDamaged() throws MovieDbException {
+        LOG.info("decode damaged data");
+        // Version, list tag and a size of -1
+        byte[] negativeSize = {1, 9, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        assertDecodeFails(negativeSize, negativeSize.length);
+
+        byte[] encoded = BinaryCodec.encode(createMovie(78, "Blade Runner", "1982-06-25"));
+        for (int length = 0; length < encoded.length; length++) {
+            assertDecodeFails(encoded, length);
+        }
+
+        // Every value of each byte in turn, the result does not matter as long as there is no unchecked exception
+        for (int position = 1; position < encoded.length; position++) {
+            byte[] damaged = encoded.clone();
+            for (int value = 0; value < 256; value++) {
+                damaged[position] = (byte) value;
+                try {
+                    BinaryCodec.decode(damaged, MovieDb.class);
+                } catch (MovieDbException ex) {
+                    assertEquals("Wrong exception type", MovieDbExceptionType.MAPPING_FAILED, ex.getExceptionType());
+                }
+            }
+        }
+    }
+
+    private static void assertDecodeFails(byte[] data, int length) {
+        try {
+            BinaryCodec.decode(data, 0, length, MovieDb.class);
+            fail("Decoded " + length + " bytes of damaged data");
+        } catch (MovieDbException ex) {
+            assertEquals("Wrong exception type", MovieDbExceptionType.MAPPING_FAILED, ex.getExceptionType());
+        }
+    }
+
+    /**
+     * Test that classes which can not be encoded are rejected
+     */
+    @Test
+    public void testEncodeUnsupported() {
+        LOG.info("encode unsupported");
+        try {
+            BinaryCodec.encode(Collections.singletonList(new Object()));
+            fail("Encoded an Object");
+        } catch (MovieDbException ex) {
+            assertEquals("Wrong exception type", MovieDbExceptionType.MAPPING_FAILED, ex.getExceptionType());
+        }
+    }
+
+    /**
+     * Test of layoutFingerprint method, of class BinaryCodec.
+     */
+    @Test
+    public void testLayoutFingerprint() {
+        LOG.info("layoutFingerprint");
+        int fingerprint = BinaryCodec.layoutFingerprint(MovieDb.class);
+        assertEquals("Fingerprint changed", fingerprint, BinaryCodec.layoutFingerprint(MovieDb.class));
+        assertFalse("Same fingerprint for different classes", fingerprint == BinaryCodec.layoutFingerprint(Person.class));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.omertron.themoviedbapi.model.Genre;
+import com.omertron.themoviedbapi.model.MovieDb;
+
+/**
+ * Test cases for the ModelInterner
+ *
+ * @author Stuart
+ */
+public class ModelInternerTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ModelInternerTest.class);
+
+    @After
+    public void tearDown() {
+        ModelInterner.setEnabled(true);
+    }
+
+    private static Genre createGenre(int id, String name) {
+        Genre genre = new Genre();
+        genre.setId(id);
+        genre.setName(name);
+        return genre;
+    }
+
+    /**
+     * Test of intern method, of class ModelInterner.
+     */
+    @Test
+    public void testIntern() {
+        LOG.info("intern");
+        String first = ModelInterner.intern(new String("Drama"));
+        String second = ModelInterner.intern(new String("Drama"));
+        String other = ModelInterner.intern(new String("Comedy"));
+
+        assertSame("Equal values not shared", first, second);
+        assertNotSame("Different values shared", first, other);
+        assertNull("Null not returned", ModelInterner.intern(null));
+    }
+
+    /**
+     * Test that the models share the strings but not the model objects
+     */
+    @Test
+    public void testModel() {
+        LOG.info("model");
+        MovieDb first = new MovieDb();
+        first.setGenres(Arrays.asList(createGenre(53, new String("Thriller"))));
+        MovieDb second = new MovieDb();
+        second.setGenres(Arrays.asList(createGenre(53, new String("Thriller"))));
+
+        Genre firstGenre = first.getGenres().get(0);
+        Genre secondGenre = second.getGenres().get(0);
+        assertNotSame("Genre shared", firstGenre, secondGenre);
+        assertSame("Name not shared", firstGenre.getName(), secondGenre.getName());
+
+        firstGenre.setName("Mystery");
+        assertEquals("Changing one genre changed the other", "Thriller", secondGenre.getName());
+    }
+
+    /**
+     * Test of setEnabled method, of class ModelInterner.
+     */
+    @Test
+    public void testSetEnabled() {
+        LOG.info("setEnabled");
+        ModelInterner.setEnabled(false);
+        String value = new String("Documentary");
+        assertSame("Value replaced while disabled", value, ModelInterner.intern(value));
+        assertNotSame("Value interned while disabled", value, ModelInterner.intern(new String("Documentary")));
+    }
+}
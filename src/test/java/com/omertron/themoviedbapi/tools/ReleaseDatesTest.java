@@ -0,0 +1,89 @@
+/*
+ *      Copyright (c) 2004-2013 Stuart Boston
+ *
+ *      This file is part of TheMovieDB API.
+ *
+ *      TheMovieDB API is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      TheMovieDB API is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with TheMovieDB API.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.omertron.themoviedbapi.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test cases for ReleaseDates
+ *
+ * @author Stuart
+ */
+public class ReleaseDatesTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReleaseDatesTest.class);
+
+    /**
+     * Test of parse method, of class ReleaseDates.
+     */
+    @Test
+    public void testParse() {
+        LOG.info("parse");
+        assertEquals("Full date", 19820625, ReleaseDates.parse("1982-06-25"));
+        assertEquals("Year and month", 19990700, ReleaseDates.parse("1999-07"));
+        assertEquals("Year only", 19990000, ReleaseDates.parse("1999"));
+        assertEquals("Invalid month", 19820000, ReleaseDates.parse("1982-13-01"));
+        assertEquals("Invalid day", 19820000, ReleaseDates.parse("1982-06-32"));
+        assertEquals("Unreadable day", 19820600, ReleaseDates.parse("1982-06-xx"));
+        assertEquals("Year in text", 19820000, ReleaseDates.parse("circa 1982"));
+        assertEquals("Null date", ReleaseDates.UNKNOWN, ReleaseDates.parse(null));
+        assertEquals("Empty date", ReleaseDates.UNKNOWN, ReleaseDates.parse(""));
+        assertEquals("No year", ReleaseDates.UNKNOWN, ReleaseDates.parse("unknown"));
+    }
+
+    /**
+     * Test that the parsed values sort in date order
+     */
+    @Test
+    public void testParseOrder() {
+        LOG.info("parse order");
+        assertTrue("Unknown after a date", ReleaseDates.UNKNOWN < ReleaseDates.parse("1900"));
+        assertTrue("Year after a date in the year", ReleaseDates.parse("1982") < ReleaseDates.parse("1982-01-01"));
+        assertTrue("Wrong month order", ReleaseDates.parse("1982-06-25") < ReleaseDates.parse("1982-07-01"));
+        assertTrue("Wrong year order", ReleaseDates.parse("1982-12-31") < ReleaseDates.parse("1983-01-01"));
+    }
+
+    /**
+     * Test of getYear method, of class ReleaseDates.
+     */
+    @Test
+    public void testGetYear() {
+        LOG.info("getYear");
+        assertEquals("Wrong year", 1982, ReleaseDates.getYear(ReleaseDates.parse("1982-06-25")));
+        assertEquals("Wrong year for unknown", 0, ReleaseDates.getYear(ReleaseDates.UNKNOWN));
+    }
+
+    /**
+     * Test of parseYear method, of class ReleaseDates.
+     */
+    @Test
+    public void testParseYear() {
+        LOG.info("parseYear");
+        assertEquals("Wrong year", 1982, ReleaseDates.parseYear("1982"));
+        assertEquals("Short year", 0, ReleaseDates.parseYear("82"));
+        assertEquals("Not a year", 0, ReleaseDates.parseYear("198x"));
+        assertEquals("Null year", 0, ReleaseDates.parseYear(null));
+    }
+}